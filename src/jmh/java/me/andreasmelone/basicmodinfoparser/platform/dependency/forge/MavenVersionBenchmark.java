@@ -0,0 +1,80 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.platform.dependency.forge;
+
+import me.andreasmelone.basicmodinfoparser.test.RegexMavenVersionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single pass parser of {@link MavenVersion} with the regex based parser it replaced, on versions and
+ * range bounds as they appear in the mods.toml files of Forge and NeoForge mods. Both parse every version anew,
+ * {@code interned} shows what {@link MavenVersion#parse(String)} costs once the versions are pooled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MavenVersionBenchmark {
+    private static final String[] VERSIONS = {
+            "1.20.1", "47.2.0", "1.20.1-47.2.0", "47", "1.21", "20.4.237", "21.0.167", "1.19.2-43.2.14",
+            "0.5.1-SNAPSHOT", "2.0.0-beta.3", "1.0.0-rc1", "12.0.0.1", "4.1.0.21", "1.20.1-0.5.8.13", "3.0.0-alpha",
+            "6.0.1-final", "1.2.3_mc1.20", "0.0NONE",
+    };
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        for (String version : VERSIONS) {
+            blackhole.consume(MavenVersion.scan(version));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String version : VERSIONS) {
+            MavenVersion.VersionSegment[] segments = RegexMavenVersionParser.parse(version);
+            blackhole.consume(segments == null ? Optional.empty() : Optional.of(new MavenVersion(version, segments)));
+        }
+    }
+
+    @Benchmark
+    public void interned(Blackhole blackhole) {
+        for (String version : VERSIONS) {
+            blackhole.consume(MavenVersion.parse(version));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.tomlj.Toml;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ForgeTomlParser} with parsing the same descriptor through tomlj.
+ * <p>
+ * The {@code cold} benchmarks time the very first parse in a fresh JVM, which includes loading the parser,
+ * the {@code steady} benchmarks time a parse after the JIT has warmed up.
+ */
+@State(Scope.Benchmark)
+public class ModsTomlBenchmark {
+    private static final String MODS_TOML = "# This is an example mods.toml file. It contains the data relating to the loading mods.\n"
+            + "modLoader=\"javafml\" #mandatory\n"
+            + "loaderVersion=\"[47,)\" #mandatory\n"
+            + "license=\"All rights reserved\"\n"
+            + "issueTrackerURL=\"https://example.com/issues\" #optional\n"
+            + "\n"
+            + "[[mods]] #mandatory\n"
+            + "modId=\"examplemod\" #mandatory\n"
+            + "version=\"1.0.0\" #mandatory\n"
+            + "displayName=\"Example Mod\" #mandatory\n"
+            + "updateJSONURL=\"https://example.com/update.json\" #optional\n"
+            + "displayURL=\"https://example.com/\" #optional\n"
+            + "logoFile=\"examplemod.png\" #optional\n"
+            + "credits=\"Thanks for this example mod goes to Java\" #optional\n"
+            + "authors=\"Love, Cheese and small house plants\" #optional\n"
+            + "description='''\n"
+            + "This is a long form description of the mod. You can write whatever you want here\n"
+            + "\n"
+            + "Have some lorem ipsum.\n"
+            + "'''\n"
+            + "\n"
+            + "[[dependencies.examplemod]] #optional\n"
+            + "    modId=\"forge\" #mandatory\n"
+            + "    mandatory=true #mandatory\n"
+            + "    versionRange=\"[47,)\" #mandatory\n"
+            + "    ordering=\"NONE\"\n"
+            + "    side=\"BOTH\"\n"
+            + "\n"
+            + "[[dependencies.examplemod]]\n"
+            + "    modId=\"minecraft\"\n"
+            + "    mandatory=true\n"
+            + "    versionRange=\"[1.20.1,1.21)\"\n"
+            + "    ordering=\"NONE\"\n"
+            + "    side=\"BOTH\"\n";
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(20)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public BasicModInfo[] coldHandWritten() {
+        return ForgeTomlParser.parse(MODS_TOML, Platform.FORGE, ParseOptions.ALL);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Fork(20)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public BasicModInfo[] coldTomlj() {
+        return ParserUtils.parseForgelikeInfo(Toml.parse(MODS_TOML), Platform.FORGE, ParseOptions.ALL);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public BasicModInfo[] steadyHandWritten() {
+        return ForgeTomlParser.parse(MODS_TOML, Platform.FORGE, ParseOptions.ALL);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Fork(1)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public BasicModInfo[] steadyTomlj() {
+        return ParserUtils.parseForgelikeInfo(Toml.parse(MODS_TOML), Platform.FORGE, ParseOptions.ALL);
+    }
+}
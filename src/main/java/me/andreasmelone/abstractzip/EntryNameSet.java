@@ -0,0 +1,139 @@
+package me.andreasmelone.abstractzip;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An immutable set of entry names, meant to be created once and used with {@link IZipFile#probe(EntryNameSet)}.
+ * The names are stored in a perfect hash table over their utf-8 bytes, so a name can be looked up
+ * straight from the raw bytes of a central directory record with a single probe and without decoding it.
+ */
+public final class EntryNameSet {
+    private static final int MAX_SEED_ATTEMPTS = 4096;
+
+    private final String[] names;
+    private final byte[][] encodedNames;
+    private final int[] table;
+    private final int mask;
+    private final int seed;
+
+    private EntryNameSet(String[] names) {
+        this.names = names;
+        this.encodedNames = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            encodedNames[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        }
+
+        int tableSize = Integer.highestOneBit(Math.max(1, names.length) * 2 - 1) << 1;
+        int[] table;
+        int seed;
+        search:
+        while (true) {
+            table = new int[tableSize];
+            for (seed = 0; seed < MAX_SEED_ATTEMPTS; seed++) {
+                if (fill(table, tableSize - 1, seed)) break search;
+                Arrays.fill(table, 0);
+            }
+            tableSize <<= 1;
+        }
+        this.table = table;
+        this.mask = tableSize - 1;
+        this.seed = seed;
+    }
+
+    private boolean fill(int[] table, int mask, int seed) {
+        for (int i = 0; i < encodedNames.length; i++) {
+            byte[] name = encodedNames[i];
+            int slot = hash(seed, name, 0, name.length) & mask;
+            if (table[slot] != 0) return false;
+            table[slot] = i + 1;
+        }
+        return true;
+    }
+
+    private static int hash(int seed, byte[] bytes, int offset, int length) {
+        int hash = 0x811C9DC5 ^ seed;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int hash(int seed, ByteBuffer buffer, int offset, int length) {
+        int hash = 0x811C9DC5 ^ seed;
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (buffer.get(i) & 0xFF)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * @return the amount of names in this set
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index an index between {@code 0} and {@link EntryNameSet#size()}
+     * @return the name at that index
+     */
+    @NotNull
+    public String get(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param name the entry name to look up
+     * @return the index of the name, or {@code -1} if it is not part of this set
+     */
+    public int indexOf(@NotNull String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int index = table[hash(seed, bytes, 0, bytes.length) & mask] - 1;
+        if (index < 0 || !Arrays.equals(encodedNames[index], bytes)) return -1;
+        return index;
+    }
+
+    /**
+     * Looks up a utf-8 encoded name stored in a buffer, like the name of a central directory record.
+     * The position and limit of the buffer are left untouched.
+     *
+     * @param buffer the buffer holding the name
+     * @param offset the absolute index of the first byte of the name
+     * @param length the length of the name in bytes
+     * @return the index of the name, or {@code -1} if it is not part of this set
+     */
+    public int indexOf(@NotNull ByteBuffer buffer, int offset, int length) {
+        int index = table[hash(seed, buffer, offset, length) & mask] - 1;
+        if (index < 0) return -1;
+
+        byte[] name = encodedNames[index];
+        if (name.length != length) return -1;
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != name[i]) return -1;
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "EntryNameSet" + Arrays.toString(names);
+    }
+
+    @NotNull
+    public static EntryNameSet of(@NotNull String... names) {
+        return of(Arrays.asList(names));
+    }
+
+    @NotNull
+    public static EntryNameSet of(@NotNull Collection<String> names) {
+        Set<String> unique = new LinkedHashSet<>(names);
+        return new EntryNameSet(unique.toArray(new String[0]));
+    }
+}
@@ -6,9 +6,39 @@ import org.jetbrains.annotations.Nullable;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 public interface IZipFile extends Closeable {
     @Nullable InputStream openEntry(@NotNull IZipEntry entry) throws IOException;
     @Nullable IZipEntry findEntry(@NotNull String name);
     @Nullable String getComment();
+
+    /**
+     * Looks up all the given names at once. Implementations that have to search for entries should resolve
+     * the whole set in a single pass, the default implementation simply calls {@link IZipFile#findEntry(String)} for every name.
+     *
+     * @param names the names to look for
+     * @return which of the names exist in this archive
+     */
+    @NotNull
+    default ZipProbeResult probe(@NotNull EntryNameSet names) {
+        IZipEntry[] entries = new IZipEntry[names.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = findEntry(names.get(i));
+        }
+        return new ZipProbeResult(names, entries);
+    }
+
+    /**
+     * Gives direct access to the bytes of an uncompressed ({@code STORED}) entry without copying them,
+     * which lets nested jars be opened as a window into their parent. The default implementation supports no entries.
+     *
+     * @param entry the entry to access
+     * @return a read-only view of the entry data, or {@code null} if the entry is compressed or direct access is not supported
+     * @throws IOException if the entry data can't be located
+     */
+    @Nullable
+    default ByteBuffer getStoredData(@NotNull IZipEntry entry) throws IOException {
+        return null;
+    }
 }
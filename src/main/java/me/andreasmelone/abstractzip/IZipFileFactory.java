@@ -1,14 +1,28 @@
 package me.andreasmelone.abstractzip;
 
 import me.andreasmelone.abstractzip.jvm.JvmZipFileFactory;
+import me.andreasmelone.abstractzip.mapped.MappedZipFile;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public interface IZipFileFactory {
     IZipFile create(File path) throws IOException;
 
+    /**
+     * Opens an archive that is already in memory, like a jar nested in another one.
+     * The default implementation reads it with {@link MappedZipFile}, which works on any {@link ByteBuffer}.
+     *
+     * @param data the complete archive, from its position to its limit
+     * @return the opened archive
+     * @throws IOException if the data is not a valid archive
+     */
+    default IZipFile create(ByteBuffer data) throws IOException {
+        return new MappedZipFile(data.slice());
+    }
+
     class Provider {
         public static final IZipFileFactory DEFAULT_FACTORY = new JvmZipFileFactory();
         private static IZipFileFactory FACTORY = DEFAULT_FACTORY;
@@ -21,5 +35,9 @@ public interface IZipFileFactory {
         public static IZipFile create(File path) throws IOException {
             return FACTORY.create(path);
         }
+
+        public static IZipFile create(ByteBuffer data) throws IOException {
+            return FACTORY.create(data);
+        }
     }
 }
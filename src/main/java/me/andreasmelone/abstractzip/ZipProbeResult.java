@@ -0,0 +1,55 @@
+package me.andreasmelone.abstractzip;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of {@link IZipFile#probe(EntryNameSet)}: which of the probed names exist in an archive, and their entries.
+ * Names that were not part of the probed {@link EntryNameSet} are never found.
+ */
+public final class ZipProbeResult {
+    private final EntryNameSet names;
+    private final IZipEntry[] entries;
+
+    /**
+     * @param names   the probed names
+     * @param entries the found entries, indexed like {@code names}, with {@code null} for names that don't exist
+     */
+    public ZipProbeResult(@NotNull EntryNameSet names, @Nullable IZipEntry @NotNull [] entries) {
+        if (entries.length != names.size()) {
+            throw new IllegalArgumentException("Expected " + names.size() + " entries, got " + entries.length);
+        }
+        this.names = names;
+        this.entries = entries.clone();
+    }
+
+    @NotNull
+    public EntryNameSet getNames() {
+        return names;
+    }
+
+    /**
+     * @param name the name of the entry
+     * @return the entry, or {@code null} if it doesn't exist or was not probed for
+     */
+    @Nullable
+    public IZipEntry getEntry(@NotNull String name) {
+        int index = names.indexOf(name);
+        return index == -1 ? null : entries[index];
+    }
+
+    /**
+     * @param name the name of the entry
+     * @return whether the entry exists
+     */
+    public boolean contains(@NotNull String name) {
+        return getEntry(name) != null;
+    }
+
+    @Override
+    public String toString() {
+        return "ZipProbeResult" + Arrays.toString(entries);
+    }
+}
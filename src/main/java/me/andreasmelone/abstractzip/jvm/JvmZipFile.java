@@ -2,19 +2,44 @@ package me.andreasmelone.abstractzip.jvm;
 
 import me.andreasmelone.abstractzip.IZipEntry;
 import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.mapped.MappedZipFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
 public class JvmZipFile implements IZipFile {
     final ZipFile jvmZipFile;
+    /**
+     * The file of the archive, or {@code null} if stored entries are only read through the {@link ZipFile}
+     */
+    private final @Nullable File file;
+    /**
+     * A mapping of the file, created once a stored entry is accessed directly
+     */
+    private @Nullable MappedZipFile mapping;
+    private boolean mapped;
+    private boolean closed;
 
     public JvmZipFile(ZipFile jvmZipFile) {
+        this(jvmZipFile, null);
+    }
+
+    /**
+     * @param jvmZipFile the opened archive
+     * @param file       the file the archive was opened from, its stored entries are accessed directly through a mapping of it
+     */
+    public JvmZipFile(ZipFile jvmZipFile, @Nullable File file) {
         this.jvmZipFile = jvmZipFile;
+        this.file = file;
     }
 
     @Override
@@ -25,6 +50,43 @@ public class JvmZipFile implements IZipFile {
         return this.jvmZipFile.getInputStream(((JvmZipEntry) entry).jvmZipEntry);
     }
 
+    /**
+     * Maps the file of the archive on first use, so stored entries like nested jars are windows into the mapping rather
+     * than copies. The mapping stays valid for the views after the archive is closed, like one of {@link MappedZipFile}.
+     */
+    @Override
+    public @Nullable ByteBuffer getStoredData(@NotNull IZipEntry entry) throws IOException {
+        if (!(entry instanceof JvmZipEntry) || ((JvmZipEntry) entry).jvmZipEntry.getMethod() != ZipEntry.STORED) {
+            return null;
+        }
+        MappedZipFile mapping = mapping();
+        if (mapping == null) return null;
+
+        IZipEntry mappedEntry = mapping.findEntry(entry.getName());
+        // the file was replaced since it was opened, the entry is read through the ZipFile then
+        if (mappedEntry == null || mappedEntry.getCrc() != entry.getCrc() || mappedEntry.getCompressedSize() != entry.getCompressedSize()) {
+            return null;
+        }
+        return mapping.getStoredData(mappedEntry);
+    }
+
+    private synchronized @Nullable MappedZipFile mapping() throws IOException {
+        if (closed) throw new IOException("zip file closed");
+        if (mapped || file == null) return mapping;
+        mapped = true;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            // larger files can't be mapped as a whole, their entries are copied
+            if (size > Integer.MAX_VALUE) return null;
+            mapping = new MappedZipFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (ZipException e) {
+            // the ZipFile accepted what the mapped reader doesn't, its entries are copied then
+            return null;
+        }
+        return mapping;
+    }
+
     @Override
     public @Nullable IZipEntry findEntry(@NotNull String name) {
         ZipEntry jvmZipEntry = jvmZipFile.getEntry(name);
@@ -39,6 +101,11 @@ public class JvmZipFile implements IZipFile {
 
     @Override
     public void close() throws IOException {
+        synchronized (this) {
+            closed = true;
+            if (mapping != null) mapping.close();
+            mapping = null;
+        }
         this.jvmZipFile.close();
     }
 }
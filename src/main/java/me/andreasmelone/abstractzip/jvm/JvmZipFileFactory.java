@@ -10,6 +10,6 @@ import java.util.zip.ZipFile;
 public class JvmZipFileFactory implements IZipFileFactory {
     @Override
     public IZipFile create(File path) throws IOException {
-        return new JvmZipFile(new ZipFile(path));
+        return new JvmZipFile(new ZipFile(path), path);
     }
 }
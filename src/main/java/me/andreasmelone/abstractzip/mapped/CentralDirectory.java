@@ -0,0 +1,329 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipException;
+
+/**
+ * The end-of-central-directory record and the central directory of an archive, read straight from a {@link ByteBuffer}.
+ * Nothing is decoded up front, entries are only turned into {@link MappedZipEntry} objects once they are looked up.
+ */
+final class CentralDirectory {
+    static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    static final int LOCAL_HEADER_SIZE = 30;
+
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_SIZE = 56;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    /**
+     * The most bytes that can follow the central directory: both ZIP64 end records and the end record with the longest comment
+     */
+    static final int MAX_END_RECORDS_SIZE = ZIP64_END_SIZE + ZIP64_LOCATOR_SIZE + END_SIZE + MAX_COMMENT_LENGTH;
+
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final int EXTENDED_TIMESTAMP_EXTRA_ID = 0x5455;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+    private final long archiveStart;
+    private final int commentStart;
+    private final int commentLength;
+
+    private CentralDirectory(ByteBuffer buffer, int start, int end, long archiveStart, int commentStart, int commentLength) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.archiveStart = archiveStart;
+        this.commentStart = commentStart;
+        this.commentLength = commentLength;
+    }
+
+    @Nullable
+    String getComment() {
+        if (commentLength == 0) return null;
+        return decode(commentStart, commentLength);
+    }
+
+    /**
+     * Walks the central directory looking for the given name. Like {@link java.util.zip.ZipFile#getEntry(String)},
+     * a directory entry {@code name + "/"} is returned if there is no exact match.
+     *
+     * @param name the utf-8 encoded entry name
+     * @return the decoded entry, or {@code null} if there is none with that name
+     */
+    @Nullable
+    MappedZipEntry find(byte[] name) {
+        int directoryMatch = -1;
+        int pos = start;
+        while (pos + CENTRAL_HEADER_SIZE <= end) {
+            if (buffer.getInt(pos) != CENTRAL_HEADER_SIGNATURE) break;
+            int nameLength = u16(pos + 28);
+            int recordSize = CENTRAL_HEADER_SIZE + nameLength + u16(pos + 30) + u16(pos + 32);
+            if (pos + recordSize > end) break;
+
+            int nameStart = pos + CENTRAL_HEADER_SIZE;
+            if (nameLength == name.length && regionEquals(nameStart, name, name.length)) {
+                return decodeEntry(pos);
+            }
+            if (directoryMatch == -1 && nameLength == name.length + 1
+                    && buffer.get(nameStart + name.length) == '/' && regionEquals(nameStart, name, name.length)) {
+                directoryMatch = pos;
+            }
+            pos += recordSize;
+        }
+        // a corrupt record simply ends the walk, which makes everything behind it unreachable
+        return directoryMatch == -1 ? null : decodeEntry(directoryMatch);
+    }
+
+    /**
+     * Resolves all the given names in a single walk of the central directory, stopping early once every name was found.
+     *
+     * @param names the names to look for
+     * @return the found entries
+     */
+    @NotNull
+    ZipProbeResult probe(EntryNameSet names) {
+        IZipEntry[] entries = new IZipEntry[names.size()];
+        int[] directoryMatches = null;
+        int found = 0;
+        int pos = start;
+        while (found < entries.length && pos + CENTRAL_HEADER_SIZE <= end) {
+            if (buffer.getInt(pos) != CENTRAL_HEADER_SIGNATURE) break;
+            int nameLength = u16(pos + 28);
+            int recordSize = CENTRAL_HEADER_SIZE + nameLength + u16(pos + 30) + u16(pos + 32);
+            if (pos + recordSize > end) break;
+
+            int nameStart = pos + CENTRAL_HEADER_SIZE;
+            int index = names.indexOf(buffer, nameStart, nameLength);
+            if (index != -1 && entries[index] == null) {
+                entries[index] = decodeEntry(pos);
+                found++;
+            } else if (index == -1 && nameLength > 0 && buffer.get(nameStart + nameLength - 1) == '/') {
+                // same fallback to directory entries as find(byte[])
+                index = names.indexOf(buffer, nameStart, nameLength - 1);
+                if (index != -1) {
+                    if (directoryMatches == null) directoryMatches = new int[entries.length];
+                    if (directoryMatches[index] == 0) directoryMatches[index] = pos + 1;
+                }
+            }
+            pos += recordSize;
+        }
+
+        if (directoryMatches != null) {
+            for (int i = 0; i < entries.length; i++) {
+                if (entries[i] == null && directoryMatches[i] != 0) entries[i] = decodeEntry(directoryMatches[i] - 1);
+            }
+        }
+        return new ZipProbeResult(names, entries);
+    }
+
+    private boolean regionEquals(int offset, byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    private MappedZipEntry decodeEntry(int pos) {
+        int flags = u16(pos + 8);
+        int method = u16(pos + 10);
+        long dosTime = u32(pos + 12);
+        long crc = u32(pos + 16);
+        long compressedSize = u32(pos + 20);
+        long size = u32(pos + 24);
+        int nameLength = u16(pos + 28);
+        int extraLength = u16(pos + 30);
+        int commentLength = u16(pos + 32);
+        long localHeaderOffset = u32(pos + 42);
+
+        int nameStart = pos + CENTRAL_HEADER_SIZE;
+        int extraStart = nameStart + nameLength;
+        long modifiedTime = -1;
+
+        int extraPos = extraStart;
+        int extraEnd = extraStart + extraLength;
+        while (extraPos + 4 <= extraEnd) {
+            int id = u16(extraPos);
+            int length = u16(extraPos + 2);
+            int dataStart = extraPos + 4;
+            if (dataStart + length > extraEnd) break;
+
+            if (id == ZIP64_EXTRA_ID) {
+                // only the fields that overflowed in the header are present, in this order
+                int dataPos = dataStart;
+                int dataEnd = dataStart + length;
+                if (size == ZIP64_MAGIC && dataPos + 8 <= dataEnd) {
+                    size = buffer.getLong(dataPos);
+                    dataPos += 8;
+                }
+                if (compressedSize == ZIP64_MAGIC && dataPos + 8 <= dataEnd) {
+                    compressedSize = buffer.getLong(dataPos);
+                    dataPos += 8;
+                }
+                if (localHeaderOffset == ZIP64_MAGIC && dataPos + 8 <= dataEnd) {
+                    localHeaderOffset = buffer.getLong(dataPos);
+                }
+            } else if (id == EXTENDED_TIMESTAMP_EXTRA_ID && length >= 5 && (buffer.get(dataStart) & 1) != 0) {
+                modifiedTime = u32(dataStart + 1) * 1000L;
+            }
+            extraPos = dataStart + length;
+        }
+
+        return new MappedZipEntry(
+                decode(nameStart, nameLength),
+                commentLength == 0 ? null : decode(extraEnd, commentLength),
+                flags, method, dosTime, modifiedTime, crc, size, compressedSize,
+                archiveStart + localHeaderOffset
+        );
+    }
+
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int u16(int index) {
+        return buffer.getShort(index) & 0xFFFF;
+    }
+
+    private long u32(int index) {
+        return buffer.getInt(index) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Locates the end-of-central-directory record (and its ZIP64 counterpart, if present) at the end of the buffer.
+     *
+     * @param archive a buffer holding a complete archive, its position and limit are ignored
+     * @return the central directory of the archive
+     * @throws ZipException if the buffer does not contain a valid archive
+     */
+    @NotNull
+    static CentralDirectory locate(ByteBuffer archive) throws ZipException {
+        return locate(archive, 0);
+    }
+
+    /**
+     * Locates the central directory in a buffer holding only the end of an archive, from the start of its
+     * central directory to the end of the file.
+     *
+     * @param tail       the end of the archive, its position and limit are ignored
+     * @param tailOffset the offset of the first byte of the buffer in the file
+     * @return the central directory of the archive
+     * @throws ZipException if the buffer does not contain a valid archive or misses part of the central directory
+     */
+    @NotNull
+    static CentralDirectory locate(ByteBuffer tail, long tailOffset) throws ZipException {
+        ByteBuffer buffer = tail.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.clear();
+        EndRecord end = EndRecord.find(buffer, tailOffset);
+        if (end == null) throw new ZipException("zip END header not found");
+        if (end.directoryStart < tailOffset) throw new ZipException("central directory is not part of the buffer");
+
+        int directoryStart = (int) (end.directoryStart - tailOffset);
+        return new CentralDirectory(buffer, directoryStart, (int) (end.directoryEnd - tailOffset),
+                end.directoryStart - end.directoryOffset, end.endPos + END_SIZE, end.commentLength);
+    }
+
+    /**
+     * Finds where the central directory of an archive starts, so only that part of the file has to be read.
+     *
+     * @param tail       the end of the archive, its position and limit are ignored
+     * @param tailOffset the offset of the first byte of the buffer in the file
+     * @return the offset of the central directory in the file, or {@code -1} if the buffer holds no end record
+     * @throws ZipException if the end record is invalid
+     */
+    static long findDirectoryStart(ByteBuffer tail, long tailOffset) throws ZipException {
+        ByteBuffer buffer = tail.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.clear();
+        EndRecord end = EndRecord.find(buffer, tailOffset);
+        return end == null ? -1 : end.directoryStart;
+    }
+
+    /**
+     * The parts of the end records needed to find the central directory, all positions are offsets in the file.
+     */
+    private static final class EndRecord {
+        final int endPos;
+        final long directoryStart;
+        final long directoryEnd;
+        final long directoryOffset;
+        final int commentLength;
+
+        private EndRecord(int endPos, long directoryStart, long directoryEnd, long directoryOffset, int commentLength) {
+            this.endPos = endPos;
+            this.directoryStart = directoryStart;
+            this.directoryEnd = directoryEnd;
+            this.directoryOffset = directoryOffset;
+            this.commentLength = commentLength;
+        }
+
+        /**
+         * @param buffer     a little-endian buffer ending with the end of the archive
+         * @param tailOffset the offset of the first byte of the buffer in the file
+         * @return the end record, or {@code null} if the buffer doesn't contain one
+         */
+        @Nullable
+        static EndRecord find(ByteBuffer buffer, long tailOffset) throws ZipException {
+            int size = buffer.capacity();
+            if (size < END_SIZE) {
+                if (tailOffset == 0) throw new ZipException("zip file is empty or too small");
+                return null;
+            }
+
+            int endPos = -1;
+            int lowest = Math.max(0, size - END_SIZE - MAX_COMMENT_LENGTH);
+            for (int pos = size - END_SIZE; pos >= lowest; pos--) {
+                if (buffer.getInt(pos) == END_SIGNATURE && pos + END_SIZE + (buffer.getShort(pos + 20) & 0xFFFF) <= size) {
+                    endPos = pos;
+                    break;
+                }
+            }
+            if (endPos == -1) return null;
+
+            long directorySize = buffer.getInt(endPos + 12) & 0xFFFFFFFFL;
+            long directoryOffset = buffer.getInt(endPos + 16) & 0xFFFFFFFFL;
+            int commentLength = buffer.getShort(endPos + 20) & 0xFFFF;
+            long directoryEnd = endPos;
+
+            int locatorPos = endPos - ZIP64_LOCATOR_SIZE;
+            if (locatorPos >= 0 && buffer.getInt(locatorPos) == ZIP64_LOCATOR_SIGNATURE) {
+                long zip64EndPos = buffer.getLong(locatorPos + 8) - tailOffset;
+                // with prepended data the stored offset is off, the record always sits right before the locator though
+                long expectedPos = locatorPos - ZIP64_END_SIZE;
+                if (expectedPos >= 0 && buffer.getInt((int) expectedPos) == ZIP64_END_SIGNATURE) {
+                    zip64EndPos = expectedPos;
+                }
+                if (zip64EndPos < 0 || zip64EndPos + ZIP64_END_SIZE > size || buffer.getInt((int) zip64EndPos) != ZIP64_END_SIGNATURE) {
+                    throw new ZipException("invalid ZIP64 END header");
+                }
+                directorySize = buffer.getLong((int) zip64EndPos + 40);
+                directoryOffset = buffer.getLong((int) zip64EndPos + 48);
+                directoryEnd = zip64EndPos;
+            }
+
+            long directoryStart = tailOffset + directoryEnd - directorySize;
+            if (directorySize < 0 || directoryOffset < 0 || directoryStart < 0 || directoryStart < directoryOffset) {
+                throw new ZipException("invalid END header (bad central directory offset)");
+            }
+            return new EndRecord(endPos, directoryStart, tailOffset + directoryEnd, directoryOffset, commentLength);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.pool.BufferPool;
+import me.andreasmelone.abstractzip.pool.InflaterPool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates a DEFLATED entry straight from the archive buffer. Heap buffers are handed to the {@link Inflater} as a whole,
+ * mapped ones are copied over in chunks. The inflater and the chunk buffer are borrowed from the shared pools
+ * and returned once the stream is closed.
+ */
+final class EntryInflaterInputStream extends InputStream {
+    private static final byte[] DUMMY_BYTE = new byte[1];
+
+    private final ByteBuffer source;
+    private final Inflater inflater;
+    private final byte[] singleByte = new byte[1];
+    private byte[] input;
+    private long remaining;
+    private boolean dummyByteSupplied;
+    private boolean eof;
+    private boolean closed;
+
+    EntryInflaterInputStream(ByteBuffer source, long size) {
+        this.source = source;
+        this.inflater = InflaterPool.SHARED.acquire();
+        this.remaining = size;
+
+        if (source.hasArray()) {
+            inflater.setInput(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            source.position(source.limit());
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) throw new IOException("Stream closed");
+        if (len == 0) return 0;
+        if (eof) return -1;
+
+        try {
+            int count;
+            while ((count = inflater.inflate(b, off, len)) == 0) {
+                if (inflater.finished() || inflater.needsDictionary()) {
+                    eof = true;
+                    return -1;
+                }
+                if (inflater.needsInput()) fill();
+            }
+            remaining -= count;
+            return count;
+        } catch (DataFormatException e) {
+            String message = e.getMessage();
+            throw new ZipException(message != null ? message : "Invalid ZLIB data format");
+        }
+    }
+
+    private void fill() throws EOFException {
+        if (source.hasRemaining()) {
+            if (input == null) input = BufferPool.SHARED.acquireBytes();
+            int count = Math.min(input.length, source.remaining());
+            source.get(input, 0, count);
+            inflater.setInput(input, 0, count);
+        } else if (!dummyByteSupplied) {
+            // nowrap inflaters may ask for one byte past the end of the data, see Inflater(boolean)
+            dummyByteSupplied = true;
+            inflater.setInput(DUMMY_BYTE, 0, 1);
+        } else {
+            throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+    }
+
+    @Override
+    public int available() {
+        if (closed || eof) return 0;
+        return (int) Math.min(Math.max(remaining, 0), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        InflaterPool.SHARED.release(inflater);
+        if (input != null) BufferPool.SHARED.release(input);
+    }
+}
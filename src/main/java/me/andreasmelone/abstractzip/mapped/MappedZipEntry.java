@@ -0,0 +1,93 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.IZipEntry;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class MappedZipEntry implements IZipEntry {
+    public static final int STORED = 0;
+    public static final int DEFLATED = 8;
+
+    private final String name;
+    private final String comment;
+    final int flags;
+    final int method;
+    private final long dosTime;
+    private final long modifiedTime;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+    final long localHeaderOffset;
+
+    MappedZipEntry(String name, String comment, int flags, int method, long dosTime, long modifiedTime,
+                   long crc, long size, long compressedSize, long localHeaderOffset) {
+        this.name = name;
+        this.comment = comment;
+        this.flags = flags;
+        this.method = method;
+        this.dosTime = dosTime;
+        this.modifiedTime = modifiedTime;
+        this.crc = crc;
+        this.size = size;
+        this.compressedSize = compressedSize;
+        this.localHeaderOffset = localHeaderOffset;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return name;
+    }
+
+    @Override
+    public long getTime() {
+        if (modifiedTime != -1) return modifiedTime;
+        if (dosTime == 0) return -1;
+        try {
+            return LocalDateTime.of(
+                    (int) ((dosTime >> 25) & 0x7F) + 1980,
+                    (int) ((dosTime >> 21) & 0x0F),
+                    (int) ((dosTime >> 16) & 0x1F),
+                    (int) ((dosTime >> 11) & 0x1F),
+                    (int) ((dosTime >> 5) & 0x3F),
+                    (int) ((dosTime << 1) & 0x3E)
+            ).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (RuntimeException e) {
+            // out of range dos fields, zip tools write all kinds of garbage here
+            return -1;
+        }
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    @Override
+    public long getCrc() {
+        return crc;
+    }
+
+    @Override
+    public String getComment() {
+        return comment;
+    }
+
+    /**
+     * @return the compression method, usually {@link MappedZipEntry#STORED} or {@link MappedZipEntry#DEFLATED}
+     */
+    public int getMethod() {
+        return method;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,118 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipException;
+
+/**
+ * An {@link IZipFile} reading directly from a {@link ByteBuffer} holding the complete archive, usually a memory mapping
+ * created by {@link MappedZipFileFactory} or a nested jar that was read into memory. Only the end-of-central-directory
+ * record is read when opening, the central directory is walked on lookup and entries are decoded only once they are found.
+ */
+public class MappedZipFile implements IZipFile {
+    private volatile ByteBuffer buffer;
+    private volatile CentralDirectory centralDirectory;
+
+    public MappedZipFile(@NotNull ByteBuffer buffer) throws ZipException {
+        ByteBuffer archive = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        archive.clear();
+        this.centralDirectory = CentralDirectory.locate(archive);
+        this.buffer = archive;
+    }
+
+    @Override
+    public @Nullable InputStream openEntry(@NotNull IZipEntry entry) throws IOException {
+        if (!(entry instanceof MappedZipEntry)) {
+            return null;
+        }
+        MappedZipEntry mappedEntry = (MappedZipEntry) entry;
+        ByteBuffer data = entryData(mappedEntry);
+
+        switch (mappedEntry.method) {
+            case MappedZipEntry.STORED:
+                return new ByteBufferInputStream(data);
+            case MappedZipEntry.DEFLATED:
+                return new EntryInflaterInputStream(data, mappedEntry.getSize());
+            default:
+                throw new ZipException("invalid compression method " + mappedEntry.method + " for entry " + mappedEntry.getName());
+        }
+    }
+
+    @Override
+    public @Nullable ByteBuffer getStoredData(@NotNull IZipEntry entry) throws IOException {
+        if (!(entry instanceof MappedZipEntry) || ((MappedZipEntry) entry).method != MappedZipEntry.STORED) {
+            return null;
+        }
+        return entryData((MappedZipEntry) entry).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return the still compressed data of the entry, as a view of the archive buffer
+     */
+    private ByteBuffer entryData(MappedZipEntry entry) throws ZipException {
+        ByteBuffer buffer = ensureOpen();
+        if ((entry.flags & 1) != 0) throw new ZipException("encrypted entry " + entry.getName() + " is not supported");
+
+        long headerPos = entry.localHeaderOffset;
+        if (headerPos < 0 || headerPos + CentralDirectory.LOCAL_HEADER_SIZE > buffer.capacity()
+                || buffer.getInt((int) headerPos) != CentralDirectory.LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("invalid LOC header (bad signature) for entry " + entry.getName());
+        }
+
+        int header = (int) headerPos;
+        long dataStart = headerPos + CentralDirectory.LOCAL_HEADER_SIZE
+                + (buffer.getShort(header + 26) & 0xFFFF) + (buffer.getShort(header + 28) & 0xFFFF);
+        long dataEnd = dataStart + entry.getCompressedSize();
+        if (entry.getCompressedSize() < 0 || dataEnd > buffer.capacity()) {
+            throw new ZipException("invalid entry size for entry " + entry.getName());
+        }
+
+        ByteBuffer data = buffer.duplicate();
+        data.limit((int) dataEnd).position((int) dataStart);
+        return data.slice();
+    }
+
+    @Override
+    public @Nullable IZipEntry findEntry(@NotNull String name) {
+        return directory().find(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public @NotNull ZipProbeResult probe(@NotNull EntryNameSet names) {
+        return directory().probe(names);
+    }
+
+    @Override
+    public @Nullable String getComment() {
+        return directory().getComment();
+    }
+
+    private ByteBuffer ensureOpen() throws ZipException {
+        ByteBuffer buffer = this.buffer;
+        if (buffer == null) throw new ZipException("zip file closed");
+        return buffer;
+    }
+
+    private CentralDirectory directory() {
+        CentralDirectory centralDirectory = this.centralDirectory;
+        if (centralDirectory == null) throw new IllegalStateException("zip file closed");
+        return centralDirectory;
+    }
+
+    @Override
+    public void close() {
+        // a mapping can't be released explicitly on java 8, dropping the reference lets the gc unmap it
+        this.buffer = null;
+        this.centralDirectory = null;
+    }
+}
@@ -0,0 +1,24 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.IZipFileFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipException;
+
+public class MappedZipFileFactory implements IZipFileFactory {
+    @Override
+    public IZipFile create(File path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new ZipException("zip file too large to be mapped: " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            return new MappedZipFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+}
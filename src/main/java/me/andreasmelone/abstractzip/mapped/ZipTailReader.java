@@ -0,0 +1,74 @@
+package me.andreasmelone.abstractzip.mapped;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipException;
+
+/**
+ * Answers which entries exist in an archive by reading nothing but its central directory, using positional reads
+ * on a {@link FileChannel}. Usually this takes a single read of the last few KiB of the file, and a second one if
+ * the central directory is larger than that. Neither a {@link java.util.zip.ZipFile} nor a memory mapping is created.
+ * <p>
+ * The returned entries describe the archive, but can't be opened.
+ */
+public final class ZipTailReader {
+    private static final int INITIAL_TAIL_SIZE = 8192;
+
+    private ZipTailReader() {
+    }
+
+    @NotNull
+    public static ZipProbeResult probe(@NotNull Path path, @NotNull EntryNameSet names) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return probe(channel, names);
+        }
+    }
+
+    /**
+     * @param channel the archive, its position is left untouched
+     * @param names   the names to look for
+     * @return which of the names exist in the archive
+     * @throws IOException if the channel can't be read or does not contain a valid archive
+     */
+    @NotNull
+    public static ZipProbeResult probe(@NotNull FileChannel channel, @NotNull EntryNameSet names) throws IOException {
+        long size = channel.size();
+        long tailOffset = Math.max(0, size - INITIAL_TAIL_SIZE);
+        ByteBuffer tail = read(channel, tailOffset, (int) (size - tailOffset));
+        long directoryStart = CentralDirectory.findDirectoryStart(tail, tailOffset);
+
+        if (directoryStart == -1 && tailOffset > 0) {
+            // an archive comment pushed the end record out of the first read
+            tailOffset = Math.max(0, size - CentralDirectory.MAX_END_RECORDS_SIZE);
+            tail = read(channel, tailOffset, (int) (size - tailOffset));
+            directoryStart = CentralDirectory.findDirectoryStart(tail, tailOffset);
+        }
+        if (directoryStart == -1) throw new ZipException("zip END header not found");
+
+        if (directoryStart < tailOffset) {
+            if (size - directoryStart > Integer.MAX_VALUE) throw new ZipException("central directory is too large");
+            tailOffset = directoryStart;
+            tail = read(channel, tailOffset, (int) (size - tailOffset));
+        }
+        return CentralDirectory.locate(tail, tailOffset).probe(names);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException("unexpected end of zip file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,48 @@
+package me.andreasmelone.abstractzip.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * A bounded pool of fixed-size byte and char buffers for copying and decoding entry data.
+ * Buffers of other sizes are not accepted back, and buffers returned to a full pool are left to the gc.
+ */
+public final class BufferPool {
+    public static final int BUFFER_SIZE = 8192;
+    public static final BufferPool SHARED = new BufferPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    private final ArrayBlockingQueue<byte[]> byteBuffers;
+    private final ArrayBlockingQueue<char[]> charBuffers;
+
+    public BufferPool(int capacity) {
+        this.byteBuffers = new ArrayBlockingQueue<>(capacity);
+        this.charBuffers = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return a byte array of {@link BufferPool#BUFFER_SIZE} bytes, its content is undefined
+     */
+    @NotNull
+    public byte[] acquireBytes() {
+        byte[] buffer = byteBuffers.poll();
+        return buffer != null ? buffer : new byte[BUFFER_SIZE];
+    }
+
+    public void release(@NotNull byte[] buffer) {
+        if (buffer.length == BUFFER_SIZE) byteBuffers.offer(buffer);
+    }
+
+    /**
+     * @return a char array of {@link BufferPool#BUFFER_SIZE} chars, its content is undefined
+     */
+    @NotNull
+    public char[] acquireChars() {
+        char[] buffer = charBuffers.poll();
+        return buffer != null ? buffer : new char[BUFFER_SIZE];
+    }
+
+    public void release(@NotNull char[] buffer) {
+        if (buffer.length == BUFFER_SIZE) charBuffers.offer(buffer);
+    }
+}
@@ -0,0 +1,39 @@
+package me.andreasmelone.abstractzip.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Inflater;
+
+/**
+ * A bounded pool of raw ({@code nowrap}) {@link Inflater}s, as used for zip entries. Creating an inflater allocates
+ * native memory, so reusing them saves a lot when reading many small entries. Inflaters returned to a full pool are ended.
+ */
+public final class InflaterPool {
+    public static final InflaterPool SHARED = new InflaterPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+
+    private final ArrayBlockingQueue<Inflater> inflaters;
+
+    public InflaterPool(int capacity) {
+        this.inflaters = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return a reset inflater expecting raw deflate data
+     */
+    @NotNull
+    public Inflater acquire() {
+        Inflater inflater = inflaters.poll();
+        return inflater != null ? inflater : new Inflater(true);
+    }
+
+    /**
+     * Returns an inflater to the pool. It must not be used by the caller afterwards.
+     *
+     * @param inflater an inflater obtained from {@link InflaterPool#acquire()}
+     */
+    public void release(@NotNull Inflater inflater) {
+        inflater.reset();
+        if (!inflaters.offer(inflater)) inflater.end();
+    }
+}
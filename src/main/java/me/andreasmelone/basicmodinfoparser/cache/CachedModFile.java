@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.cache;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.util.Lazy;
+import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link ModFile} restored from a {@link ModCache}. Its info files are parsed from the cached text on first access,
+ * the archive itself is only opened if {@link CachedModFile#getIconStream()} is called.
+ */
+public final class CachedModFile implements ModFile {
+    private final ModRecord record;
+    private final Lazy<ModFile> source;
+    private final Lazy<BasicModInfo[]> infos;
+    private final List<ModFile> jarInJars;
+
+    /**
+     * @param record the cached data of the mod
+     * @param source the archive the record was made from, opened on first access
+     */
+    CachedModFile(ModRecord record, Lazy<ModFile> source) {
+        this.record = record;
+        this.source = source;
+        this.infos = Lazy.of(() -> parseInfos(ParseOptions.ALL));
+
+        List<ModFile> jarInJars = new ArrayList<>(record.jarInJars.size());
+        for (int i = 0; i < record.jarInJars.size(); i++) {
+            int index = i;
+            // getJarInJars of the archive lists the jars in the order they were recorded in
+            jarInJars.add(new CachedModFile(record.jarInJars.get(i), Lazy.of(() -> this.source.get().getJarInJars().get(index))));
+        }
+        this.jarInJars = Collections.unmodifiableList(jarInJars);
+    }
+
+    private BasicModInfo[] parseInfos(ParseOptions options) {
+        List<BasicModInfo> infos = new ArrayList<>();
+        for (int i = 0; i < record.platforms.length; i++) {
+            if (record.infoFiles[i] == null) continue;
+            infos.addAll(Arrays.asList(record.platforms[i].parse(record.infoFiles[i], options)));
+        }
+        return infos.toArray(new BasicModInfo[0]);
+    }
+
+    @Override
+    public @NotNull BasicModInfo[] getInfo() throws ModInfoParseException {
+        return infos.get();
+    }
+
+    @Override
+    public @NotNull BasicModInfo[] getInfo(ParseOptions options) throws ModInfoParseException {
+        if (infos.isInitialized() || options.includesAll()) return getInfo();
+        return parseInfos(options);
+    }
+
+    @Override
+    public @NotNull BasicModInfo[] getInfo(Platform platform) throws ModInfoParseException {
+        List<BasicModInfo> filtered = new ArrayList<>();
+        for (BasicModInfo info : getInfo()) {
+            if (info.getPlatform() == platform) filtered.add(info);
+        }
+        return filtered.toArray(new BasicModInfo[0]);
+    }
+
+    @Override
+    public @Nullable InputStream getIconStream() throws IOException {
+        boolean hasIcon = false;
+        for (BasicModInfo info : getInfo()) {
+            if (info.getIconPath() != null) {
+                hasIcon = true;
+                break;
+            }
+        }
+        if (!hasIcon) return null;
+
+        try {
+            return source.get().getIconStream();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public @NotNull Platform[] getPlatforms() {
+        return record.platforms.clone();
+    }
+
+    @Override
+    public @NotNull List<ModFile> getJarInJars() {
+        return jarInJars;
+    }
+
+    @Override
+    public void init() {
+        getInfo();
+        for (ModFile jarInJar : jarInJars) {
+            jarInJar.init();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (source.isInitialized()) source.get().close();
+    }
+
+    @Override
+    public String toString() {
+        return "CachedModFile{" +
+                "platforms=" + Arrays.toString(record.platforms) +
+                ", infos=" + (infos.isInitialized() ? Arrays.toString(infos.get()) : "<not parsed>") +
+                ", jarInJars=" + jarInJars +
+                '}';
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.cache;
+
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.abstractzip.mapped.ZipTailReader;
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.modfile.ZipFileModFile;
+import me.andreasmelone.basicmodinfoparser.util.Lazy;
+import me.andreasmelone.basicmodinfoparser.util.MetadataFiles;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A persistent cache of the metadata of mod archives, which sits in front of {@link ModFile#create(java.io.File)}.
+ * <p>
+ * A mod is looked up by its absolute path and is only taken from the cache if its size and modification time are unchanged.
+ * If checksums are verified, the central directory of the archive is read as well, with a single read of its end
+ * like {@link me.andreasmelone.basicmodinfoparser.platform.Platform#probe(Path)}, and the checksums of its metadata entries
+ * have to match too. Anything else opens and reads the archive, and remembers it for the next time.
+ * <p>
+ * The cache is kept in a single file, which is read by {@link ModCache#open(Path)} and replaced atomically by
+ * {@link ModCache#save()}. A missing, damaged or outdated file is treated like an empty cache. Instances are thread-safe.
+ */
+public final class ModCache {
+    private static final int MAGIC = 0x424D4943; // BMIC
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path file;
+    private final boolean verifyChecksums;
+    private final Map<String, CachedEntry> entries;
+    private final Set<String> used = ConcurrentHashMap.newKeySet();
+
+    private ModCache(Path file, boolean verifyChecksums, Map<String, CachedEntry> entries) {
+        this.file = file;
+        this.verifyChecksums = verifyChecksums;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a cache that trusts the size and modification time of the mods, see {@link ModCache#open(Path, boolean)}.
+     */
+    @NotNull
+    public static ModCache open(@NotNull Path file) {
+        return open(file, false);
+    }
+
+    /**
+     * Opens a cache stored in the given file. Nothing is written until {@link ModCache#save()} is called.
+     *
+     * @param file            the cache file, which doesn't have to exist
+     * @param verifyChecksums whether the checksums of the metadata entries of a mod are compared before its cached data is used
+     * @return the cache, empty if the file doesn't exist or can't be used
+     */
+    @NotNull
+    public static ModCache open(@NotNull Path file, boolean verifyChecksums) {
+        return new ModCache(file, verifyChecksums, load(file));
+    }
+
+    private static Map<String, CachedEntry> load(Path file) {
+        Map<String, CachedEntry> entries = new ConcurrentHashMap<>();
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+        } catch (IOException e) {
+            // a file that doesn't exist or can't be read is as good as none
+            return entries;
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) return entries;
+            int length = in.readInt();
+            long checksum = in.readLong();
+            if (length < 0 || length != in.available()) return entries;
+
+            CRC32 crc = new CRC32();
+            crc.update(data, data.length - length, length);
+            if (crc.getValue() != checksum) return entries;
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = ModRecord.readString(in);
+                long size = in.readLong();
+                long modified = in.readLong();
+                ModRecord record = ModRecord.read(in);
+                if (path != null) entries.put(path, new CachedEntry(size, modified, record));
+            }
+            return entries;
+        } catch (IOException e) {
+            // a damaged file is as good as none
+            entries.clear();
+            return entries;
+        }
+    }
+
+    /**
+     * Opens a mod, from the cache if it didn't change since it was cached.
+     *
+     * @param path the mod file, which must be a zip archive (e.g., .jar, .zip)
+     * @return the mod, a {@link CachedModFile} in either case
+     * @throws IOException if the file can't be read or is not a valid archive
+     */
+    @NotNull
+    public ModFile get(@NotNull Path path) throws IOException {
+        Path absolute = path.toAbsolutePath().normalize();
+        String key = absolute.toString();
+        BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        used.add(key);
+
+        CachedEntry entry = entries.get(key);
+        if (entry != null && entry.size == size && entry.modified == modified && (!verifyChecksums || matches(absolute, entry))) {
+            return new CachedModFile(entry.record, Lazy.of(() -> openArchive(absolute)));
+        }
+
+        ModFile modFile;
+        try {
+            modFile = ModFile.create(absolute.toFile());
+        } catch (IOException | RuntimeException e) {
+            // what was cached of the archive doesn't describe it anymore
+            if (entry != null) entries.remove(key, entry);
+            throw e;
+        }
+        try {
+            if (!(modFile instanceof ZipFileModFile)) throw new IOException("Unexpected mod file type " + modFile.getClass().getName());
+            ModRecord record = ModRecord.of((ZipFileModFile) modFile);
+            entries.put(key, new CachedEntry(size, modified, record));
+            return new CachedModFile(record, Lazy.ofValue(modFile));
+        } catch (IOException | RuntimeException e) {
+            close(modFile, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return whether the metadata entries of the archive are still the cached ones, an archive whose central directory
+     * can't be read is opened like any changed one, which reports what is wrong with it
+     */
+    private static boolean matches(Path path, CachedEntry entry) {
+        ZipProbeResult metadata;
+        try {
+            metadata = ZipTailReader.probe(path, MetadataFiles.PATHS);
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+        return entry.record.matches(metadata);
+    }
+
+    private static ModFile openArchive(Path path) {
+        try {
+            return ModFile.create(path.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes a mod because reading it failed, a failure to close it is added to that one.
+     */
+    private static void close(ModFile modFile, Throwable failure) {
+        try {
+            modFile.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Forgets a mod, the next {@link ModCache#get(Path)} reads it from its archive.
+     *
+     * @param path the mod file
+     */
+    public void invalidate(@NotNull Path path) {
+        entries.remove(path.toAbsolutePath().normalize().toString());
+    }
+
+    /**
+     * Forgets every mod that was not requested through {@link ModCache#get(Path)} since the cache was opened,
+     * for example because it was removed from the mods folder.
+     */
+    public void prune() {
+        entries.keySet().retainAll(used);
+    }
+
+    /**
+     * @return the number of cached mods
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Writes the cache to its file. The file is replaced atomically, so that a concurrent reader or a crash never sees
+     * it half written.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public synchronized void save() throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        // a snapshot, entries may be added while this runs
+        List<Map.Entry<String, CachedEntry>> snapshot = new ArrayList<>(entries.entrySet());
+        out.writeInt(snapshot.size());
+        for (Map.Entry<String, CachedEntry> mapEntry : snapshot) {
+            CachedEntry entry = mapEntry.getValue();
+            ModRecord.writeString(out, mapEntry.getKey());
+            out.writeLong(entry.size);
+            out.writeLong(entry.modified);
+            entry.record.write(out);
+        }
+        out.flush();
+
+        byte[] data = payload.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp); DataOutputStream header = new DataOutputStream(stream)) {
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            header.writeInt(data.length);
+            header.writeLong(crc.getValue());
+            header.write(data);
+        }
+
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ModCache{" +
+                "file=" + file +
+                ", verifyChecksums=" + verifyChecksums +
+                ", size=" + entries.size() +
+                '}';
+    }
+
+    private static final class CachedEntry {
+        final long size;
+        final long modified;
+        final ModRecord record;
+
+        CachedEntry(long size, long modified, ModRecord record) {
+            this.size = size;
+            this.modified = modified;
+            this.record = record;
+        }
+    }
+}
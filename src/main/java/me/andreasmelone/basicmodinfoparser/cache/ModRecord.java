@@ -0,0 +1,222 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.cache;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.modfile.ZipFileModFile;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What is remembered of a mod archive: its platforms, the unparsed info file of each platform, the checksums
+ * of its metadata entries and the same for every jar nested in it.
+ * <p>
+ * The info files are kept as text rather than as parsed {@link me.andreasmelone.basicmodinfoparser.platform.BasicModInfo}
+ * objects, reparsing a descriptor takes microseconds and its format can't go out of date with the classes it is parsed into.
+ */
+final class ModRecord {
+    private static final int MAX_NESTING = 16;
+
+    final Platform[] platforms;
+    /**
+     * The info file of each platform, indexed like {@code platforms}, {@code null} if it couldn't be read
+     */
+    final String[] infoFiles;
+    /**
+     * The names of the metadata entries of the archive and their checksums
+     */
+    final String[] metadataNames;
+    final long[] metadataCrcs;
+    final List<ModRecord> jarInJars;
+
+    private ModRecord(Platform[] platforms, String[] infoFiles, String[] metadataNames, long[] metadataCrcs, List<ModRecord> jarInJars) {
+        this.platforms = platforms;
+        this.infoFiles = infoFiles;
+        this.metadataNames = metadataNames;
+        this.metadataCrcs = metadataCrcs;
+        this.jarInJars = jarInJars;
+    }
+
+    /**
+     * @param entries the metadata entries of an archive
+     * @return whether they are the same as the ones this record was made from
+     */
+    boolean matches(@NotNull ZipProbeResult entries) {
+        List<String> names = new ArrayList<>();
+        List<Long> crcs = new ArrayList<>();
+        collectMetadata(entries, names, crcs);
+        if (names.size() != metadataNames.length) return false;
+        for (int i = 0; i < metadataNames.length; i++) {
+            if (!metadataNames[i].equals(names.get(i)) || metadataCrcs[i] != crcs.get(i)) return false;
+        }
+        return true;
+    }
+
+    private static void collectMetadata(ZipProbeResult entries, List<String> names, List<Long> crcs) {
+        EntryNameSet probed = entries.getNames();
+        for (int i = 0; i < probed.size(); i++) {
+            IZipEntry entry = entries.getEntry(probed.get(i));
+            if (entry == null) continue;
+            names.add(probed.get(i));
+            crcs.add(entry.getCrc());
+        }
+    }
+
+    /**
+     * Reads everything that is remembered of an opened mod, including its nested jars.
+     */
+    @NotNull
+    static ModRecord of(@NotNull ZipFileModFile modFile) throws IOException {
+        Platform[] platforms = modFile.getPlatforms().clone();
+        String[] infoFiles = new String[platforms.length];
+        for (int i = 0; i < platforms.length; i++) {
+            infoFiles[i] = modFile.getInfoFileContent(platforms[i]).orElse(null);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Long> crcs = new ArrayList<>();
+        collectMetadata(modFile.getMetadataEntries(), names, crcs);
+        long[] metadataCrcs = new long[crcs.size()];
+        for (int i = 0; i < metadataCrcs.length; i++) {
+            metadataCrcs[i] = crcs.get(i);
+        }
+
+        List<ModRecord> jarInJars = new ArrayList<>();
+        for (ModFile jarInJar : modFile.getJarInJars()) {
+            if (!(jarInJar instanceof ZipFileModFile)) {
+                throw new IOException("Unexpected jar-in-jar type " + jarInJar.getClass().getName());
+            }
+            jarInJars.add(of((ZipFileModFile) jarInJar));
+        }
+
+        return new ModRecord(platforms, infoFiles, names.toArray(new String[0]), metadataCrcs, Collections.unmodifiableList(jarInJars));
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeInt(platforms.length);
+        for (int i = 0; i < platforms.length; i++) {
+            writeString(out, platforms[i].name());
+            writeString(out, infoFiles[i]);
+        }
+        out.writeInt(metadataNames.length);
+        for (int i = 0; i < metadataNames.length; i++) {
+            writeString(out, metadataNames[i]);
+            out.writeLong(metadataCrcs[i]);
+        }
+        out.writeInt(jarInJars.size());
+        for (ModRecord jarInJar : jarInJars) {
+            jarInJar.write(out);
+        }
+    }
+
+    /**
+     * @throws IOException if the data is not a record written by {@link ModRecord#write(DataOutput)}
+     */
+    static ModRecord read(DataInput in) throws IOException {
+        return read(in, 0);
+    }
+
+    private static ModRecord read(DataInput in, int depth) throws IOException {
+        if (depth > MAX_NESTING) throw new IOException("Jars nested too deeply");
+
+        Platform[] platforms = new Platform[readCount(in)];
+        String[] infoFiles = new String[platforms.length];
+        for (int i = 0; i < platforms.length; i++) {
+            String name = readString(in);
+            try {
+                platforms[i] = Platform.valueOf(String.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown platform " + name, e);
+            }
+            infoFiles[i] = readString(in);
+        }
+
+        String[] metadataNames = new String[readCount(in)];
+        long[] metadataCrcs = new long[metadataNames.length];
+        for (int i = 0; i < metadataNames.length; i++) {
+            metadataNames[i] = readString(in);
+            if (metadataNames[i] == null) throw new IOException("Missing metadata entry name");
+            metadataCrcs[i] = in.readLong();
+        }
+
+        int jarInJarCount = readCount(in);
+        List<ModRecord> jarInJars = new ArrayList<>(Math.min(jarInJarCount, 64));
+        for (int i = 0; i < jarInJarCount; i++) {
+            jarInJars.add(read(in, depth + 1));
+        }
+
+        return new ModRecord(platforms, infoFiles, metadataNames, metadataCrcs, Collections.unmodifiableList(jarInJars));
+    }
+
+    private static int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Negative count " + count);
+        return count;
+    }
+
+    /**
+     * Writes a string of any length as UTF-8, unlike {@link DataOutput#writeUTF(String)} which is limited to 64 KiB.
+     */
+    static void writeString(DataOutput out, @Nullable String string) throws IOException {
+        if (string == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) return null;
+        if (length < 0) throw new IOException("Negative string length " + length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "ModRecord{" +
+                "platforms=" + Arrays.toString(platforms) +
+                ", metadataNames=" + Arrays.toString(metadataNames) +
+                ", jarInJars=" + jarInJars +
+                '}';
+    }
+}
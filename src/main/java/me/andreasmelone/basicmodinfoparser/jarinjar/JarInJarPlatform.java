@@ -29,24 +29,32 @@ import com.google.gson.JsonObject;
 import me.andreasmelone.abstractzip.IZipEntry;
 import me.andreasmelone.abstractzip.IZipFile;
 import me.andreasmelone.abstractzip.IZipFileFactory;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.basicmodinfoparser.util.MetadataFiles;
 import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.jar.JarFile;
 
 import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.GSON;
-import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.readEverythingAsString;
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.createTextReader;
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.openEntryReader;
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.readEntryAsString;
 
 public enum JarInJarPlatform {
     FORGEGRADLE("META-INF/jarjar/metadata.json") {
         @Override
-        protected @NotNull List<String> parseJarsInJar(String metadata) {
+        protected @NotNull List<String> parseJarsInJar(Reader metadata) {
             JsonElement root = GSON.fromJson(metadata, JsonElement.class);
             if (root == null || !root.isJsonObject()) {
                 return new ArrayList<>();
@@ -70,7 +78,7 @@ public enum JarInJarPlatform {
     },
     FABRIC_LOOM("fabric.mod.json") {
         @Override
-        protected @NotNull List<String> parseJarsInJar(String metadata) {
+        protected @NotNull List<String> parseJarsInJar(Reader metadata) {
             JsonElement root = GSON.fromJson(metadata, JsonElement.class);
             if (root == null || (!root.isJsonArray() && !root.isJsonObject())) {
                 return new ArrayList<>();
@@ -101,7 +109,7 @@ public enum JarInJarPlatform {
     },
     QUILT("quilt.mod.json") {
         @Override
-        protected @NotNull List<String> parseJarsInJar(String metadata) {
+        protected @NotNull List<String> parseJarsInJar(Reader metadata) {
             JsonObject jsonObj = GSON.fromJson(metadata, JsonObject.class);
             if (jsonObj == null) return new ArrayList<>();
 
@@ -127,6 +135,10 @@ public enum JarInJarPlatform {
         this.metadataFiles = metadataFiles;
     }
 
+    public String[] getMetadataFilePaths() {
+        return Arrays.copyOf(this.metadataFiles, this.metadataFiles.length);
+    }
+
     @NotNull
     public List<String> getJarsInJar(String metadata) {
         if (metadata == null) {
@@ -134,12 +146,75 @@ public enum JarInJarPlatform {
         }
 
         try {
-            return parseJarsInJar(metadata);
+            return parseJarsInJar(new StringReader(metadata));
         } catch (Exception e) {
             throw new ModInfoParseException("Error parsing the JIJ metadata info from the given string.", e);
         }
     }
 
+    /**
+     * Parses the text of a reader for the paths of the jars in jar, without reading it into a string first.
+     * The reader is not closed.
+     *
+     * @param reader a reader over the metadata file content
+     * @return the paths of the jars in jar
+     * @see JarInJarPlatform#getJarsInJar(String)
+     */
+    @NotNull
+    public List<String> getJarsInJar(Reader reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Input reader cannot be null");
+        }
+
+        try {
+            return parseJarsInJar(reader);
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the JIJ metadata info from the given reader.", e);
+        }
+    }
+
+    /**
+     * Parses a stream for the paths of the jars in jar. The content is decoded as UTF-8,
+     * unless it starts with a UTF-16 byte order mark. The stream is not closed.
+     *
+     * @param in the metadata file content
+     * @return the paths of the jars in jar
+     * @see JarInJarPlatform#getJarsInJar(String)
+     */
+    @NotNull
+    public List<String> getJarsInJar(InputStream in) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+
+        try {
+            return parseJarsInJar(createTextReader(in));
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the JIJ metadata info from the given stream.", e);
+        }
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer for the paths of the jars in jar. The content is decoded as UTF-8,
+     * unless it starts with a UTF-16 byte order mark. The position of the buffer is left untouched.
+     *
+     * @param data the metadata file content
+     * @return the paths of the jars in jar
+     * @see JarInJarPlatform#getJarsInJar(String)
+     */
+    @NotNull
+    public List<String> getJarsInJar(ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input buffer cannot be null");
+        }
+
+        try {
+            return parseJarsInJar(createTextReader(data));
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the JIJ metadata info from the given buffer.", e);
+        }
+    }
+
     /**
      * Reads and returns the content of the platform-specific metadata file (e.g. {@code metadata.json}, {@code fabric.mod.json}, etc.) from a zip archive.
      *
@@ -153,8 +228,49 @@ public enum JarInJarPlatform {
         for (String infoFilePath : this.metadataFiles) {
             IZipEntry infoFileEntry = zip.findEntry(infoFilePath);
             if (infoFileEntry == null) continue;
-            try (InputStream entry = zip.openEntry(infoFileEntry)) {
-                return Optional.of(readEverythingAsString(entry));
+            return Optional.ofNullable(readEntryAsString(zip, infoFileEntry));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads and returns the content of the platform-specific metadata file, using entries that were already looked up
+     * by {@link MetadataFiles#probe(IZipFile)} instead of searching the archive again.
+     *
+     * @param zip   The {@link IZipFile} the probe was made on.
+     * @param probe The result of probing the archive for its metadata files.
+     * @return The content of the first matching metadata file as a string, or {@link Optional#empty()} if none are found.
+     * @throws IOException If an error occurs while reading the zip file or its entries.
+     */
+    @NotNull
+    public Optional<String> getMetadataFileContent(IZipFile zip, ZipProbeResult probe) throws IOException {
+        for (String infoFilePath : this.metadataFiles) {
+            IZipEntry infoFileEntry = probe.getEntry(infoFilePath);
+            if (infoFileEntry == null) continue;
+            return Optional.ofNullable(readEntryAsString(zip, infoFileEntry));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Parses the platform-specific metadata file straight from the archive, using entries that were already looked up
+     * by {@link MetadataFiles#probe(IZipFile)}. Unlike {@link JarInJarPlatform#getMetadataFileContent(IZipFile, ZipProbeResult)}
+     * the file is never held in memory as a whole string.
+     *
+     * @param zip   The {@link IZipFile} the probe was made on.
+     * @param probe The result of probing the archive for its metadata files.
+     * @return The paths of the jars in jar listed by the first matching metadata file, or {@link Optional#empty()} if none are found.
+     * @throws IOException           If an error occurs while opening the metadata file.
+     * @throws ModInfoParseException If an error occurs while reading or parsing the metadata file.
+     */
+    @NotNull
+    public Optional<List<String>> parseMetadataFile(IZipFile zip, ZipProbeResult probe) throws IOException {
+        for (String infoFilePath : this.metadataFiles) {
+            IZipEntry infoFileEntry = probe.getEntry(infoFilePath);
+            if (infoFileEntry == null) continue;
+            try (Reader reader = openEntryReader(zip, infoFileEntry)) {
+                if (reader == null) return Optional.empty();
+                return Optional.of(getJarsInJar(reader));
             }
         }
         return Optional.empty();
@@ -163,11 +279,11 @@ public enum JarInJarPlatform {
     /**
      * Internal method that parses the metadata file that stores information on jar in jars
      *
-     * @param metadata the metadata file content
+     * @param metadata a reader over the metadata file content
      * @return the parsed jars
      */
     @NotNull
-    protected abstract List<String> parseJarsInJar(String metadata);
+    protected abstract List<String> parseJarsInJar(Reader metadata);
 
     /**
      * Finds the mod JIJ-Platforms by inspecting the files inside the provided mod archive.
@@ -186,11 +302,21 @@ public enum JarInJarPlatform {
     }
 
     public static JarInJarPlatform[] findJarInJarPlatforms(IZipFile zipFile) {
+        return findJarInJarPlatforms(MetadataFiles.probe(zipFile));
+    }
+
+    /**
+     * Finds the mod JIJ-Platforms from the metadata files found by {@link MetadataFiles#probe(IZipFile)}.
+     *
+     * @param probe The result of probing the mod archive for its metadata files
+     * @return An array of {@link JarInJarPlatform} values representing the platforms found in the file.
+     */
+    @NotNull
+    public static JarInJarPlatform[] findJarInJarPlatforms(ZipProbeResult probe) {
         List<JarInJarPlatform> platforms = new ArrayList<>();
         for (JarInJarPlatform platform : JarInJarPlatform.values()) {
             for (String infoFilePath : platform.metadataFiles) {
-                IZipEntry infoFileEntry = zipFile.findEntry(infoFilePath);
-                if (infoFileEntry == null) continue;
+                if (!probe.contains(infoFilePath)) continue;
                 platforms.add(platform);
                 break;
             }
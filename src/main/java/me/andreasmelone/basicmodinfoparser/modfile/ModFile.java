@@ -24,14 +24,19 @@
 package me.andreasmelone.basicmodinfoparser.modfile;
 
 import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
 import me.andreasmelone.basicmodinfoparser.platform.Platform;
 import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
 import java.util.List;
 
 public interface ModFile extends AutoCloseable {
@@ -43,6 +48,55 @@ public interface ModFile extends AutoCloseable {
     @NotNull
     BasicModInfo[] getInfo() throws ModInfoParseException;
 
+    /**
+     * Parses only the requested fields, see {@link ParseOptions}. The result is not kept, unless every field is requested,
+     * but if {@link ModFile#getInfo()} was already initialized its complete infos are returned instead.
+     *
+     * @param options the fields to parse
+     * @return the {@link BasicModInfo} objects associated with this jar, with at least the requested fields
+     */
+    @NotNull
+    default BasicModInfo[] getInfo(ParseOptions options) throws ModInfoParseException {
+        return getInfo();
+    }
+
+    /**
+     * Like {@link ModFile#getInfo()}, but returns a diagnostic instead of throwing if the infos can't be read or parsed.
+     *
+     * @return the {@link BasicModInfo} objects associated with this jar, or why they couldn't be read
+     */
+    @NotNull
+    default ParseResult<BasicModInfo[]> tryGetInfo() {
+        return tryGetInfo(ParseOptions.ALL);
+    }
+
+    /**
+     * Like {@link ModFile#getInfo(ParseOptions)}, but returns a diagnostic instead of throwing if the infos can't be
+     * read or parsed.
+     *
+     * @param options the fields to parse
+     * @return the {@link BasicModInfo} objects associated with this jar, or why they couldn't be read
+     */
+    @NotNull
+    default ParseResult<BasicModInfo[]> tryGetInfo(ParseOptions options) {
+        try {
+            return ParseResult.success(getInfo(options));
+        } catch (ModInfoParseException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.MALFORMED, null, e));
+        }
+    }
+
+    /**
+     * Problems that didn't keep the infos from being read, like nested jars that are not valid archives or jar-in-jar
+     * lists that can't be parsed. Grows as lazily initialized parts are read.
+     *
+     * @return the problems found so far
+     */
+    @NotNull
+    default List<ParseDiagnostic> getDiagnostics() {
+        return Collections.emptyList();
+    }
+
     /**
      * May be lazy initialized
      *
@@ -84,4 +138,41 @@ public interface ModFile extends AutoCloseable {
     static ModFile create(File file) throws IOException {
         return ZipFileModFile.create(file);
     }
+
+    /**
+     * Opens a mod that reads nested jars and info files identical to ones of other mods opened with the same
+     * {@link SharedContent} only once.
+     *
+     * @param file          the mod archive
+     * @param sharedContent the content to share with other mods
+     * @return the mod file
+     * @throws IOException if the file is not a valid archive
+     */
+    static ModFile create(File file, @NotNull SharedContent sharedContent) throws IOException {
+        return ZipFileModFile.create(file, sharedContent);
+    }
+
+    /**
+     * Opens a mod that is already in memory, for example a jar nested in another mod. Nothing is written to disk.
+     *
+     * @param data the complete mod archive, from its position to its limit
+     * @return the mod file
+     * @throws IOException if the data is not a valid archive
+     */
+    static ModFile create(ByteBuffer data) throws IOException {
+        return ZipFileModFile.create(data);
+    }
+
+    /**
+     * Opens a mod that is already in memory like {@link ModFile#create(ByteBuffer)}, sharing content like
+     * {@link ModFile#create(File, SharedContent)}.
+     *
+     * @param data          the complete mod archive, from its position to its limit
+     * @param sharedContent the content to share with other mods
+     * @return the mod file
+     * @throws IOException if the data is not a valid archive
+     */
+    static ModFile create(ByteBuffer data, @NotNull SharedContent sharedContent) throws IOException {
+        return ZipFileModFile.create(data, sharedContent);
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.modfile;
+
+import me.andreasmelone.basicmodinfoparser.util.ContentCache;
+import me.andreasmelone.basicmodinfoparser.util.ModDescriptor;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
+
+/**
+ * Nested jars and info files shared between the mods opened with it, so a library bundled by many mods is read once.
+ * Content is matched by the checksum, size and name of the entries, and both caches are bounded by the uncompressed
+ * size of the entries they keep.
+ * <p>
+ * A nested jar stays open while the cache or any mod it is nested in still holds it, and is closed once neither does.
+ * Nested jars stored without compression are a window into the archive they were first found in, which then stays
+ * in memory for as long as the jar does.
+ *
+ * @see ModFile#create(java.io.File, SharedContent)
+ */
+public final class SharedContent implements AutoCloseable {
+    /**
+     * The default total size of the nested jars to keep, 64 MiB
+     */
+    public static final long DEFAULT_MAX_JAR_BYTES = 64L << 20;
+    /**
+     * The default total size of the info files to keep, 8 MiB
+     */
+    public static final long DEFAULT_MAX_DESCRIPTOR_BYTES = 8L << 20;
+
+    /**
+     * Ones that are not valid archives are kept as the diagnostic, so every mod bundling them reports it
+     */
+    final ContentCache<ParseResult<ZipFileModFile>> jarInJars;
+    /**
+     * Parsed info files, the entry name tells the platforms apart. Malformed ones are kept as the diagnostic
+     */
+    final ContentCache<ParseResult<ModDescriptor>> descriptors;
+
+    public SharedContent() {
+        this(DEFAULT_MAX_JAR_BYTES, DEFAULT_MAX_DESCRIPTOR_BYTES);
+    }
+
+    /**
+     * @param maxJarBytes        the total size of the nested jars to keep at most
+     * @param maxDescriptorBytes the total size of the info files to keep at most
+     */
+    public SharedContent(long maxJarBytes, long maxDescriptorBytes) {
+        this.jarInJars = new ContentCache<>(maxJarBytes, jar -> {
+            if (jar != null && jar.isSuccess()) jar.getValue().release();
+        });
+        this.descriptors = new ContentCache<>(maxDescriptorBytes);
+    }
+
+    /**
+     * @return the total size of the nested jars and info files kept
+     */
+    public long bytes() {
+        return jarInJars.bytes() + descriptors.bytes();
+    }
+
+    /**
+     * Drops everything kept. Mods that were already opened keep using their nested jars until they are closed.
+     */
+    @Override
+    public void close() {
+        jarInJars.clear();
+        descriptors.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SharedContent{" +
+                "jarInJars=" + jarInJars +
+                ", descriptors=" + descriptors +
+                '}';
+    }
+}
@@ -26,46 +26,139 @@ package me.andreasmelone.basicmodinfoparser.modfile;
 import me.andreasmelone.abstractzip.IZipEntry;
 import me.andreasmelone.abstractzip.IZipFile;
 import me.andreasmelone.abstractzip.IZipFileFactory;
+import me.andreasmelone.abstractzip.ZipProbeResult;
 import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
 import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
 import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.util.JsonModInfoParsers;
+import me.andreasmelone.basicmodinfoparser.util.MetadataFiles;
+import me.andreasmelone.basicmodinfoparser.util.ModDescriptor;
 import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
 import me.andreasmelone.basicmodinfoparser.util.ParserUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ZipFileModFile implements ModFile {
-    private BasicModInfo[] infos;
-    private List<ModFile> jarInJars;
+    private volatile BasicModInfo[] infos;
+    /**
+     * Why the infos couldn't be read, set instead of them
+     */
+    private volatile ParseDiagnostic infoDiagnostic;
+    private volatile List<ModFile> jarInJars;
+    /**
+     * The jars in jar by path, each opened on its own once it is asked for
+     */
+    private volatile Map<String, JarInJar> jarInJarSlots;
+    private transient final List<ParseDiagnostic> diagnostics = new CopyOnWriteArrayList<>();
+    /**
+     * The parsed info files by entry name, or why they couldn't be parsed. Files listing jars in jar too are parsed
+     * once for both
+     */
+    private transient final Map<String, ParseResult<ModDescriptor>> descriptors = new ConcurrentHashMap<>();
+    // not a monitor, a virtual thread blocking on IO while holding one can't unmount on java 21
+    private transient final ReentrantLock lock = new ReentrantLock();
 
     private final Platform[] platforms;
     private transient final IZipFile zipFile;
+    private transient final ZipProbeResult metadataProbe;
+    /**
+     * The content shared with other mods, or {@code null} to read everything on its own
+     */
+    private transient final SharedContent sharedContent;
+    /**
+     * Nested jars are closed by the jars they are nested in, once none of them holds it anymore
+     */
+    private transient final boolean nested;
+    private transient final AtomicInteger holders;
 
-    private ZipFileModFile(IZipFile zipFile, Platform[] platforms) {
+    private ZipFileModFile(IZipFile zipFile, ZipProbeResult metadataProbe, Platform[] platforms,
+                           @Nullable SharedContent sharedContent, boolean nested, int holders) {
         this.zipFile = zipFile;
+        this.metadataProbe = metadataProbe;
         this.platforms = platforms;
+        this.sharedContent = sharedContent;
+        this.nested = nested;
+        this.holders = new AtomicInteger(holders);
     }
 
     @Override
     public @NotNull BasicModInfo[] getInfo() throws ModInfoParseException {
-        if (infos == null) {
-            List<BasicModInfo> infos = new ArrayList<>();
+        return orEmpty(tryGetInfo());
+    }
+
+    @Override
+    public @NotNull BasicModInfo[] getInfo(ParseOptions options) throws ModInfoParseException {
+        return orEmpty(tryGetInfo(options));
+    }
+
+    @Override
+    public @NotNull ParseResult<BasicModInfo[]> tryGetInfo() {
+        BasicModInfo[] infos = this.infos;
+        ParseDiagnostic diagnostic = this.infoDiagnostic;
+        if (infos == null && diagnostic == null) {
+            lock.lock();
             try {
-                for (Platform platform : this.platforms) {
-                    Optional<String> content = platform.getInfoFileContent(zipFile);
-                    if (!content.isPresent()) continue;
-                    infos.addAll(Arrays.asList(platform.parse(content.get())));
+                infos = this.infos;
+                diagnostic = this.infoDiagnostic;
+                if (infos == null && diagnostic == null) {
+                    // a failure is kept too, parsing the same archive again would fail the same way
+                    ParseResult<BasicModInfo[]> result = parseInfos(ParseOptions.ALL);
+                    if (result.isSuccess()) {
+                        infos = result.getValue();
+                        this.infos = infos;
+                    } else {
+                        diagnostic = result.getDiagnostic();
+                        this.infoDiagnostic = diagnostic;
+                    }
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
-                return new BasicModInfo[0];
+            } finally {
+                lock.unlock();
             }
-            this.infos = infos.toArray(new BasicModInfo[0]);
         }
-        return infos;
+        if (diagnostic != null) return ParseResult.failure(diagnostic);
+        return ParseResult.success(infos.clone());
+    }
+
+    @Override
+    public @NotNull ParseResult<BasicModInfo[]> tryGetInfo(ParseOptions options) {
+        if (infos != null || infoDiagnostic != null || options.includesAll()) return tryGetInfo();
+        return parseInfos(options);
+    }
+
+    /**
+     * Throws for malformed info files like before, an archive that can't be read just has no infos.
+     */
+    private static BasicModInfo[] orEmpty(ParseResult<BasicModInfo[]> result) {
+        if (result.isSuccess()) return result.getValue();
+        if (result.getDiagnostic().getCode() == ParseDiagnostic.Code.MALFORMED) return result.orElseThrow();
+        return new BasicModInfo[0];
+    }
+
+    /**
+     * @return the infos of all platforms, or why the first one that failed couldn't be read
+     */
+    private ParseResult<BasicModInfo[]> parseInfos(ParseOptions options) {
+        List<BasicModInfo> infos = new ArrayList<>();
+        for (Platform platform : this.platforms) {
+            ParseResult<BasicModInfo[]> parsed = parseInfoFile(platform, options);
+            if (!parsed.isSuccess()) return parsed;
+            infos.addAll(Arrays.asList(parsed.getValue()));
+        }
+        return ParseResult.success(infos.toArray(new BasicModInfo[0]));
     }
 
     @Override
@@ -80,6 +173,99 @@ public class ZipFileModFile implements ModFile {
         return filtered.toArray(new BasicModInfo[0]);
     }
 
+    /**
+     * Parses the info file of a platform, complete ones are shared with other archives that have an identical info file.
+     */
+    private ParseResult<BasicModInfo[]> parseInfoFile(Platform platform, ParseOptions options) {
+        IZipEntry infoFileEntry = options.includesAll() ? findMetadataEntry(platform.getInfoFilePaths()) : null;
+        if (infoFileEntry == null) return platform.tryParseInfoFile(zipFile, metadataProbe, options);
+        return readDescriptor(platform, infoFileEntry).map(ModDescriptor::getInfos);
+    }
+
+    /**
+     * Lists the jars in jar, from the info file of a platform if it is the same file.
+     */
+    private ParseResult<List<String>> listJarInJars(JarInJarPlatform jarInJar, @Nullable IZipEntry metadataEntry) {
+        Platform platform = null;
+        if (jarInJar == JarInJarPlatform.FABRIC_LOOM) platform = Platform.FABRIC;
+        else if (jarInJar == JarInJarPlatform.QUILT) platform = Platform.QUILT;
+
+        if (platform != null && metadataEntry != null) {
+            return readDescriptor(platform, metadataEntry).map(ModDescriptor::getJars);
+        }
+
+        String path = metadataEntry == null ? null : metadataEntry.getName();
+        try {
+            return ParseResult.success(jarInJar.parseMetadataFile(zipFile, metadataProbe).orElse(Collections.emptyList()));
+        } catch (IOException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.READ_FAILED, path, e));
+        } catch (RuntimeException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.MALFORMED, path, e));
+        }
+    }
+
+    private @Nullable IZipEntry findMetadataEntry(String[] paths) {
+        for (String path : paths) {
+            IZipEntry entry = metadataProbe.getEntry(path);
+            if (entry != null) return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Parses an info file once for this archive, and once for all archives with an identical one sharing content.
+     * A failure is kept like a result, so the infos and the jars in jar report it without parsing the file again.
+     *
+     * @return the descriptor, or why the file couldn't be read or parsed
+     */
+    private ParseResult<ModDescriptor> readDescriptor(Platform platform, IZipEntry entry) {
+        ParseResult<ModDescriptor> descriptor = descriptors.get(entry.getName());
+        if (descriptor != null) return descriptor;
+
+        try {
+            if (sharedContent == null) {
+                descriptor = parseDescriptor(platform, entry);
+            } else {
+                descriptor = sharedContent.descriptors.get(entry.getCrc(), entry.getSize(), entry.getName(), () -> parseDescriptor(platform, entry));
+            }
+        } catch (IOException e) {
+            // only this archive failed to read its copy, so it isn't shared
+            descriptor = ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.READ_FAILED, entry.getName(), e));
+        }
+        descriptors.put(entry.getName(), descriptor);
+        return descriptor;
+    }
+
+    /**
+     * @return the descriptor, or the diagnostic if the file is malformed
+     * @throws IOException if the file can't be read
+     */
+    private ParseResult<ModDescriptor> parseDescriptor(Platform platform, IZipEntry entry) throws IOException {
+        try (Reader reader = ParserUtils.openEntryReader(zipFile, entry)) {
+            if (reader == null) return ParseResult.success(new ModDescriptor(new BasicModInfo[0], Collections.emptyList()));
+            switch (platform) {
+                case FABRIC:
+                    return ParseResult.success(JsonModInfoParsers.parseFabricDescriptor(reader, platform));
+                case QUILT:
+                    return ParseResult.success(JsonModInfoParsers.parseQuiltDescriptor(reader, platform));
+                default:
+                    ParseResult<BasicModInfo[]> infos = platform.tryParse(reader, ParseOptions.ALL);
+                    if (!infos.isSuccess() && infos.getDiagnostic().getCode() == ParseDiagnostic.Code.READ_FAILED) {
+                        throw new IOException(infos.getDiagnostic().getMessage());
+                    }
+                    return infos.map(parsed -> new ModDescriptor(parsed, Collections.emptyList()))
+                            .withEntryPath(entry.getName());
+            }
+        } catch (RuntimeException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.MALFORMED, entry.getName(), e));
+        }
+    }
+
+    @Override
+    public @NotNull List<ParseDiagnostic> getDiagnostics() {
+        return Collections.unmodifiableList(new ArrayList<>(diagnostics));
+    }
+
     @Override
     public @Nullable InputStream getIconStream() throws IOException {
         String iconPath = null;
@@ -101,50 +287,167 @@ public class ZipFileModFile implements ModFile {
         return platforms;
     }
 
+    /**
+     * @return the metadata entries of the archive, including their sizes and checksums
+     */
+    public @NotNull ZipProbeResult getMetadataEntries() {
+        return metadataProbe;
+    }
+
+    /**
+     * Reads the unparsed info file of a platform, see {@link Platform#getInfoFileContent(IZipFile, ZipProbeResult)}.
+     *
+     * @param platform the platform whose info file to read
+     * @return the content of the info file, or {@link Optional#empty()} if the archive doesn't have one
+     * @throws IOException if the info file can't be read
+     */
+    public @NotNull Optional<String> getInfoFileContent(Platform platform) throws IOException {
+        return platform.getInfoFileContent(zipFile, metadataProbe);
+    }
+
     @Override
     public @NotNull List<ModFile> getJarInJars() {
+        List<ModFile> jarInJars = this.jarInJars;
         if (jarInJars == null) {
             List<ModFile> jars = new ArrayList<>();
+            for (JarInJar jarInJar : listJarInJarSlots().values()) {
+                ModFile jar = openJarInJarSlot(jarInJar);
+                if (jar != null) jars.add(jar);
+            }
+            // racing callers get the same jars from the slots
+            jarInJars = Collections.unmodifiableList(jars);
+            this.jarInJars = jarInJars;
+        }
+        return jarInJars;
+    }
+
+    /**
+     * Lists the jars in jar without opening them, so that they can be opened one by one with
+     * {@link ZipFileModFile#getJarInJar(String)}, for example in parallel.
+     *
+     * @return the paths of the nested jars that exist in this archive, in the order they are listed in
+     */
+    public @NotNull List<String> getJarInJarPaths() {
+        return Collections.unmodifiableList(new ArrayList<>(listJarInJarSlots().keySet()));
+    }
 
+    /**
+     * Opens a single jar in jar, which {@link ZipFileModFile#getJarInJars()} returns too. Every jar is opened once,
+     * whichever method asks for it first.
+     *
+     * @param path the path of the nested jar, as returned by {@link ZipFileModFile#getJarInJarPaths()}
+     * @return the nested jar, or {@code null} if it is not listed or can't be opened, see {@link ModFile#getDiagnostics()}
+     */
+    public @Nullable ModFile getJarInJar(@NotNull String path) {
+        JarInJar jarInJar = listJarInJarSlots().get(path);
+        return jarInJar == null ? null : openJarInJarSlot(jarInJar);
+    }
+
+    private Map<String, JarInJar> listJarInJarSlots() {
+        Map<String, JarInJar> jarInJarSlots = this.jarInJarSlots;
+        if (jarInJarSlots == null) {
+            lock.lock();
             try {
-                for (JarInJarPlatform jarInJar : JarInJarPlatform.findJarInJarPlatforms(zipFile)) {
-                    String content = jarInJar.getMetadataFileContent(zipFile).orElse("");
-                    List<String> innerJars = jarInJar.getJarsInJar(content);
-
-                    for (String inJarPath : innerJars) {
-                        IZipEntry entry = zipFile.findEntry(inJarPath);
-                        if (entry == null) {
-                            continue;
-                        }
-
-                        File tmpFile = ParserUtils.createTempFile(UUID.randomUUID() + ".jar");
-                        tmpFile.deleteOnExit();
-
-                        try (InputStream in = zipFile.openEntry(entry);
-                             OutputStream out = new FileOutputStream(tmpFile)) {
-                            int readBytes;
-                            byte[] buffer = new byte[65536]; // we're in 2025, we can allow ourselves an acceptably big buffer
-                            while ((readBytes = in.read(buffer)) != -1) {
-                                out.write(buffer, 0, readBytes);
-                            }
-                        }
-
-                        try {
-                            ModFile modFile = ModFile.create(tmpFile);
-                            jars.add(modFile);
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    }
+                jarInJarSlots = this.jarInJarSlots;
+                if (jarInJarSlots == null) {
+                    jarInJarSlots = Collections.unmodifiableMap(readJarInJarSlots());
+                    this.jarInJarSlots = jarInJarSlots;
                 }
-            } catch (IOException e) {
-                e.printStackTrace();
-            } catch (ModInfoParseException ignored) {
+            } finally {
+                lock.unlock();
             }
+        }
+        return jarInJarSlots;
+    }
+
+    private Map<String, JarInJar> readJarInJarSlots() {
+        Map<String, JarInJar> jars = new LinkedHashMap<>();
 
-            this.jarInJars = jars;
+        for (JarInJarPlatform jarInJar : JarInJarPlatform.findJarInJarPlatforms(metadataProbe)) {
+            ParseResult<List<String>> innerJars = listJarInJars(jarInJar, findMetadataEntry(jarInJar.getMetadataFilePaths()));
+            if (!innerJars.isSuccess()) {
+                // a file listing both infos and jars was already reported if the infos failed
+                if (!innerJars.getDiagnostic().equals(this.infoDiagnostic)) diagnostics.add(innerJars.getDiagnostic());
+                continue;
+            }
+
+            for (String inJarPath : innerJars.getValue()) {
+                IZipEntry entry = zipFile.findEntry(inJarPath);
+                if (entry == null || jars.containsKey(inJarPath)) {
+                    continue;
+                }
+                jars.put(inJarPath, new JarInJar(inJarPath, entry));
+            }
+        }
+
+        return jars;
+    }
+
+    private @Nullable ModFile openJarInJarSlot(JarInJar jarInJar) {
+        if (jarInJar.opened) return jarInJar.modFile;
+        jarInJar.lock.lock();
+        try {
+            if (!jarInJar.opened) {
+                jarInJar.modFile = readJarInJar(jarInJar.path, jarInJar.entry);
+                jarInJar.opened = true;
+            }
+            return jarInJar.modFile;
+        } finally {
+            jarInJar.lock.unlock();
+        }
+    }
+
+    private @Nullable ModFile readJarInJar(String path, IZipEntry entry) {
+        try {
+            ParseResult<ZipFileModFile> jar = holdJarInJar(path, entry);
+            if (jar == null) return null;
+            if (jar.isSuccess()) return jar.getValue();
+
+            // the shared diagnostic names the path the jar was first found at
+            diagnostics.add(jar.getDiagnostic().withEntryPath(path));
+        } catch (IOException e) {
+            diagnostics.add(ParseDiagnostic.of(ParseDiagnostic.Code.READ_FAILED, path, e));
+        }
+        return null;
+    }
+
+    /**
+     * Opens a nested jar, or takes the one of another mod with identical content. This jar holds it until it is closed.
+     *
+     * @return the nested jar, or why it is not a valid archive, or {@code null} if the archive can't open the entry
+     * @throws IOException if the entry can't be read
+     */
+    private ParseResult<ZipFileModFile> holdJarInJar(String path, IZipEntry entry) throws IOException {
+        if (sharedContent == null) return openJarInJar(entry, 1);
+
+        // the same library is often bundled by many mods, possibly at different paths
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        while (true) {
+            boolean[] opened = new boolean[1];
+            ParseResult<ZipFileModFile> jar = sharedContent.jarInJars.get(entry.getCrc(), entry.getSize(), fileName, () -> {
+                opened[0] = true;
+                // held by the cache and by this jar
+                return openJarInJar(entry, 2);
+            });
+            if (jar == null || !jar.isSuccess() || opened[0] || jar.getValue().hold()) return jar;
+            // dropped from the cache and closed by its last holder in the meantime, so the next lookup opens it again
+        }
+    }
+
+    /**
+     * @param holders the number of holders of the jar, each closes it once
+     * @return the nested jar, or why it is not a valid archive, or {@code null} if the archive can't open the entry
+     * @throws IOException if the entry can't be read
+     */
+    private ParseResult<ZipFileModFile> openJarInJar(IZipEntry entry, int holders) throws IOException {
+        ByteBuffer data = ParserUtils.readEntryBytes(zipFile, entry);
+        if (data == null) return null;
+
+        try {
+            return ParseResult.success(create(IZipFileFactory.Provider.create(data), sharedContent, true, holders));
+        } catch (IOException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.INVALID_ARCHIVE, entry.getName(), e));
         }
-        return jarInJars;
     }
 
     @Override
@@ -153,9 +456,40 @@ public class ZipFileModFile implements ModFile {
         getJarInJars();
     }
 
+    /**
+     * Closes the archive and releases the nested jars, a nested jar is closed by the jars it is nested in instead.
+     */
     @Override
     public void close() throws Exception {
-        zipFile.close();
+        if (!nested) release();
+    }
+
+    /**
+     * @return whether this jar was still open and is now held once more
+     */
+    private boolean hold() {
+        while (true) {
+            int current = holders.get();
+            if (current == 0) return false;
+            if (holders.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Lets go of this jar once, the last holder closes it and releases its nested jars in turn.
+     */
+    void release() {
+        if (holders.decrementAndGet() != 0) return;
+        try {
+            zipFile.close();
+        } catch (IOException ignored) {
+            // there is nothing left to read from it
+        }
+        Map<String, JarInJar> jarInJarSlots = this.jarInJarSlots;
+        if (jarInJarSlots == null) return;
+        for (JarInJar jarInJar : jarInJarSlots.values()) {
+            if (jarInJar.modFile != null) ((ZipFileModFile) jarInJar.modFile).release();
+        }
     }
 
     @Override
@@ -181,11 +515,51 @@ public class ZipFileModFile implements ModFile {
     }
 
     public static ModFile create(IZipFile zipFile) throws IOException {
-        Platform[] platforms = Platform.findModPlatform(zipFile);
-        return new ZipFileModFile(zipFile, platforms);
+        return create(zipFile, null);
+    }
+
+    /**
+     * @param zipFile       the archive of the mod
+     * @param sharedContent the nested jars and info files to share with other mods, or {@code null} to share nothing
+     * @return the mod file
+     * @throws IOException if the metadata of the archive can't be read
+     */
+    public static ModFile create(IZipFile zipFile, @Nullable SharedContent sharedContent) throws IOException {
+        return create(zipFile, sharedContent, false, 1);
+    }
+
+    private static ZipFileModFile create(IZipFile zipFile, SharedContent sharedContent, boolean nested, int holders) throws IOException {
+        ZipProbeResult metadataProbe = MetadataFiles.probe(zipFile);
+        Platform[] platforms = Platform.findModPlatform(metadataProbe);
+        return new ZipFileModFile(zipFile, metadataProbe, platforms, sharedContent, nested, holders);
     }
 
     public static ModFile create(File path) throws IOException {
         return create(IZipFileFactory.Provider.create(path));
     }
+
+    public static ModFile create(File path, @Nullable SharedContent sharedContent) throws IOException {
+        return create(IZipFileFactory.Provider.create(path), sharedContent);
+    }
+
+    public static ModFile create(ByteBuffer data) throws IOException {
+        return create(IZipFileFactory.Provider.create(data));
+    }
+
+    public static ModFile create(ByteBuffer data, @Nullable SharedContent sharedContent) throws IOException {
+        return create(IZipFileFactory.Provider.create(data), sharedContent);
+    }
+
+    private static final class JarInJar {
+        private final String path;
+        private final IZipEntry entry;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean opened;
+        private volatile ModFile modFile;
+
+        JarInJar(String path, IZipEntry entry) {
+            this.path = path;
+            this.entry = entry;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.platform;
+
+/**
+ * The parts of a {@link BasicModInfo} that can be requested through {@link ParseOptions}.
+ */
+public enum ModInfoField {
+    /**
+     * {@link BasicModInfo#getId()}
+     */
+    ID,
+
+    /**
+     * {@link BasicModInfo#getName()}
+     */
+    NAME,
+
+    /**
+     * {@link BasicModInfo#getVersion()}
+     */
+    VERSION,
+
+    /**
+     * {@link BasicModInfo#getDescription()}
+     */
+    DESCRIPTION,
+
+    /**
+     * {@link BasicModInfo#getIconPath()}
+     */
+    ICON,
+
+    /**
+     * {@link BasicModInfo#getDependencies()}, including the version ranges of every dependency
+     */
+    DEPENDENCIES,
+
+    /**
+     * {@link me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo#getBreaks()}, the mods a Fabric or Quilt mod is incompatible with
+     */
+    BREAKS,
+
+    /**
+     * {@link me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo#getProvidedIds()}, the mods a Fabric or Quilt mod provides
+     */
+    PROVIDES
+}
@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.platform;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Selects which fields of a {@link BasicModInfo} a parser fills in. Fields that are not requested are skipped while parsing,
+ * so their values are never converted and, for dependencies, no version ranges are compiled. They are left {@code null},
+ * or empty for lists, and mistakes in them, like a value of the wrong type, are not reported.
+ */
+public final class ParseOptions {
+    /**
+     * Parses every field, what the overloads without options do.
+     */
+    public static final ParseOptions ALL = new ParseOptions(EnumSet.allOf(ModInfoField.class));
+
+    /**
+     * Parses only the id and the version, enough to deduplicate mods or to check them for updates.
+     */
+    public static final ParseOptions ID_AND_VERSION = new ParseOptions(EnumSet.of(ModInfoField.ID, ModInfoField.VERSION));
+
+    private final EnumSet<ModInfoField> fields;
+
+    private ParseOptions(EnumSet<ModInfoField> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param fields the fields to parse
+     * @return options parsing only the given fields
+     */
+    @NotNull
+    public static ParseOptions of(ModInfoField... fields) {
+        EnumSet<ModInfoField> set = EnumSet.noneOf(ModInfoField.class);
+        set.addAll(Arrays.asList(fields));
+        return new ParseOptions(set);
+    }
+
+    /**
+     * @param field the field to check
+     * @return whether the field is parsed
+     */
+    public boolean includes(ModInfoField field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * @return whether every field is parsed
+     */
+    public boolean includesAll() {
+        return fields.size() == ModInfoField.values().length;
+    }
+
+    /**
+     * @return the fields that are parsed
+     */
+    @NotNull
+    public Set<ModInfoField> getFields() {
+        return EnumSet.copyOf(fields);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseOptions{" +
+                "fields=" + fields +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ParseOptions that = (ParseOptions) o;
+        return fields.equals(that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return fields.hashCode();
+    }
+}
@@ -23,21 +23,19 @@
  */
 package me.andreasmelone.basicmodinfoparser.platform;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import me.andreasmelone.abstractzip.IZipEntry;
 import me.andreasmelone.abstractzip.IZipFile;
 import me.andreasmelone.abstractzip.IZipFileFactory;
-import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
-import me.andreasmelone.basicmodinfoparser.platform.dependency.ProvidedMod;
-import me.andreasmelone.basicmodinfoparser.platform.dependency.StandardDependency;
-import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.abstractzip.mapped.ZipTailReader;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
-import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
 import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
+import me.andreasmelone.basicmodinfoparser.util.JsonModInfoParsers;
+import me.andreasmelone.basicmodinfoparser.util.MetadataFiles;
 import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
 import me.andreasmelone.basicmodinfoparser.util.ParserUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -45,11 +43,14 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
 
 import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.*;
 
@@ -59,33 +60,8 @@ public enum Platform {
      */
     FORGE_LEGACY("mcmod.info") {
         @Override
-        protected BasicModInfo[] parseFileData(String fileData) {
-            JsonArray topArray = GSON.fromJson(fileData, JsonArray.class);
-            if (topArray == null || topArray.size() == 0) {
-                return StandardBasicModInfo.emptyArray();
-            }
-
-            List<BasicModInfo> parsedInfos = new ArrayList<>();
-            for (JsonElement topArrayElement : topArray) {
-                if (!topArrayElement.isJsonObject()) continue;
-                JsonObject modObject = topArrayElement.getAsJsonObject();
-                List<Dependency> dependencyList = new ArrayList<>();
-                if (modObject.has("dependencies") && modObject.get("dependencies").isJsonArray()) {
-                    JsonArray dependenciesArray = modObject.getAsJsonArray("dependencies");
-                    for (JsonElement element : dependenciesArray) {
-                        if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
-                            continue;
-                        }
-                        parseLegacyForgeDependency(element.getAsString()).ifPresent(dependencyList::add);
-                    }
-                }
-                parsedInfos.add(ParserUtils.createForgeModInfoFromJsonObject(modObject,
-                        "modid", "name", "version", "description", "logoFile",
-                        dependencyList, this
-                ));
-            }
-
-            return parsedInfos.toArray(new BasicModInfo[0]);
+        protected BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException {
+            return JsonModInfoParsers.parseLegacyForge(fileData, this, options);
         }
 
         @Override
@@ -98,8 +74,8 @@ public enum Platform {
      */
     FORGE("META-INF/mods.toml") {
         @Override
-        protected BasicModInfo[] parseFileData(String fileData) {
-            return ParserUtils.parseForgelikeInfo(fileData, this);
+        protected BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException {
+            return ParserUtils.parseForgelikeInfo(fileData, this, options);
         }
 
         @Override
@@ -121,8 +97,8 @@ public enum Platform {
      */
     NEOFORGE("META-INF/neoforge.mods.toml") {
         @Override
-        protected @NotNull BasicModInfo[] parseFileData(String fileData) {
-            return ParserUtils.parseForgelikeInfo(fileData, this);
+        protected @NotNull BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException {
+            return ParserUtils.parseForgelikeInfo(fileData, this, options);
         }
 
         @Override
@@ -144,42 +120,8 @@ public enum Platform {
      */
     FABRIC("fabric.mod.json") {
         @Override
-        protected BasicModInfo[] parseFileData(String fileData) {
-            JsonElement root = GSON.fromJson(fileData, JsonElement.class);
-            if (root == null || (!root.isJsonArray() && !root.isJsonObject())) {
-                return StandardBasicModInfo.emptyArray();
-            }
-            JsonArray jsonArray = root.isJsonArray() ? root.getAsJsonArray() : new JsonArray();
-            if (root.isJsonObject()) {
-                jsonArray.add(root.getAsJsonObject());
-            }
-
-            List<BasicModInfo> parsedInfos = new ArrayList<>();
-            for (JsonElement jsonArrayElement : jsonArray) {
-                if (!jsonArrayElement.isJsonObject()) continue;
-                JsonObject jsonObject = jsonArrayElement.getAsJsonObject();
-
-                Optional<LooseSemanticVersion> version = LooseSemanticVersion.parse(getValidString(jsonObject, "version"));
-
-                List<Dependency> dependencyList = new ArrayList<>();
-                ParserUtils.parseFabricDependencies(dependencyList, jsonObject, "depends", true);
-                ParserUtils.parseFabricDependencies(dependencyList, jsonObject, "recommends", false);
-                List<Dependency> breaksList = new ArrayList<>();
-                ParserUtils.parseFabricDependencies(breaksList, jsonObject, "breaks", true);
-                List<ProvidedMod<LooseSemanticVersion>> provided = new ArrayList<>();
-                if (jsonObject.has("provides") && jsonObject.get("provides").isJsonArray()) {
-                    for (JsonElement dependency : jsonObject.getAsJsonArray("provides")) {
-                        if (!dependency.isJsonPrimitive() || !dependency.getAsJsonPrimitive().isString()) continue;
-                        provided.add(new ProvidedMod<>(dependency.getAsString(), version.orElse(null)));
-                    }
-                }
-
-                parsedInfos.add(ParserUtils.createFabricModInfoFromJsonObject(jsonObject,
-                        "id", "name", version.orElse(null), "description", "icon",
-                        dependencyList, breaksList, provided, this));
-            }
-
-            return parsedInfos.toArray(new BasicModInfo[0]);
+        protected BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException {
+            return JsonModInfoParsers.parseFabric(fileData, this, options);
         }
 
         @Override
@@ -201,111 +143,8 @@ public enum Platform {
      */
     QUILT("quilt.mod.json") {
         @Override
-        protected BasicModInfo[] parseFileData(String fileData) {
-            JsonObject jsonObj = GSON.fromJson(fileData, JsonObject.class);
-            if (jsonObj == null) return StandardBasicModInfo.emptyArray();
-
-            if (!jsonObj.has("quilt_loader") || !jsonObj.get("quilt_loader").isJsonObject())
-                return StandardBasicModInfo.emptyArray();
-            JsonObject quiltLoader = jsonObj.getAsJsonObject("quilt_loader");
-            String modId = getValidString(quiltLoader, "id");
-            String version = getValidString(quiltLoader, "version");
-
-            String name = null;
-            String description = null;
-            String iconPath = null;
-            if (quiltLoader.has("metadata") && quiltLoader.get("metadata").isJsonObject()) {
-                JsonObject metadata = quiltLoader.getAsJsonObject("metadata");
-                name = getValidString(metadata, "name");
-                description = getValidString(metadata, "description");
-                iconPath = getValidString(metadata, "icon");
-            }
-
-            List<Dependency> dependencies = new ArrayList<>();
-            if (quiltLoader.has("depends") && quiltLoader.get("depends").isJsonArray()) {
-                for (JsonElement dependency : quiltLoader.getAsJsonArray("depends")) {
-                    if (!dependency.isJsonObject()) continue;
-                    JsonObject dependencyObject = dependency.getAsJsonObject();
-                    String dependencyId = getValidString(dependencyObject, "id");
-                    boolean isMandatory = true;
-                    if (dependencyObject.has("optional")
-                            && dependencyObject.get("optional").isJsonPrimitive()
-                            && dependencyObject.get("optional").getAsJsonPrimitive().isString()) {
-                        isMandatory = !dependencyObject.get("optional").getAsBoolean();
-                    }
-                    String[] versions = new String[]{"*"};
-
-                    if (dependencyObject.has("versions")) {
-                        JsonElement dependencyVersion = dependencyObject.get("versions");
-                        if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
-                            versions[0] = dependencyVersion.getAsString();
-                        } else if (dependencyVersion.isJsonArray()) {
-                            versions = StreamSupport.stream(dependencyVersion.getAsJsonArray().spliterator(), false)
-                                    .filter((el) -> el.isJsonPrimitive() && el.getAsJsonPrimitive().isString())
-                                    .map(JsonElement::getAsString)
-                                    .toArray(String[]::new);
-                        }
-                    }
-
-                    Optional<FabricVersionRange> fabricVersionRange = FabricVersionRange.parse(versions);
-                    dependencies.add(new StandardDependency<>(dependencyId, isMandatory, fabricVersionRange.orElse(null)));
-                }
-            }
-
-            List<Dependency> breaks = new ArrayList<>();
-            if (quiltLoader.has("breaks") && quiltLoader.get("breaks").isJsonArray()) {
-                for (JsonElement dependency : quiltLoader.getAsJsonArray("breaks")) {
-                    if (!dependency.isJsonObject()) continue;
-                    JsonObject dependencyObject = dependency.getAsJsonObject();
-                    String dependencyId = getValidString(dependencyObject, "id");
-                    boolean isMandatory = true;
-                    String[] versions = new String[]{"*"};
-
-                    if (dependencyObject.has("versions")) {
-                        JsonElement dependencyVersion = dependencyObject.get("versions");
-                        if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
-                            versions[0] = dependencyVersion.getAsString();
-                        } else if (dependencyVersion.isJsonArray()) {
-                            versions = StreamSupport.stream(dependencyVersion.getAsJsonArray().spliterator(), false)
-                                    .filter((el) -> el.isJsonPrimitive() && el.getAsJsonPrimitive().isString())
-                                    .map(JsonElement::getAsString)
-                                    .toArray(String[]::new);
-                        }
-                    }
-
-                    Optional<FabricVersionRange> fabricVersionRange = FabricVersionRange.parse(versions);
-                    breaks.add(new StandardDependency<>(dependencyId, isMandatory, fabricVersionRange.orElse(null)));
-                }
-            }
-
-            List<ProvidedMod<LooseSemanticVersion>> provides = new ArrayList<>();
-            if (quiltLoader.has("provides") && quiltLoader.get("provides").isJsonArray()) {
-                for (JsonElement dependency : quiltLoader.getAsJsonArray("provides")) {
-                    if (!dependency.isJsonObject()) continue;
-                    JsonObject dependencyObject = dependency.getAsJsonObject();
-                    String dependencyId = getValidString(dependencyObject, "id");
-                    String providedVersion = version;
-
-                    if (dependencyObject.has("versions")) {
-                        JsonElement dependencyVersion = dependencyObject.get("versions");
-                        if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
-                            providedVersion = dependencyVersion.getAsString();
-                        }
-                    }
-
-                    Optional<LooseSemanticVersion> semVer = LooseSemanticVersion.parse(providedVersion);
-                    provides.add(new ProvidedMod<>(dependencyId, semVer.orElse(null)));
-                }
-            }
-
-            Optional<LooseSemanticVersion> semanticVersion = LooseSemanticVersion.parse(version, false);
-            return new BasicModInfo[]{
-                    new FabricModInfo(modId, name,
-                            semanticVersion.orElse(null),
-                            description, dependencies, iconPath, this,
-                            breaks, provides
-                    )
-            };
+        protected BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException {
+            return JsonModInfoParsers.parseQuilt(fileData, this, options);
         }
 
         @Override
@@ -344,17 +183,208 @@ public enum Platform {
      */
     @NotNull
     public BasicModInfo[] parse(String toParse) {
+        return parse(toParse, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a string into a {@link BasicModInfo}. The other fields are skipped while parsing
+     * and left empty, see {@link ParseOptions}.
+     *
+     * @param toParse The string to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the input string is null.
+     * @throws ModInfoParseException    If an error occurs while parsing the mod info file.
+     * @see Platform#parse(String)
+     */
+    @NotNull
+    public BasicModInfo[] parse(String toParse, ParseOptions options) {
         if (toParse == null) {
             throw new IllegalArgumentException("Input string cannot be null");
         }
 
         try {
-            return parseFileData(toParse);
+            return parseFileData(new StringReader(toParse), options);
         } catch (Exception e) {
             throw new ModInfoParseException("Error parsing the mod info from the given string.", e);
         }
     }
 
+    /**
+     * Parses the text of a reader into a {@link BasicModInfo}, without reading it into a string first.
+     * The reader is not closed.
+     *
+     * @param reader The reader to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the reader is null.
+     * @throws ModInfoParseException    If an error occurs while reading or parsing the mod info file.
+     * @see Platform#parse(String)
+     */
+    @NotNull
+    public BasicModInfo[] parse(Reader reader) {
+        return parse(reader, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields from the text of a reader, see {@link Platform#parse(String, ParseOptions)}.
+     * The reader is not closed.
+     *
+     * @param reader  The reader to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the reader is null.
+     * @throws ModInfoParseException    If an error occurs while reading or parsing the mod info file.
+     */
+    @NotNull
+    public BasicModInfo[] parse(Reader reader, ParseOptions options) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Input reader cannot be null");
+        }
+
+        try {
+            return parseFileData(reader, options);
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the mod info from the given reader.", e);
+        }
+    }
+
+    /**
+     * Parses the content of a stream into a {@link BasicModInfo}. The content is decoded as UTF-8,
+     * unless it starts with a UTF-16 byte order mark. The stream is not closed.
+     *
+     * @param in The stream to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the stream is null.
+     * @throws ModInfoParseException    If an error occurs while reading or parsing the mod info file.
+     * @see Platform#parse(String)
+     */
+    @NotNull
+    public BasicModInfo[] parse(InputStream in) {
+        return parse(in, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields from the content of a stream, see {@link Platform#parse(String, ParseOptions)}
+     * and {@link Platform#parse(InputStream)}. The stream is not closed.
+     *
+     * @param in      The stream to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the stream is null.
+     * @throws ModInfoParseException    If an error occurs while reading or parsing the mod info file.
+     */
+    @NotNull
+    public BasicModInfo[] parse(InputStream in, ParseOptions options) {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream cannot be null");
+        }
+
+        try {
+            return parseFileData(ParserUtils.createTextReader(in), options);
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the mod info from the given stream.", e);
+        }
+    }
+
+    /**
+     * Parses the remaining bytes of a buffer into a {@link BasicModInfo}. The content is decoded as UTF-8,
+     * unless it starts with a UTF-16 byte order mark. The position of the buffer is left untouched.
+     *
+     * @param data The bytes to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the buffer is null.
+     * @throws ModInfoParseException    If an error occurs while parsing the mod info file.
+     * @see Platform#parse(String)
+     */
+    @NotNull
+    public BasicModInfo[] parse(ByteBuffer data) {
+        return parse(data, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields from the remaining bytes of a buffer, see {@link Platform#parse(String, ParseOptions)}
+     * and {@link Platform#parse(ByteBuffer)}. The position of the buffer is left untouched.
+     *
+     * @param data    The bytes to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return An array of {@link BasicModInfo} objects containing mod information. Each object represents one specified mod namespace in the modinfo file.
+     * @throws IllegalArgumentException If the buffer is null.
+     * @throws ModInfoParseException    If an error occurs while parsing the mod info file.
+     */
+    @NotNull
+    public BasicModInfo[] parse(ByteBuffer data, ParseOptions options) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input buffer cannot be null");
+        }
+
+        try {
+            return parseFileData(ParserUtils.createTextReader(data), options);
+        } catch (Exception e) {
+            throw new ModInfoParseException("Error parsing the mod info from the given buffer.", e);
+        }
+    }
+
+    /**
+     * Parses a string like {@link Platform#parse(String)}, but returns a diagnostic instead of throwing
+     * if the string is not a valid info file.
+     *
+     * @param toParse The string to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @return The parsed infos, or a diagnostic describing why they couldn't be parsed.
+     * @throws IllegalArgumentException If the input string is null.
+     */
+    @NotNull
+    public ParseResult<BasicModInfo[]> tryParse(String toParse) {
+        return tryParse(toParse, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a string like {@link Platform#parse(String, ParseOptions)}, but returns
+     * a diagnostic instead of throwing if the string is not a valid info file.
+     *
+     * @param toParse The string to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return The parsed infos, or a diagnostic describing why they couldn't be parsed.
+     * @throws IllegalArgumentException If the input string is null.
+     */
+    @NotNull
+    public ParseResult<BasicModInfo[]> tryParse(String toParse, ParseOptions options) {
+        if (toParse == null) {
+            throw new IllegalArgumentException("Input string cannot be null");
+        }
+
+        return tryParse(new StringReader(toParse), options, null);
+    }
+
+    /**
+     * Parses the requested fields from the text of a reader like {@link Platform#parse(Reader, ParseOptions)}, but
+     * returns a diagnostic instead of throwing if the text is not a valid info file or can't be read.
+     * The reader is not closed.
+     *
+     * @param reader  The reader to parse, expected to be in the format of the specific platform (JSON, TOML, etc.).
+     * @param options The fields to parse.
+     * @return The parsed infos, or a diagnostic describing why they couldn't be parsed.
+     * @throws IllegalArgumentException If the reader is null.
+     */
+    @NotNull
+    public ParseResult<BasicModInfo[]> tryParse(Reader reader, ParseOptions options) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Input reader cannot be null");
+        }
+
+        return tryParse(reader, options, null);
+    }
+
+    private ParseResult<BasicModInfo[]> tryParse(Reader reader, ParseOptions options, @Nullable String entryPath) {
+        try {
+            return ParseResult.success(parseFileData(reader, options));
+        } catch (IOException e) {
+            // the parsers report syntax errors as ModInfoParseException, so this is the reader failing
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.READ_FAILED, entryPath, e));
+        } catch (RuntimeException e) {
+            return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.MALFORMED, entryPath, e));
+        }
+    }
+
 
     /**
      * Reads and returns the content of the platform-specific info file (e.g. {@code mcmod.info}, {@code mods.toml}, etc.) from a zip archive.
@@ -369,15 +399,99 @@ public enum Platform {
         for (String infoFilePath : this.infoFilePaths) {
             IZipEntry infoFileEntry = zip.findEntry(infoFilePath);
             if (infoFileEntry == null) continue;
-            try (InputStream entry = zip.openEntry(infoFileEntry)) {
-                if(entry == null) return Optional.empty();
-                return Optional.of(readEverythingAsString(entry));
+            return Optional.ofNullable(readEntryAsString(zip, infoFileEntry));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Reads and returns the content of the platform-specific info file, using entries that were already looked up
+     * by {@link MetadataFiles#probe(IZipFile)} instead of searching the archive again.
+     *
+     * @param zip   The {@link IZipFile} the probe was made on.
+     * @param probe The result of probing the archive for its metadata files.
+     * @return The content of the first matching info file as a string, or {@link Optional#empty()} if none are found.
+     * @throws IOException If an error occurs while reading the zip file or its entries.
+     */
+    @NotNull
+    public Optional<String> getInfoFileContent(IZipFile zip, ZipProbeResult probe) throws IOException {
+        for (String infoFilePath : this.infoFilePaths) {
+            IZipEntry infoFileEntry = probe.getEntry(infoFilePath);
+            if (infoFileEntry == null) continue;
+            return Optional.ofNullable(readEntryAsString(zip, infoFileEntry));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Parses the platform-specific info file straight from the archive, using entries that were already looked up
+     * by {@link MetadataFiles#probe(IZipFile)}. Unlike {@link Platform#getInfoFileContent(IZipFile, ZipProbeResult)}
+     * the file is never held in memory as a whole string.
+     *
+     * @param zip   The {@link IZipFile} the probe was made on.
+     * @param probe The result of probing the archive for its metadata files.
+     * @return The parsed content of the first matching info file, or {@link Optional#empty()} if none are found.
+     * @throws IOException           If an error occurs while opening the info file.
+     * @throws ModInfoParseException If an error occurs while reading or parsing the info file.
+     */
+    @NotNull
+    public Optional<BasicModInfo[]> parseInfoFile(IZipFile zip, ZipProbeResult probe) throws IOException {
+        return parseInfoFile(zip, probe, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of the platform-specific info file straight from the archive,
+     * see {@link Platform#parseInfoFile(IZipFile, ZipProbeResult)} and {@link ParseOptions}.
+     *
+     * @param zip     The {@link IZipFile} the probe was made on.
+     * @param probe   The result of probing the archive for its metadata files.
+     * @param options The fields to parse.
+     * @return The parsed content of the first matching info file, or {@link Optional#empty()} if none are found.
+     * @throws IOException           If an error occurs while opening the info file.
+     * @throws ModInfoParseException If an error occurs while reading or parsing the info file.
+     */
+    @NotNull
+    public Optional<BasicModInfo[]> parseInfoFile(IZipFile zip, ZipProbeResult probe, ParseOptions options) throws IOException {
+        for (String infoFilePath : this.infoFilePaths) {
+            IZipEntry infoFileEntry = probe.getEntry(infoFilePath);
+            if (infoFileEntry == null) continue;
+            try (Reader reader = openEntryReader(zip, infoFileEntry)) {
+                if (reader == null) return Optional.empty();
+                return Optional.of(parse(reader, options));
             }
         }
 
         return Optional.empty();
     }
 
+    /**
+     * Parses the requested fields of the platform-specific info file straight from the archive like
+     * {@link Platform#parseInfoFile(IZipFile, ZipProbeResult, ParseOptions)}, but returns a diagnostic naming the entry
+     * instead of throwing if it can't be read or parsed.
+     *
+     * @param zip     The {@link IZipFile} the probe was made on.
+     * @param probe   The result of probing the archive for its metadata files.
+     * @param options The fields to parse.
+     * @return The parsed content of the first matching info file, no infos if none are found, or a diagnostic.
+     */
+    @NotNull
+    public ParseResult<BasicModInfo[]> tryParseInfoFile(IZipFile zip, ZipProbeResult probe, ParseOptions options) {
+        for (String infoFilePath : this.infoFilePaths) {
+            IZipEntry infoFileEntry = probe.getEntry(infoFilePath);
+            if (infoFileEntry == null) continue;
+            try (Reader reader = openEntryReader(zip, infoFileEntry)) {
+                if (reader == null) break;
+                return tryParse(reader, options, infoFileEntry.getName());
+            } catch (IOException e) {
+                return ParseResult.failure(ParseDiagnostic.of(ParseDiagnostic.Code.READ_FAILED, infoFileEntry.getName(), e));
+            }
+        }
+
+        return ParseResult.success(StandardBasicModInfo.emptyArray());
+    }
+
     /**
      * Creates a {@link BasicModInfo} for the current loader, which is useful for dependency checking.
      * It may return {@link Optional#empty()} if the loader does not usually require to be defined as a dependency, like in case of {@link Platform#FORGE_LEGACY}
@@ -392,11 +506,12 @@ public enum Platform {
     /**
      * Internal method for parsing file data that should be implemented. Does not include safety checks like {@link Platform#parse(String)}
      *
-     * @param fileData The data that was written into the mod info file
+     * @param fileData A reader over the data that was written into the mod info file
+     * @param options  The fields to parse, others should be skipped
      * @return The parsed data
      */
     @NotNull
-    protected abstract BasicModInfo[] parseFileData(String fileData);
+    protected abstract BasicModInfo[] parseFileData(Reader fileData, ParseOptions options) throws IOException;
 
     /**
      * Internal method for creating a {@link BasicModInfo} object with loader info.
@@ -407,6 +522,20 @@ public enum Platform {
     @Nullable
     protected abstract BasicModInfo createNullableLoaderInfo(String loaderVersion);
 
+    /**
+     * Finds the mod platform(s) and JIJ-Platforms of a mod archive by reading only its central directory.
+     * Unlike {@link Platform#findModPlatform(File)} this never opens the archive as a whole, it usually takes
+     * a single positional read of the end of the file, which makes it cheap on slow or network-mounted storage.
+     *
+     * @param path The mod file, which must be a zip archive (e.g., .jar, .zip) or a similar format.
+     * @return The platforms found in the file.
+     * @throws IOException If the file is not a valid zip archive or an I/O error occurs while reading the file.
+     */
+    @NotNull
+    public static PlatformProbe probe(Path path) throws IOException {
+        return new PlatformProbe(ZipTailReader.probe(path, MetadataFiles.PATHS));
+    }
+
     /**
      * Finds the mod platform(s) (e.g. Forge, Fabric) by inspecting the files inside the provided mod archive.
      * A mod can support multiple platforms, so this method can return multiple platforms.
@@ -435,11 +564,21 @@ public enum Platform {
      * @throws IOException If an I/O error occurs while reading the file.
      */
     public static Platform[] findModPlatform(IZipFile zip) throws IOException {
+        return findModPlatform(MetadataFiles.probe(zip));
+    }
+
+    /**
+     * Finds the mod platform(s) (e.g. Forge, Fabric) from the metadata files found by {@link MetadataFiles#probe(IZipFile)}.
+     *
+     * @param probe The result of probing the mod archive for its metadata files
+     * @return An array of {@link Platform} values representing the platforms found in the file.
+     */
+    @NotNull
+    public static Platform[] findModPlatform(ZipProbeResult probe) {
         List<Platform> platforms = new ArrayList<>();
         for (Platform platform : Platform.values()) {
             for (String infoFilePath : platform.infoFilePaths) {
-                IZipEntry infoFileEntry = zip.findEntry(infoFilePath);
-                if (infoFileEntry == null) continue;
+                if (!probe.contains(infoFilePath)) continue;
                 platforms.add(platform);
                 break;
             }
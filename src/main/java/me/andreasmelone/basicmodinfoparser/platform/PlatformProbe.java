@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.platform;
+
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The platforms of a mod archive, as found by {@link Platform#probe(Path)} from its central directory alone.
+ */
+public class PlatformProbe {
+    private final Platform[] platforms;
+    private final JarInJarPlatform[] jarInJarPlatforms;
+    private final ZipProbeResult entries;
+
+    PlatformProbe(ZipProbeResult entries) {
+        this.platforms = Platform.findModPlatform(entries);
+        this.jarInJarPlatforms = JarInJarPlatform.findJarInJarPlatforms(entries);
+        this.entries = entries;
+    }
+
+    /**
+     * @return the platforms the mod targets, like {@link Platform#findModPlatform(ZipProbeResult)}
+     */
+    @NotNull
+    public Platform[] getPlatforms() {
+        return platforms.clone();
+    }
+
+    /**
+     * @return the JIJ-Platforms of the mod, like {@link JarInJarPlatform#findJarInJarPlatforms(ZipProbeResult)}
+     */
+    @NotNull
+    public JarInJarPlatform[] getJarInJarPlatforms() {
+        return jarInJarPlatforms.clone();
+    }
+
+    /**
+     * @param platform the platform to check
+     * @return whether the mod targets the platform
+     */
+    public boolean hasPlatform(Platform platform) {
+        for (Platform p : platforms) {
+            if (p == platform) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the metadata entries that were found, including their sizes and checksums
+     */
+    @NotNull
+    public ZipProbeResult getEntries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return "PlatformProbe{" +
+                "platforms=" + Arrays.toString(platforms) +
+                ", jarInJarPlatforms=" + Arrays.toString(jarInJarPlatforms) +
+                '}';
+    }
+}
@@ -24,20 +24,50 @@
 package me.andreasmelone.basicmodinfoparser.platform.dependency.fabric;
 
 import me.andreasmelone.basicmodinfoparser.platform.dependency.version.VersionRange;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * A range of fabric versions, any of the lists of conditions must all match for a version to be in it.
+ * <p>
+ * Unless a condition has a version with wildcards, the conditions are compiled into a {@link VersionIntervalSet} once,
+ * so checking a version without wildcards is a binary search over the intervals.
+ */
 public class FabricVersionRange implements VersionRange<LooseSemanticVersion> {
     private static final Pattern MODIFIER_REGEX = Pattern.compile("^(>=|<=|>|<|=|\\^|~)(.+)$", Pattern.MULTILINE);
 
     private final String stringRepresentation;
     private final List<List<VersionCondition>> conditions;
+    /**
+     * The versions in this range, or {@code null} if a condition has wildcards
+     */
+    @Nullable
+    private final VersionIntervalSet intervals;
 
     public FabricVersionRange(String stringRepresentation, List<List<VersionCondition>> conditions) {
         this.stringRepresentation = stringRepresentation;
         this.conditions = conditions;
+        this.intervals = compile(conditions);
+    }
+
+    @Nullable
+    private static VersionIntervalSet compile(List<List<VersionCondition>> conditions) {
+        if (conditions.isEmpty()) return VersionIntervalSet.ALL;
+
+        VersionIntervalSet range = VersionIntervalSet.EMPTY;
+        for (List<VersionCondition> condition : conditions) {
+            VersionIntervalSet matching = VersionIntervalSet.ALL;
+            for (VersionCondition versionCondition : condition) {
+                VersionIntervalSet intervals = versionCondition.toIntervals();
+                if (intervals == null) return null;
+                matching = matching.intersect(intervals);
+            }
+            range = range.union(matching);
+        }
+        return range;
     }
 
     @Override
@@ -47,6 +77,7 @@ public class FabricVersionRange implements VersionRange<LooseSemanticVersion> {
 
     @Override
     public boolean contains(LooseSemanticVersion version) {
+        if (intervals != null && version.getWildcardMask() == 0) return intervals.contains(version);
         if (conditions.isEmpty()) return true;
 
         for (List<VersionCondition> condition : conditions) {
@@ -67,6 +98,15 @@ public class FabricVersionRange implements VersionRange<LooseSemanticVersion> {
         return true;
     }
 
+    /**
+     * The compiled form of this range, which can be intersected with others or checked for being empty.
+     *
+     * @return the versions without wildcards in this range, or {@link Optional#empty()} if a condition has wildcards
+     */
+    public Optional<VersionIntervalSet> getIntervals() {
+        return Optional.ofNullable(intervals);
+    }
+
     public Optional<FabricVersionRange> optional() {
         return Optional.of(this);
     }
@@ -121,10 +161,27 @@ public class FabricVersionRange implements VersionRange<LooseSemanticVersion> {
     public static class VersionCondition {
         private final List<Operator> operators;
         private final LooseSemanticVersion version;
+        /**
+         * The version a caret or tilde range ends before, or {@code null} if there is no such operator
+         */
+        @Nullable
+        private final LooseSemanticVersion upperBound;
 
         public VersionCondition(List<Operator> operators, LooseSemanticVersion version) {
             this.operators = operators;
             this.version = version;
+            this.upperBound = upperBound(operators, version);
+        }
+
+        @Nullable
+        private static LooseSemanticVersion upperBound(List<Operator> operators, LooseSemanticVersion version) {
+            for (Operator operator : operators) {
+                if (operator == Operator.CARET || (operator == Operator.TILDE && version.isWildcard(1))) {
+                    return version.increaseMajor(1);
+                }
+                if (operator == Operator.TILDE) return version.increaseMinor(1);
+            }
+            return null;
         }
 
         public LooseSemanticVersion getVersion() {
@@ -167,25 +224,34 @@ public class FabricVersionRange implements VersionRange<LooseSemanticVersion> {
                     return true;
                 }
 
-                if (operator == Operator.CARET || (operator == Operator.TILDE && this.version.getWildcardPositions().contains(1))) {
+                if (operator == Operator.CARET || operator == Operator.TILDE) {
                     boolean isAboveLower = this.version.compareTo(version) <= 0;
-
-                    LooseSemanticVersion upperBound = this.version.increaseMajor(1);
                     boolean isBelowUpper = version.compareTo(upperBound) < 0;
 
                     return isAboveLower && isBelowUpper;
                 }
+            }
+            return false;
+        }
 
-                if (operator == Operator.TILDE) {
-                    boolean isAboveLower = this.version.compareTo(version) <= 0;
-
-                    LooseSemanticVersion upperBound = this.version.increaseMinor(1);
-                    boolean isBelowUpper = version.compareTo(upperBound) < 0;
+        /**
+         * @return the versions this condition matches, or {@code null} if its version has wildcards
+         */
+        @Nullable
+        VersionIntervalSet toIntervals() {
+            if (version.getWildcardMask() != 0) return null;
 
-                    return isAboveLower && isBelowUpper;
+            VersionIntervalSet intervals = VersionIntervalSet.EMPTY;
+            for (Operator operator : operators) {
+                if (operator == Operator.GREATER) intervals = intervals.union(VersionIntervalSet.greaterThan(version));
+                if (operator == Operator.EQUALS) intervals = intervals.union(VersionIntervalSet.exactly(version));
+                if (operator == Operator.LESSER) intervals = intervals.union(VersionIntervalSet.lessThan(version));
+                // like in matches, the first caret or tilde decides
+                if (operator == Operator.CARET || operator == Operator.TILDE) {
+                    return intervals.union(VersionIntervalSet.between(version, upperBound));
                 }
             }
-            return false;
+            return intervals;
         }
     }
 
@@ -24,44 +24,161 @@
 package me.andreasmelone.basicmodinfoparser.platform.dependency.fabric;
 
 import me.andreasmelone.basicmodinfoparser.platform.dependency.version.Version;
+import me.andreasmelone.basicmodinfoparser.util.InternPool;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Represents a looser version of the SemVer 2.0, which is accepted by fabric
+ * <p>
+ * Wildcards are kept as a bit mask over the version parts, so comparing versions never allocates. Only the first
+ * {@value #MAX_WILDCARD_POSITIONS} parts can be wildcards, versions with a wildcard further back are not parsed.
+ * <p>
+ * Versions are immutable, {@link LooseSemanticVersion#parse(String, boolean)} returns the same instance for the same
+ * string as long as it is in the pool.
+ * <p>
+ * Each version keeps sort keys, the parts packed two to a {@code long} and the pre-release suffix and number packed into
+ * one, so versions without wildcards are compared as arrays. Only suffixes that aren't numbers of up to 18 digits are
+ * compared as strings when their keys are equal.
  */
 public class LooseSemanticVersion implements Version<LooseSemanticVersion> {
-    private static final Pattern ALPHANUMERIC = Pattern.compile("[a-zA-Z0-9_\\-.+*]+");
-    private static final Pattern REGEX = Pattern.compile("^([0-9xX*]+(?:\\.[0-9xX*]+)*)(-.*?)?(\\+.+)?$", Pattern.MULTILINE);
+    public static final int MAX_WILDCARD_POSITIONS = Long.SIZE;
+
+    /**
+     * The versions parsed last, by their string, with and without wildcards
+     */
+    private static final InternPool<Optional<LooseSemanticVersion>> POOL = new InternPool<>(4096);
+    private static final InternPool<Optional<LooseSemanticVersion>> WILDCARD_POOL = new InternPool<>(4096);
 
     private final String stringRepresentation;
     private final int[] versionParts;
-    private final List<Integer> wildcardPositions;
+    private final long wildcardMask;
     private final String preReleaseSuffix;
     private final Integer preReleaseNumber;
     private final String buildMetadata;
     private final boolean usesWildcards;
+    /**
+     * Whether the pre-release suffix is made of digits only, numeric suffixes are ordered before the others
+     */
+    private final boolean numericSuffix;
+    private final int hash;
+    /**
+     * The parts as unsigned pairs of biased ints without trailing zeros, shorter keys are padded with {@link #ZERO_PARTS}
+     */
+    private final long[] partKey;
+    /**
+     * Whether there is a suffix, then whether there is a pre-release number, then the kind and value of the suffix
+     */
+    private final long suffixKey;
+
+    private static final long ZERO_PARTS = pack(0, 0);
+    /**
+     * Sorts after any suffix, versions without one are equal no matter their pre-release number
+     */
+    private static final long NO_SUFFIX = Long.MAX_VALUE;
+    private static final long HAS_NUMBER = 1L << 62;
+    private static final long TEXT_SUFFIX = 1L << 61;
+    /**
+     * Above any number of 18 digits, numeric suffixes with more are compared by their digits
+     */
+    private static final long LONG_DIGITS = (1L << 60) - 1;
 
     public LooseSemanticVersion(String stringRepresentation, int[] versionParts, List<Integer> wildcardPositions, String preReleaseSuffix, Integer preReleaseNumber, String buildMetadata, boolean usesWildcards) {
+        this(stringRepresentation, versionParts, toMask(wildcardPositions), preReleaseSuffix, preReleaseNumber, buildMetadata, usesWildcards);
+    }
+
+    /**
+     * @param wildcardMask the parts that are wildcards, bit {@code i} standing for the part at index {@code i}
+     */
+    public LooseSemanticVersion(String stringRepresentation, int[] versionParts, long wildcardMask, String preReleaseSuffix, Integer preReleaseNumber, String buildMetadata, boolean usesWildcards) {
         this.stringRepresentation = stringRepresentation;
         this.versionParts = versionParts;
-        this.wildcardPositions = wildcardPositions;
+        this.wildcardMask = usesWildcards ? wildcardMask : 0;
         this.preReleaseSuffix = preReleaseSuffix;
         this.preReleaseNumber = preReleaseNumber;
         this.buildMetadata = buildMetadata;
         this.usesWildcards = usesWildcards;
+        this.numericSuffix = isNumeric(preReleaseSuffix);
+        this.hash = Objects.hash(Arrays.hashCode(versionParts), this.wildcardMask, preReleaseSuffix, preReleaseNumber, buildMetadata, usesWildcards);
+        this.partKey = partKey(versionParts);
+        this.suffixKey = suffixKey(preReleaseSuffix, preReleaseNumber, numericSuffix);
+    }
+
+    private static long[] partKey(int[] versionParts) {
+        int length = versionParts.length;
+        while (length > 0 && versionParts[length - 1] == 0) length--;
+
+        long[] key = new long[(length + 1) / 2];
+        for (int i = 0; i < key.length; i++) {
+            int second = 2 * i + 1;
+            key[i] = pack(versionParts[2 * i], second < length ? versionParts[second] : 0);
+        }
+        return key;
+    }
+
+    /**
+     * Packs two parts so that the signed order of the result is the signed order of the first, then of the second part.
+     */
+    private static long pack(int first, int second) {
+        long unsigned = (long) (first ^ Integer.MIN_VALUE) << 32 | (second ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        return unsigned ^ Long.MIN_VALUE;
+    }
+
+    private static long suffixKey(String preReleaseSuffix, Integer preReleaseNumber, boolean numericSuffix) {
+        if (isNull(preReleaseSuffix)) return NO_SUFFIX;
+
+        long key = preReleaseNumber != null ? HAS_NUMBER : 0;
+        // numeric suffixes come before all others
+        if (!numericSuffix) return key | TEXT_SUFFIX;
+
+        int start = 0;
+        while (start < preReleaseSuffix.length() - 1 && preReleaseSuffix.charAt(start) == '0') start++;
+        if (preReleaseSuffix.length() - start > 18) return key | LONG_DIGITS;
+        return key | Long.parseLong(preReleaseSuffix.substring(start));
+    }
+
+    private static long toMask(List<Integer> wildcardPositions) {
+        long mask = 0;
+        for (int position : wildcardPositions) {
+            if (position < 0 || position >= MAX_WILDCARD_POSITIONS) {
+                throw new IllegalArgumentException("Wildcard position " + position + " is not between 0 and " + (MAX_WILDCARD_POSITIONS - 1));
+            }
+            mask |= 1L << position;
+        }
+        return mask;
     }
 
     public int[] getVersionParts() {
         return versionParts.clone();
     }
 
+    /**
+     * Lists the wildcard positions, prefer {@link LooseSemanticVersion#isWildcard(int)} where a single position is needed.
+     *
+     * @return the indices of the parts that are wildcards, in ascending order
+     */
     public List<Integer> getWildcardPositions() {
-        if (!usesWildcards) return new ArrayList<>();
-        return new ArrayList<>(wildcardPositions);
+        List<Integer> positions = new ArrayList<>(Long.bitCount(wildcardMask));
+        for (long mask = wildcardMask; mask != 0; mask &= mask - 1) {
+            positions.add(Long.numberOfTrailingZeros(mask));
+        }
+        return positions;
+    }
+
+    /**
+     * @return the parts that are wildcards, bit {@code i} standing for the part at index {@code i}
+     */
+    public long getWildcardMask() {
+        return wildcardMask;
+    }
+
+    /**
+     * @param index the index of a version part
+     * @return whether the part is a wildcard
+     */
+    public boolean isWildcard(int index) {
+        return index >= 0 && index < MAX_WILDCARD_POSITIONS && (wildcardMask & 1L << index) != 0;
     }
 
     public String getPreReleaseSuffix() {
@@ -80,20 +197,34 @@ public class LooseSemanticVersion implements Version<LooseSemanticVersion> {
         return usesWildcards;
     }
 
+    /**
+     * Increases a part like semantic versioning does for a release, the parts after it are reset to zero and the
+     * pre-release suffix and build metadata are dropped. Wildcards stay wildcards, a wildcard part isn't increased.
+     */
     private LooseSemanticVersion increasePart(int index, int amount) {
         int defaultLength = index + 1;
         int newLength = versionParts.length > index ? versionParts.length : defaultLength;
         int newAmount = versionParts.length > index ? versionParts[index] : amount;
 
-        if (usesWildcards && !wildcardPositions.contains(index)) {
+        if (versionParts.length > index && !isWildcard(index)) {
             newAmount += amount;
         }
 
         int[] newVersionParts = new int[newLength];
-        System.arraycopy(versionParts, 0, newVersionParts, 0, Math.min(versionParts.length, newLength));
+        System.arraycopy(versionParts, 0, newVersionParts, 0, index);
         newVersionParts[index] = newAmount;
 
-        return new LooseSemanticVersion(stringRepresentation, newVersionParts, wildcardPositions, preReleaseSuffix, preReleaseNumber, buildMetadata, usesWildcards);
+        StringBuilder newStringRepresentation = new StringBuilder();
+        for (int i = 0; i < newLength; i++) {
+            if (i > 0) newStringRepresentation.append('.');
+            if (isWildcard(i)) {
+                newStringRepresentation.append('x');
+            } else {
+                newStringRepresentation.append(newVersionParts[i]);
+            }
+        }
+
+        return new LooseSemanticVersion(newStringRepresentation.toString(), newVersionParts, wildcardMask, null, null, null, usesWildcards);
     }
 
     public LooseSemanticVersion increaseMajor(int amount) {
@@ -110,32 +241,45 @@ public class LooseSemanticVersion implements Version<LooseSemanticVersion> {
 
     @Override
     public int compareTo(@NotNull LooseSemanticVersion other) {
-        int suffixless = partComparison(other);
-
-        if (isNull(preReleaseSuffix) && isNull(other.preReleaseSuffix)) {
-            return suffixless;
-        } else if (suffixless == 0) {
-            if (isNull(preReleaseSuffix)) return 1;
-            if (isNull(other.preReleaseSuffix)) return -1;
-
-            int suffix = suffixComparison(other);
-
-            if (this.preReleaseNumber == null && other.preReleaseNumber != null) return -1;
-            if (this.preReleaseNumber != null && other.preReleaseNumber == null) return 1;
-            if (this.preReleaseNumber != null && other.preReleaseNumber != null && suffix == 0)
-                return Integer.compare(this.preReleaseNumber, other.preReleaseNumber);
-            return suffix;
+        // wildcards match any part of the other version, so they can't be part of a key
+        int suffixless = (this.wildcardMask | other.wildcardMask) == 0 ? keyComparison(other) : partComparison(other);
+        if (suffixless != 0) return suffixless;
+
+        if (this.suffixKey != other.suffixKey) return this.suffixKey < other.suffixKey ? -1 : 1;
+        if (this.suffixKey == NO_SUFFIX) return 0;
+
+        // the keys only leave suffixes of the same kind and pre-release numbers to compare
+        int suffix = 0;
+        if (!this.numericSuffix) {
+            suffix = this.preReleaseSuffix.compareTo(other.preReleaseSuffix);
+        } else if ((this.suffixKey & LONG_DIGITS) == LONG_DIGITS) {
+            suffix = compareDigits(this.preReleaseSuffix, other.preReleaseSuffix);
         }
+        if (suffix != 0 || this.preReleaseNumber == null) return suffix;
+        return Integer.compare(this.preReleaseNumber, other.preReleaseNumber);
+    }
 
-        return suffixless;
+    private int keyComparison(LooseSemanticVersion other) {
+        long[] thisKey = this.partKey;
+        long[] otherKey = other.partKey;
+        int maxLength = Math.max(thisKey.length, otherKey.length);
+        for (int i = 0; i < maxLength; i++) {
+            long thisPart = i < thisKey.length ? thisKey[i] : ZERO_PARTS;
+            long otherPart = i < otherKey.length ? otherKey[i] : ZERO_PARTS;
+            if (thisPart != otherPart) return thisPart < otherPart ? -1 : 1;
+        }
+        return 0;
     }
 
+    /**
+     * Compares part by part, skipping the parts that are wildcards in either version.
+     */
     private int partComparison(LooseSemanticVersion other) {
         int maxLength = Math.max(this.versionParts.length, other.versionParts.length);
+        long wildcards = this.wildcardMask | other.wildcardMask;
 
         for (int i = 0; i < maxLength; i++) {
-
-            if ((usesWildcards && wildcardPositions.contains(i)) || other.usesWildcards && other.wildcardPositions.contains(i)) {
+            if (i < MAX_WILDCARD_POSITIONS && (wildcards & 1L << i) != 0) {
                 if (i == this.versionParts.length - 1 || i == other.versionParts.length - 1) {
                     break;
                 }
@@ -152,31 +296,33 @@ public class LooseSemanticVersion implements Version<LooseSemanticVersion> {
         return 0;
     }
 
-    private int suffixComparison(LooseSemanticVersion other) {
-        int partComparison = partComparison(other);
-        if (partComparison != 0) return partComparison;
-
-        boolean isThisNumeric = isNumeric(this.preReleaseSuffix);
-        boolean isOtherNumeric = isNumeric(other.preReleaseSuffix);
-
-        if (isThisNumeric && isOtherNumeric) {
-            return Integer.compare(Integer.parseInt(this.preReleaseSuffix), Integer.parseInt(other.preReleaseSuffix));
-        } else if (!isThisNumeric && !isOtherNumeric) {
-            return this.preReleaseSuffix.compareTo(other.preReleaseSuffix);
+    /**
+     * Compares two strings of digits by their value, however long they are.
+     */
+    private static int compareDigits(String a, String b) {
+        int aStart = 0;
+        while (aStart < a.length() - 1 && a.charAt(aStart) == '0') aStart++;
+        int bStart = 0;
+        while (bStart < b.length() - 1 && b.charAt(bStart) == '0') bStart++;
+
+        int lengths = Integer.compare(a.length() - aStart, b.length() - bStart);
+        if (lengths != 0) return lengths;
+        for (int i = 0; i < a.length() - aStart; i++) {
+            int digits = Character.compare(a.charAt(aStart + i), b.charAt(bStart + i));
+            if (digits != 0) return digits < 0 ? -1 : 1;
         }
-
-        return isThisNumeric ? -1 : 1;
+        return 0;
     }
 
-    private boolean isNumeric(String string) {
+    private static boolean isNumeric(String string) {
         if (isNull(string)) return false;
-        for (char c : string.toCharArray()) {
-            if (!Character.isDigit(c)) return false;
+        for (int i = 0; i < string.length(); i++) {
+            if (!isDigit(string.charAt(i))) return false;
         }
         return true;
     }
 
-    private boolean isNull(String str) {
+    private static boolean isNull(String str) {
         return str == null || str.isEmpty();
     }
 
@@ -187,76 +333,153 @@ public class LooseSemanticVersion implements Version<LooseSemanticVersion> {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         LooseSemanticVersion that = (LooseSemanticVersion) o;
-        return usesWildcards == that.usesWildcards && Objects.deepEquals(versionParts, that.versionParts) && Objects.equals(wildcardPositions, that.wildcardPositions) && Objects.equals(preReleaseSuffix, that.preReleaseSuffix) && Objects.equals(preReleaseNumber, that.preReleaseNumber) && Objects.equals(buildMetadata, that.buildMetadata);
+        return hash == that.hash && usesWildcards == that.usesWildcards && wildcardMask == that.wildcardMask && Arrays.equals(versionParts, that.versionParts) && Objects.equals(preReleaseSuffix, that.preReleaseSuffix) && Objects.equals(preReleaseNumber, that.preReleaseNumber) && Objects.equals(buildMetadata, that.buildMetadata);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.hashCode(versionParts), wildcardPositions, preReleaseSuffix, preReleaseNumber, buildMetadata, usesWildcards);
+        return hash;
+    }
+
+    /**
+     * @return a hash code that is the same for versions that compare as equal, like {@code 1.0} and {@code 1.0.0},
+     * which {@link LooseSemanticVersion#hashCode()} isn't
+     */
+    int compareHash() {
+        // wildcards are left out of the keys, the suffixes they leave undecided compare the same
+        return 31 * Arrays.hashCode(partKey) + Long.hashCode(suffixKey);
     }
 
     public static Optional<LooseSemanticVersion> parse(String ver) {
         return parse(ver, false);
     }
 
+    /**
+     * Parses a version in a single pass over its characters. It starts with parts made of digits, or of a single
+     * {@code x}, {@code X} or {@code *} if wildcards are allowed, separated by dots. It may be followed by a pre-release
+     * suffix after a {@code -}, which ends with a number if its last dot is followed by one, and build metadata after
+     * a {@code +}.
+     * <p>
+     * Versions that were parsed recently are shared instead of being parsed again.
+     *
+     * @param ver       the version to parse
+     * @param wildcards whether parts may be wildcards
+     * @return the version, or {@link Optional#empty()} if it is not a valid version
+     */
     public static Optional<LooseSemanticVersion> parse(String ver, boolean wildcards) {
-        if (ver == null || ver.isEmpty() || !ALPHANUMERIC.matcher(ver).matches()) return Optional.empty();
-
-        Matcher matcher = REGEX.matcher(ver);
-        if (!matcher.matches()) return Optional.empty();
-        String numbers = matcher.group(1);
-        String prerelease = matcher.group(2);
-        String metadata = matcher.group(3);
+        if (ver == null || ver.isEmpty()) return Optional.empty();
+        if (wildcards) return WILDCARD_POOL.intern(ver, v -> scan(v, true));
+        return POOL.intern(ver, v -> scan(v, false));
+    }
 
-        if (prerelease != null && !prerelease.isEmpty()) {
-            prerelease = prerelease.substring(1);
+    private static Optional<LooseSemanticVersion> scan(String ver, boolean wildcards) {
+        int length = ver.length();
+        int partCount = 1;
+        int numbersEnd = 0;
+        for (; numbersEnd < length; numbersEnd++) {
+            char c = ver.charAt(numbersEnd);
+            if (c == '.') partCount++;
+            else if (!isDigit(c) && !isWildcard(c)) break;
         }
-
-        if (metadata != null && !metadata.isEmpty()) {
-            metadata = metadata.substring(1);
+        for (int i = numbersEnd; i < length; i++) {
+            if (!isVersionChar(ver.charAt(i))) return Optional.empty();
         }
 
-        String[] splitNumbers = numbers.split("\\.");
-        int[] versionInts = new int[splitNumbers.length];
-        List<Integer> wildcardPositions = new ArrayList<>();
-
-        for (int i = 0; i < splitNumbers.length; i++) {
-            String num = splitNumbers[i];
-            if (num.equalsIgnoreCase("x") || num.equals("*")) {
-                if (!wildcards) return Optional.empty();
-                versionInts[i] = 0;
-                wildcardPositions.add(i);
-                continue;
-            }
-            try {
-                versionInts[i] = Integer.parseUnsignedInt(num);
-            } catch (NumberFormatException ignored) {
-                return Optional.empty();
+        int[] versionInts = new int[partCount];
+        long wildcardMask = 0;
+        int partStart = 0;
+        for (int part = 0; part < partCount; part++) {
+            int partEnd = partStart;
+            while (partEnd < numbersEnd && ver.charAt(partEnd) != '.') partEnd++;
+            if (partEnd == partStart) return Optional.empty();
+
+            if (partEnd - partStart == 1 && isWildcard(ver.charAt(partStart))) {
+                if (!wildcards || part >= MAX_WILDCARD_POSITIONS) return Optional.empty();
+                wildcardMask |= 1L << part;
+            } else {
+                long value = 0;
+                for (int i = partStart; i < partEnd; i++) {
+                    char c = ver.charAt(i);
+                    if (!isDigit(c)) return Optional.empty();
+                    value = value * 10 + (c - '0');
+                    if (value > 0xFFFFFFFFL) return Optional.empty();
+                }
+                // like Integer.parseUnsignedInt, parts above Integer.MAX_VALUE wrap around
+                versionInts[part] = (int) value;
             }
+            partStart = partEnd + 1;
         }
 
+        String prerelease = null;
         Integer prereleaseNumber = null;
-        if (prerelease != null) {
-            String[] prereleaseSplit = prerelease.split("\\.", 2);
-            if (prereleaseSplit.length > 1) {
-                try {
-                    prereleaseNumber = Integer.parseInt(prereleaseSplit[1]);
-                    prerelease = prereleaseSplit[0];
-                } catch (NumberFormatException ignored) {
+        String metadata = null;
+        if (numbersEnd < length) {
+            int metadataStart = -1;
+            if (ver.charAt(numbersEnd) == '-') {
+                // the suffix ends at the first plus that is followed by anything, it may contain others
+                int prereleaseEnd = numbersEnd + 1;
+                while (prereleaseEnd < length && !(ver.charAt(prereleaseEnd) == '+' && prereleaseEnd + 1 < length)) {
+                    prereleaseEnd++;
                 }
+                if (prereleaseEnd < length) metadataStart = prereleaseEnd + 1;
+
+                int dot = ver.indexOf('.', numbersEnd + 1);
+                if (dot != -1 && dot < prereleaseEnd && isInt(ver, dot + 1, prereleaseEnd)) {
+                    prereleaseNumber = Integer.parseInt(ver.substring(dot + 1, prereleaseEnd));
+                    prerelease = ver.substring(numbersEnd + 1, dot);
+                } else {
+                    prerelease = ver.substring(numbersEnd + 1, prereleaseEnd);
+                }
+            } else if (ver.charAt(numbersEnd) == '+' && numbersEnd + 1 < length) {
+                metadataStart = numbersEnd + 1;
+            } else {
+                return Optional.empty();
             }
+            if (metadataStart != -1) metadata = ver.substring(metadataStart);
         }
 
         return new LooseSemanticVersion(
                 ver,
-                versionInts, wildcardPositions,
+                versionInts, wildcardMask,
                 prerelease,
                 prereleaseNumber,
                 metadata, wildcards).optional();
     }
 
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWildcard(char c) {
+        return c == 'x' || c == 'X' || c == '*';
+    }
+
+    private static boolean isVersionChar(char c) {
+        return isDigit(c) || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '-' || c == '.' || c == '+' || c == '*';
+    }
+
+    /**
+     * @return whether the characters are an optional sign and digits that fit into an int, like {@link Integer#parseInt(String)} accepts
+     */
+    private static boolean isInt(String text, int start, int end) {
+        boolean negative = start < end && text.charAt(start) == '-';
+        if (start < end && (negative || text.charAt(start) == '+')) start++;
+        if (start == end) return false;
+
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) return false;
+            value = value * 10 + (c - '0');
+            if (value > limit) return false;
+        }
+        return true;
+    }
+
     @Override
     public String getStringRepresentation() {
         return this.stringRepresentation;
@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.platform.dependency.fabric;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of versions as a sorted union of disjoint intervals, which is what a {@link FabricVersionRange} is compiled
+ * into when none of its versions have wildcards.
+ * <p>
+ * Each interval is half-open between two cuts. A cut lies either just before or just after all versions that compare
+ * equal to its version, so {@code >=1.0 <2.0}, {@code >1.0 <=2.0} and {@code =1.0} are all intervals from one cut to
+ * the next. Looking up a version is a binary search and never allocates. Only versions without wildcards can be looked
+ * up, as a wildcard compares equal to any part.
+ */
+public final class VersionIntervalSet {
+    private static final Cut BELOW_ALL = new Cut(null, false);
+    private static final Cut ABOVE_ALL = new Cut(null, true);
+
+    public static final VersionIntervalSet EMPTY = new VersionIntervalSet(new Cut[0], new Cut[0]);
+    public static final VersionIntervalSet ALL = new VersionIntervalSet(new Cut[]{BELOW_ALL}, new Cut[]{ABOVE_ALL});
+
+    /**
+     * The cuts the intervals start and end at, sorted, with no interval empty, overlapping or touching the next one
+     */
+    private final Cut[] lowers;
+    private final Cut[] uppers;
+
+    private VersionIntervalSet(Cut[] lowers, Cut[] uppers) {
+        this.lowers = lowers;
+        this.uppers = uppers;
+    }
+
+    /**
+     * @return the versions greater than {@code version}
+     */
+    public static VersionIntervalSet greaterThan(@NotNull LooseSemanticVersion version) {
+        return of(new Cut(checkVersion(version), true), ABOVE_ALL);
+    }
+
+    /**
+     * @return the versions less than {@code version}
+     */
+    public static VersionIntervalSet lessThan(@NotNull LooseSemanticVersion version) {
+        return of(BELOW_ALL, new Cut(checkVersion(version), false));
+    }
+
+    /**
+     * @return the versions equal to {@code version}
+     */
+    public static VersionIntervalSet exactly(@NotNull LooseSemanticVersion version) {
+        checkVersion(version);
+        return of(new Cut(version, false), new Cut(version, true));
+    }
+
+    /**
+     * @return the versions that are at least {@code lower} and less than {@code upper}
+     */
+    public static VersionIntervalSet between(@NotNull LooseSemanticVersion lower, @NotNull LooseSemanticVersion upper) {
+        return of(new Cut(checkVersion(lower), false), new Cut(checkVersion(upper), false));
+    }
+
+    private static LooseSemanticVersion checkVersion(LooseSemanticVersion version) {
+        if (version.getWildcardMask() != 0) throw new IllegalArgumentException("Version " + version + " has wildcards");
+        return version;
+    }
+
+    private static VersionIntervalSet of(Cut lower, Cut upper) {
+        if (compare(lower, upper) >= 0) return EMPTY;
+        return new VersionIntervalSet(new Cut[]{lower}, new Cut[]{upper});
+    }
+
+    /**
+     * @param version a version without wildcards
+     * @return whether the version is in one of the intervals
+     */
+    public boolean contains(@NotNull LooseSemanticVersion version) {
+        // the last interval starting at or below the version is the only one that can contain it
+        int low = 0;
+        int high = lowers.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (isBelow(version, lowers[mid])) {
+                high = mid - 1;
+            } else {
+                found = mid;
+                low = mid + 1;
+            }
+        }
+        return found != -1 && isBelow(version, uppers[found]);
+    }
+
+    /**
+     * @return whether there are no versions in this set
+     */
+    public boolean isEmpty() {
+        return lowers.length == 0;
+    }
+
+    /**
+     * @return the versions in both this and the other set
+     */
+    public VersionIntervalSet intersect(@NotNull VersionIntervalSet other) {
+        List<Cut> lowers = new ArrayList<>();
+        List<Cut> uppers = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < this.lowers.length && j < other.lowers.length) {
+            Cut lower = max(this.lowers[i], other.lowers[j]);
+            Cut upper;
+            if (compare(this.uppers[i], other.uppers[j]) <= 0) {
+                upper = this.uppers[i++];
+            } else {
+                upper = other.uppers[j++];
+            }
+
+            if (compare(lower, upper) < 0) {
+                lowers.add(lower);
+                uppers.add(upper);
+            }
+        }
+        return of(lowers, uppers);
+    }
+
+    /**
+     * @return the versions in this or the other set
+     */
+    public VersionIntervalSet union(@NotNull VersionIntervalSet other) {
+        if (this.isEmpty()) return other;
+        if (other.isEmpty()) return this;
+
+        List<Cut> lowers = new ArrayList<>();
+        List<Cut> uppers = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < this.lowers.length || j < other.lowers.length) {
+            Cut lower;
+            Cut upper;
+            if (j == other.lowers.length || i < this.lowers.length && compare(this.lowers[i], other.lowers[j]) <= 0) {
+                lower = this.lowers[i];
+                upper = this.uppers[i++];
+            } else {
+                lower = other.lowers[j];
+                upper = other.uppers[j++];
+            }
+
+            // intervals are taken by where they start, so each either extends the last one or starts after it
+            int last = uppers.size() - 1;
+            if (last >= 0 && compare(lower, uppers.get(last)) <= 0) {
+                uppers.set(last, max(uppers.get(last), upper));
+            } else {
+                lowers.add(lower);
+                uppers.add(upper);
+            }
+        }
+        return of(lowers, uppers);
+    }
+
+    private static VersionIntervalSet of(List<Cut> lowers, List<Cut> uppers) {
+        if (lowers.isEmpty()) return EMPTY;
+        return new VersionIntervalSet(lowers.toArray(new Cut[0]), uppers.toArray(new Cut[0]));
+    }
+
+    private static Cut max(Cut a, Cut b) {
+        return compare(a, b) >= 0 ? a : b;
+    }
+
+    private static int compare(Cut a, Cut b) {
+        if (a == b) return 0;
+        if (a == BELOW_ALL || b == ABOVE_ALL) return -1;
+        if (a == ABOVE_ALL || b == BELOW_ALL) return 1;
+
+        int cmp = a.version.compareTo(b.version);
+        if (cmp != 0) return cmp;
+        return Boolean.compare(a.after, b.after);
+    }
+
+    /**
+     * @return whether the version lies below the cut
+     */
+    private static boolean isBelow(LooseSemanticVersion version, Cut cut) {
+        if (cut == BELOW_ALL) return false;
+        if (cut == ABOVE_ALL) return true;
+
+        int cmp = version.compareTo(cut.version);
+        return cmp < 0 || cmp == 0 && cut.after;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lowers.length; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(lowers[i].after || lowers[i] == BELOW_ALL ? '(' : '[');
+            if (lowers[i] != BELOW_ALL) builder.append(lowers[i].version);
+            builder.append(',');
+            if (uppers[i] != ABOVE_ALL) builder.append(uppers[i].version);
+            builder.append(uppers[i].after && uppers[i] != ABOVE_ALL ? ']' : ')');
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        VersionIntervalSet that = (VersionIntervalSet) o;
+        if (lowers.length != that.lowers.length) return false;
+        for (int i = 0; i < lowers.length; i++) {
+            if (compare(lowers[i], that.lowers[i]) != 0 || compare(uppers[i], that.uppers[i]) != 0) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // versions that compare equal, like 1.0 and 1.0.0, may differ in every field but their sort keys
+        int hash = lowers.length;
+        for (int i = 0; i < lowers.length; i++) {
+            hash = 31 * hash + hash(lowers[i]);
+            hash = 31 * hash + hash(uppers[i]);
+        }
+        return hash;
+    }
+
+    private static int hash(Cut cut) {
+        if (cut == BELOW_ALL) return -1;
+        if (cut == ABOVE_ALL) return -2;
+        return 31 * cut.version.compareHash() + Boolean.hashCode(cut.after);
+    }
+
+    /**
+     * A point between versions, just before or just after the versions equal to its version, or before or after all
+     * versions if it has none.
+     */
+    private static final class Cut {
+        private final LooseSemanticVersion version;
+        private final boolean after;
+
+        Cut(LooseSemanticVersion version, boolean after) {
+            this.version = version;
+            this.after = after;
+        }
+    }
+}
@@ -24,32 +24,108 @@
 package me.andreasmelone.basicmodinfoparser.platform.dependency.forge;
 
 import me.andreasmelone.basicmodinfoparser.platform.dependency.version.Version;
+import me.andreasmelone.basicmodinfoparser.util.InternPool;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * This class partially implements mavens version format: <a href="https://maven.apache.org/ref/3.5.2/maven-artifact/apidocs/org/apache/maven/artifact/versioning/ComparableVersion.html">ComparableVersion</a>
  * <p>
  * The format is quite complex, so this is not a fully compliant implementation.
+ * <p>
+ * Versions are immutable, {@link MavenVersion#parse(String)} returns the same instance for the same string as long as
+ * it is in {@link MavenVersion#POOL}.
+ * <p>
+ * Each version keeps a sort key with a {@code long} per segment, so comparing two versions compares two arrays. Only
+ * string segments, which are compared ignoring case, are compared as strings when their keys are equal.
  */
 public class MavenVersion implements Version<MavenVersion> {
-    private static final Pattern ALPHANUMERIC = Pattern.compile("[a-zA-Z0-9_\\-.]+");
-    private static final Pattern STRING_PARSER = Pattern.compile("^(\\d*)?(\\D+)(\\d*)?$");
+    /**
+     * The versions parsed last, by their string
+     */
+    private static final InternPool<Optional<MavenVersion>> POOL = new InternPool<>(4096);
+
+    /**
+     * The key of a string segment, strings sort before qualifiers and qualifiers before numbers
+     */
+    private static final long STRING_KEY = 0;
+    private static final long QUALIFIER_KEY = 1L << 32;
+    private static final long NUMBER_KEY = 2L << 32;
 
     private final String stringRepresentation;
     private final VersionSegment[] versionSegments;
+    private final int hash;
+    /**
+     * A key per segment that sorts like the segments do, or {@code null} if there are segments of other types
+     */
+    private final long[] sortKey;
+    /**
+     * The string segments by their index, or {@code null} if there are none
+     */
+    private final String[] strings;
+    /**
+     * The index of the last number above zero, which decides whether trailing segments make a version greater
+     */
+    private final int lastPositive;
 
     public MavenVersion(String stringRepresentation, VersionSegment[] versionSegments) {
         this.stringRepresentation = stringRepresentation;
         this.versionSegments = versionSegments;
+        this.hash = Arrays.hashCode(versionSegments);
+
+        long[] sortKey = new long[versionSegments.length];
+        String[] strings = null;
+        int lastPositive = -1;
+        for (int i = 0; i < versionSegments.length; i++) {
+            VersionSegment segment = versionSegments[i];
+            if (segment.getClass() == VersionSegment.NumberVersionSegment.class) {
+                int number = ((VersionSegment.NumberVersionSegment) segment).getNumber();
+                // flipping the sign bit orders the numbers as signed ints, which is how their segments compare
+                sortKey[i] = NUMBER_KEY | (number ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+                if (number > 0) lastPositive = i;
+            } else if (segment.getClass() == VersionSegment.QualifierVersionSegment.class) {
+                sortKey[i] = QUALIFIER_KEY | ((VersionSegment.QualifierVersionSegment) segment).getQualifier().ordinal();
+            } else if (segment.getClass() == VersionSegment.StringVersionSegment.class) {
+                if (strings == null) strings = new String[versionSegments.length];
+                strings[i] = ((VersionSegment.StringVersionSegment) segment).getString();
+                sortKey[i] = STRING_KEY;
+            } else {
+                sortKey = null;
+                break;
+            }
+        }
+        this.sortKey = sortKey;
+        this.strings = strings;
+        this.lastPositive = lastPositive;
     }
 
     @Override
     public int compareTo(@NotNull MavenVersion other) {
+        if (this.sortKey == null || other.sortKey == null) return compareSegments(other);
+
+        long[] thisKey = this.sortKey;
+        long[] otherKey = other.sortKey;
+        int lowestAmount = Math.min(thisKey.length, otherKey.length);
+        for (int i = 0; i < lowestAmount; i++) {
+            if (thisKey[i] != otherKey[i]) return thisKey[i] < otherKey[i] ? -1 : 1;
+            if (thisKey[i] == STRING_KEY) {
+                int cmp = this.strings[i].compareToIgnoreCase(other.strings[i]);
+                if (cmp != 0) return cmp;
+            }
+        }
+
+        // only numbers are greater than zero, so the longer version is greater if any of its remaining ones is
+        if (thisKey.length > lowestAmount) return this.lastPositive >= lowestAmount ? 1 : 0;
+        if (otherKey.length > lowestAmount) return other.lastPositive >= lowestAmount ? -1 : 0;
+        return 0;
+    }
+
+    /**
+     * Compares segment by segment, for versions with segments the sort key doesn't know.
+     */
+    private int compareSegments(MavenVersion other) {
         int lowestAmount = Math.min(this.versionSegments.length, other.versionSegments.length);
         for (int i = 0; i < lowestAmount; i++) {
             int cmp = this.versionSegments[i].compareTo(other.versionSegments[i]);
@@ -71,49 +147,108 @@ public class MavenVersion implements Version<MavenVersion> {
         return 0;
     }
 
+    /**
+     * Parses a version in a single pass over its characters. Segments are separated by dots and hyphens, a segment
+     * is either a number, or a qualifier or string that may be preceded and followed by a number, like {@code rc1}.
+     * Other segments and numbers that don't fit into 32 bits are skipped.
+     * <p>
+     * Versions that were parsed recently are shared instead of being parsed again.
+     *
+     * @param version the version to parse
+     * @return the version, or {@link Optional#empty()} if it is empty or contains characters other than letters,
+     * digits, {@code _}, {@code -} and {@code .}
+     */
     public static Optional<MavenVersion> parse(String version) {
-        if (version == null || version.isEmpty() || !ALPHANUMERIC.matcher(version).matches()) return Optional.empty();
-
-        List<VersionSegment> segments = new ArrayList<>();
-
-        String noHyphens = version.replace("-", ".");
-        String[] splitByDot = noHyphens.split("\\.");
-        for (String segment : splitByDot) {
-            Matcher matcher = STRING_PARSER.matcher(segment);
-            if (matcher.matches()) {
-                String firstNumber = matcher.group(1);
-                String string = matcher.group(2);
-                String secondNumber = matcher.group(3);
-
-                if (firstNumber != null && !firstNumber.isEmpty()) {
-                    try {
-                        segments.add(new VersionSegment.NumberVersionSegment(Integer.parseUnsignedInt(firstNumber)));
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
-                if (string != null && !string.isEmpty()) {
-                    VersionSegment.QualifierVersionSegment.Qualifier qualifier = VersionSegment.QualifierVersionSegment.Qualifier.getByName(string);
-                    if (qualifier == null) {
-                        segments.add(new VersionSegment.StringVersionSegment(string));
-                    } else {
-                        segments.add(new VersionSegment.QualifierVersionSegment(qualifier));
-                    }
-                }
-                if (secondNumber != null && !secondNumber.isEmpty()) {
-                    try {
-                        segments.add(new VersionSegment.NumberVersionSegment(Integer.parseUnsignedInt(secondNumber)));
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
-            } else {
-                try {
-                    segments.add(new VersionSegment.NumberVersionSegment(Integer.parseUnsignedInt(segment)));
-                } catch (NumberFormatException ignored) {
+        if (version == null || version.isEmpty()) return Optional.empty();
+        return POOL.intern(version, MavenVersion::scan);
+    }
+
+    /**
+     * Parses a non-empty version like {@link MavenVersion#parse(String)}, without going through the pool.
+     */
+    static Optional<MavenVersion> scan(String version) {
+        int length = version.length();
+        // a segment never takes less than a character
+        VersionSegment[] segments = new VersionSegment[length];
+        int count = 0;
+        int pos = 0;
+        while (pos <= length) {
+            int start = pos;
+            int firstDigits = start;
+            while (firstDigits < length && isDigit(version.charAt(firstDigits))) firstDigits++;
+            int letters = firstDigits;
+            while (letters < length && isLetter(version.charAt(letters))) letters++;
+            int secondDigits = letters;
+            while (secondDigits < length && isDigit(version.charAt(secondDigits))) secondDigits++;
+            int end = secondDigits;
+            while (end < length && isSegmentChar(version.charAt(end))) end++;
+            if (end < length && !isSeparator(version.charAt(end))) return Optional.empty();
+            pos = end + 1;
+
+            if (letters == firstDigits) {
+                // only a segment of digits is a number, anything else without letters is skipped
+                if (end == firstDigits && firstDigits > start) {
+                    VersionSegment number = parseNumber(version, start, firstDigits);
+                    if (number != null) segments[count++] = number;
                 }
+                continue;
             }
+            // digits, letters and digits, in that order, make up the whole segment or none of it is used
+            if (end != secondDigits) continue;
+
+            VersionSegment first = parseNumber(version, start, firstDigits);
+            if (first != null) segments[count++] = first;
+            segments[count++] = parseQualifier(version, firstDigits, letters);
+            VersionSegment second = parseNumber(version, letters, secondDigits);
+            if (second != null) segments[count++] = second;
         }
 
-        return Optional.of(new MavenVersion(version, segments.toArray(new VersionSegment[0])));
+        if (count < segments.length) segments = Arrays.copyOf(segments, count);
+        return Optional.of(new MavenVersion(version, segments));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_';
+    }
+
+    private static boolean isSegmentChar(char c) {
+        return isDigit(c) || isLetter(c);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-';
+    }
+
+    /**
+     * @return the number, or {@code null} if there are no digits or it doesn't fit into an unsigned int
+     */
+    @Nullable
+    private static VersionSegment parseNumber(String version, int start, int end) {
+        if (start == end) return null;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (version.charAt(i) - '0');
+            if (value > 0xFFFFFFFFL) return null;
+        }
+        // like Integer.parseUnsignedInt, numbers above Integer.MAX_VALUE wrap around
+        return VersionSegment.NumberVersionSegment.of((int) value);
+    }
+
+    private static VersionSegment parseQualifier(String version, int start, int end) {
+        VersionSegment.QualifierVersionSegment.Qualifier qualifier = VersionSegment.QualifierVersionSegment.Qualifier.getByName(version, start, end);
+        if (qualifier == null) return new VersionSegment.StringVersionSegment(version.substring(start, end));
+        return VersionSegment.QualifierVersionSegment.of(qualifier);
+    }
+
+    /**
+     * @return the segments of this version, in order
+     */
+    public VersionSegment[] getVersionSegments() {
+        return versionSegments.clone();
     }
 
     @Override
@@ -123,6 +258,7 @@ public class MavenVersion implements Version<MavenVersion> {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         MavenVersion that = (MavenVersion) o;
         return Objects.deepEquals(versionSegments, that.versionSegments);
@@ -130,7 +266,7 @@ public class MavenVersion implements Version<MavenVersion> {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(versionSegments);
+        return hash;
     }
 
     @Override
@@ -157,7 +293,18 @@ public class MavenVersion implements Version<MavenVersion> {
         }
 
         class NumberVersionSegment implements VersionSegment {
-            public static final NumberVersionSegment ZERO = new NumberVersionSegment(0);
+            /**
+             * The segments of the numbers most versions are made of
+             */
+            private static final NumberVersionSegment[] SMALL = new NumberVersionSegment[256];
+            public static final NumberVersionSegment ZERO;
+
+            static {
+                for (int i = 0; i < SMALL.length; i++) {
+                    SMALL[i] = new NumberVersionSegment(i);
+                }
+                ZERO = SMALL[0];
+            }
 
             private final int number;
 
@@ -169,6 +316,14 @@ public class MavenVersion implements Version<MavenVersion> {
                 return number;
             }
 
+            /**
+             * @return a segment of the number, shared for small ones
+             */
+            public static NumberVersionSegment of(int number) {
+                if (number >= 0 && number < SMALL.length) return SMALL[number];
+                return new NumberVersionSegment(number);
+            }
+
             @Override
             public String toString() {
                 return number + "";
@@ -206,6 +361,13 @@ public class MavenVersion implements Version<MavenVersion> {
                 return qualifier;
             }
 
+            /**
+             * @return the segment of the qualifier, there is one for each
+             */
+            public static QualifierVersionSegment of(Qualifier qualifier) {
+                return qualifier.segment;
+            }
+
             @Override
             public String toString() {
                 return qualifier.name();
@@ -242,7 +404,10 @@ public class MavenVersion implements Version<MavenVersion> {
                 FINAL("ga", "final"),
                 SERVICE_PACK("sp");
 
+                private static final Qualifier[] VALUES = values();
+
                 private final String[] names;
+                private final QualifierVersionSegment segment = new QualifierVersionSegment(this);
 
                 Qualifier(String... names) {
                     this.names = names;
@@ -254,9 +419,23 @@ public class MavenVersion implements Version<MavenVersion> {
 
                 @Nullable
                 public static Qualifier getByName(String name) {
-                    for (Qualifier value : values()) {
+                    return getByName(name, 0, name.length());
+                }
+
+                /**
+                 * Looks up a qualifier by a part of a string, without copying it out.
+                 *
+                 * @param text  the string containing the name
+                 * @param start the index the name starts at
+                 * @param end   the index after the name
+                 * @return the qualifier, or {@code null} if the name is not one of a qualifier
+                 */
+                @Nullable
+                public static Qualifier getByName(String text, int start, int end) {
+                    int length = end - start;
+                    for (Qualifier value : VALUES) {
                         for (String n : value.names) {
-                            if (n.equalsIgnoreCase(name)) return value;
+                            if (n.length() == length && text.regionMatches(true, start, n, 0, length)) return value;
                         }
                     }
                     return null;
@@ -28,31 +28,60 @@ import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.ProvidedMod;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.version.Version;
+import me.andreasmelone.basicmodinfoparser.util.Lazy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class FabricModInfo extends StandardBasicModInfo implements BreaksList, ProvidesList<LooseSemanticVersion> {
-    private final List<Dependency> breaks;
-    private final List<ProvidedMod<LooseSemanticVersion>> provides;
+    private final Lazy<List<Dependency>> breaks;
+    private final Lazy<List<ProvidedMod<LooseSemanticVersion>>> provides;
 
     public FabricModInfo(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description, @Nullable List<Dependency> dependencies, @Nullable String iconPath, @NotNull Platform platform, @Nullable List<Dependency> breaks, @Nullable List<ProvidedMod<LooseSemanticVersion>> provides) {
         super(id, name, version, description, dependencies, iconPath, platform);
-        this.breaks = breaks != null ? new ArrayList<>(breaks) : null;
-        this.provides = provides != null ? new ArrayList<>(provides) : null;
+        this.breaks = Lazy.ofValue(breaks != null ? new ArrayList<>(breaks) : null);
+        this.provides = Lazy.ofValue(provides != null ? new ArrayList<>(provides) : null);
+    }
+
+    /**
+     * @param dependencies the dependencies, which may not have been parsed yet
+     * @param breaks       the incompatible mods, which may not have been parsed yet
+     * @param provides     the provided mods, which may not have been parsed yet
+     */
+    protected FabricModInfo(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description, @NotNull Lazy<List<Dependency>> dependencies, @Nullable String iconPath, @NotNull Platform platform, @NotNull Lazy<List<Dependency>> breaks, @NotNull Lazy<List<ProvidedMod<LooseSemanticVersion>>> provides) {
+        super(id, name, version, description, dependencies, iconPath, platform);
+        this.breaks = breaks;
+        this.provides = provides;
+    }
+
+    /**
+     * Creates a mod info whose dependencies, breaks and provides are each only parsed when they are first accessed.
+     * This is done only once, even if the info is shared between threads.
+     *
+     * @param dependencies parses the dependencies, it is called at most once
+     * @param breaks       parses the incompatible mods, it is called at most once
+     * @param provides     parses the provided mods, it is called at most once
+     * @return the created info
+     */
+    @NotNull
+    public static FabricModInfo createLazy(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description, @NotNull Supplier<List<Dependency>> dependencies, @Nullable String iconPath, @NotNull Platform platform, @NotNull Supplier<List<Dependency>> breaks, @NotNull Supplier<List<ProvidedMod<LooseSemanticVersion>>> provides) {
+        return new FabricModInfo(id, name, version, description, Lazy.of(dependencies), iconPath, platform, Lazy.of(breaks), Lazy.of(provides));
     }
 
     @Override
     public List<Dependency> getBreaks() {
+        List<Dependency> breaks = this.breaks.get();
         if (breaks == null) return null;
         return new ArrayList<>(breaks);
     }
 
     @Override
     public List<ProvidedMod<LooseSemanticVersion>> getProvidedIds() {
+        List<ProvidedMod<LooseSemanticVersion>> provides = this.provides.get();
         if (provides == null) return null;
         return new ArrayList<>(provides);
     }
@@ -65,8 +94,8 @@ public class FabricModInfo extends StandardBasicModInfo implements BreaksList, P
     @Override
     public String toString() {
         return "FabricModInfo{" +
-                "breaks=" + breaks +
-                ", provides=" + provides +
+                "breaks=" + breaks.get() +
+                ", provides=" + provides.get() +
                 '}';
     }
 
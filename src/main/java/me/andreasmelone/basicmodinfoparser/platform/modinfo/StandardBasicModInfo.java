@@ -27,33 +27,56 @@ import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
 import me.andreasmelone.basicmodinfoparser.platform.Platform;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.version.Version;
+import me.andreasmelone.basicmodinfoparser.util.Lazy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class StandardBasicModInfo implements BasicModInfo {
     private final String id;
     private final String name;
     private final Version<?> version;
     private final String description;
-    private final List<Dependency> dependencies;
+    private final Lazy<List<Dependency>> dependencies;
     private final String iconPath;
     private final Platform platform;
 
     public StandardBasicModInfo(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description,
                                 @Nullable List<Dependency> dependencies, @Nullable String iconPath, @NotNull Platform platform) {
+        this(id, name, version, description, Lazy.ofValue(dependencies != null ? new ArrayList<>(dependencies) : null), iconPath, platform);
+    }
+
+    /**
+     * @param dependencies the dependencies, which may not have been parsed yet
+     */
+    protected StandardBasicModInfo(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description,
+                                   @NotNull Lazy<List<Dependency>> dependencies, @Nullable String iconPath, @NotNull Platform platform) {
         this.id = id;
         this.name = name;
         this.version = version;
         this.description = description;
-        this.dependencies = dependencies != null ? new ArrayList<>(dependencies) : null;
+        this.dependencies = dependencies;
         this.iconPath = iconPath;
         this.platform = platform;
     }
 
+    /**
+     * Creates a mod info whose dependencies are only parsed on the first call of {@link StandardBasicModInfo#getDependencies()}.
+     * This is done only once, even if the info is shared between threads.
+     *
+     * @param dependencies parses the dependencies, it is called at most once
+     * @return the created info
+     */
+    @NotNull
+    public static StandardBasicModInfo createLazy(@Nullable String id, @Nullable String name, @Nullable Version<?> version, @Nullable String description,
+                                                  @NotNull Supplier<List<Dependency>> dependencies, @Nullable String iconPath, @NotNull Platform platform) {
+        return new StandardBasicModInfo(id, name, version, description, Lazy.of(dependencies), iconPath, platform);
+    }
+
     /**
      * The mod id, which is usually required to be ^[a-z][a-z0-9_]{1,63}$
      *
@@ -107,7 +130,7 @@ public class StandardBasicModInfo implements BasicModInfo {
     @Override
     @NotNull
     public List<Dependency> getDependencies() {
-        return new ArrayList<>(dependencies);
+        return new ArrayList<>(dependencies.get());
     }
 
     @Override
@@ -127,7 +150,7 @@ public class StandardBasicModInfo implements BasicModInfo {
                 ", name='" + name + '\'' +
                 ", version=" + version +
                 ", description='" + description + '\'' +
-                ", dependencies=" + dependencies +
+                ", dependencies=" + dependencies.get() +
                 ", iconPath='" + iconPath + '\'' +
                 ", platform=" + platform +
                 '}';
@@ -0,0 +1,463 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.scan;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A live view of the mods in a directory. The directory is scanned once when the repository is opened and watched
+ * for changes afterwards, and only the jars that were created, modified or deleted are read again.
+ * <p>
+ * Changes to a jar are only picked up once it was left alone for the debounce time, so a file that is still being
+ * copied is not read halfway. Every batch of changes is passed to the listeners as one {@link Delta}. The mods that
+ * were replaced or removed are closed after the listeners were notified, the others stay open until the repository
+ * is closed. Failures in the background are passed to {@link Listener#onError(Exception)}. Instances are thread-safe.
+ */
+public final class ModRepository implements AutoCloseable {
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    private final Path directory;
+    private final ModScanner scanner;
+    private final boolean ownsScanner;
+    private final long debounceNanos;
+    private final WatchService watchService;
+    private final Map<Path, Entry> mods = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread watcher;
+    private volatile boolean closed;
+
+    private ModRepository(Path directory, ModScanner scanner, boolean ownsScanner, long debounceMillis, WatchService watchService) {
+        this.directory = directory;
+        this.scanner = scanner;
+        this.ownsScanner = ownsScanner;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.watchService = watchService;
+        this.watcher = new Thread(this::watch, "ModRepository " + directory);
+        this.watcher.setDaemon(true);
+    }
+
+    /**
+     * @return all mods in the directory right now, ordered by their path
+     */
+    @NotNull
+    public Map<Path, ModFile> getModFiles() {
+        Map<Path, ModFile> modFiles = new TreeMap<>();
+        for (Map.Entry<Path, Entry> entry : mods.entrySet()) {
+            modFiles.put(entry.getKey(), entry.getValue().modFile);
+        }
+        return Collections.unmodifiableMap(modFiles);
+    }
+
+    /**
+     * @param path the path of the jar, either absolute or relative to the directory
+     * @return the mod, or {@code null} if there is no mod at the path
+     */
+    @Nullable
+    public ModFile getModFile(@NotNull Path path) {
+        Entry entry = mods.get(directory.resolve(path).normalize());
+        return entry == null ? null : entry.modFile;
+    }
+
+    /**
+     * @return the watched directory
+     */
+    @NotNull
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void addListener(@NotNull Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Compares the directory with the known mods right away, without waiting for the watch service. This is only
+     * needed when changes could have been missed, for example on file systems that can't be watched.
+     */
+    public void refresh() throws IOException {
+        Set<Path> paths = new TreeSet<>(mods.keySet());
+        paths.addAll(ModScanner.listJars(directory));
+        update(paths);
+    }
+
+    private void watch() {
+        Map<Path, Long> pending = new HashMap<>();
+        while (!closed) {
+            WatchKey key;
+            try {
+                if (pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    long wait = Collections.min(pending.values()) - System.nanoTime();
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.NANOSECONDS) : watchService.poll();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            if (key != null) {
+                Long deadline = System.nanoTime() + debounceNanos;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // events were lost, anything could have changed
+                        for (Path path : mods.keySet()) pending.put(path, deadline);
+                        try {
+                            for (Path path : ModScanner.listJars(directory)) pending.put(path, deadline);
+                        } catch (IOException e) {
+                            // the known mods are still checked
+                            reportError(e);
+                        }
+                        continue;
+                    }
+
+                    Path path = directory.resolve((Path) event.context());
+                    if (ModScanner.isJar(path)) pending.put(path, deadline);
+                }
+
+                if (!key.reset()) {
+                    // the directory itself is gone
+                    update(new TreeSet<>(mods.keySet()));
+                    return;
+                }
+            }
+
+            List<Path> due = new ArrayList<>();
+            long now = System.nanoTime();
+            for (Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<Path, Long> entry = iterator.next();
+                if (entry.getValue() - now > 0) continue;
+                due.add(entry.getKey());
+                iterator.remove();
+            }
+            if (!due.isEmpty()) {
+                Collections.sort(due);
+                update(due);
+            }
+        }
+    }
+
+    /**
+     * Reads the given jars again if they changed since they were last read, and notifies the listeners.
+     */
+    private synchronized void update(Collection<Path> paths) {
+        if (closed) return;
+
+        List<Path> changed = new ArrayList<>();
+        List<FileState> changedStates = new ArrayList<>();
+        Map<Path, ModFile> removed = new LinkedHashMap<>();
+        for (Path path : paths) {
+            FileState state = FileState.read(path);
+            Entry known = mods.get(path);
+            if (state == null) {
+                if (known != null) removed.put(path, known.modFile);
+            } else if (known == null || !known.state.equals(state)) {
+                changed.add(path);
+                changedStates.add(state);
+            }
+        }
+
+        Map<Path, ModFile> added = new LinkedHashMap<>();
+        Map<Path, ModFile> modified = new LinkedHashMap<>();
+        List<ModFile> replaced = new ArrayList<>();
+        List<ModFile> scanned = scanner.scanEach(changed);
+        for (int i = 0; i < changed.size(); i++) {
+            Path path = changed.get(i);
+            ModFile modFile = scanned.get(i);
+            Entry known = mods.get(path);
+            if (modFile == null) {
+                if (known != null) removed.put(path, known.modFile);
+                continue;
+            }
+
+            mods.put(path, new Entry(modFile, changedStates.get(i)));
+            if (known == null) {
+                added.put(path, modFile);
+            } else {
+                modified.put(path, modFile);
+                replaced.add(known.modFile);
+            }
+        }
+        for (Path path : removed.keySet()) mods.remove(path);
+        replaced.addAll(removed.values());
+
+        Delta delta = new Delta(added, modified, removed.keySet());
+        if (!delta.isEmpty()) {
+            for (Listener listener : listeners) {
+                try {
+                    listener.onUpdate(delta);
+                } catch (RuntimeException e) {
+                    reportError(e);
+                }
+            }
+        }
+        closeAll(replaced);
+    }
+
+    private void closeAll(Collection<ModFile> modFiles) {
+        for (ModFile modFile : modFiles) {
+            try {
+                modFile.close();
+            } catch (Exception e) {
+                reportError(e);
+            }
+        }
+    }
+
+    private void reportError(Exception exception) {
+        for (Listener listener : listeners) {
+            try {
+                listener.onError(exception);
+            } catch (RuntimeException ignored) {
+                // the listener failing to handle it leaves nothing else to report it to
+            }
+        }
+    }
+
+    /**
+     * Stops watching the directory and closes all mods, and the scanner if the repository created it.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+        if (Thread.currentThread() != watcher) {
+            try {
+                watcher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            List<ModFile> modFiles = new ArrayList<>();
+            for (Entry entry : mods.values()) modFiles.add(entry.modFile);
+            mods.clear();
+            closeAll(modFiles);
+        }
+        if (ownsScanner) scanner.close();
+    }
+
+    @Override
+    public String toString() {
+        return "ModRepository{" +
+                "directory=" + directory +
+                ", mods=" + mods.size() +
+                '}';
+    }
+
+    /**
+     * Opens a repository with a debounce time of 500ms, which scans on the common {@link java.util.concurrent.ForkJoinPool}
+     * with a scanner of its own that is closed with the repository.
+     *
+     * @param directory the directory to watch
+     * @return the repository, with the directory already scanned
+     * @throws IOException if the directory can't be listed or watched
+     */
+    public static ModRepository open(@NotNull Path directory) throws IOException {
+        return open(directory, ModScanner.create(), true, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * @param directory      the directory to watch
+     * @param scanner        the scanner reading the mods, it is not closed with the repository
+     * @param debounceMillis how long a jar has to be left alone before it is read
+     * @return the repository, with the directory already scanned
+     * @throws IOException if the directory can't be listed or watched
+     */
+    public static ModRepository open(@NotNull Path directory, @NotNull ModScanner scanner, long debounceMillis) throws IOException {
+        return open(directory, scanner, false, debounceMillis);
+    }
+
+    private static ModRepository open(Path directory, ModScanner scanner, boolean ownsScanner, long debounceMillis) throws IOException {
+        if (debounceMillis < 0) throw new IllegalArgumentException("debounceMillis must not be negative, was " + debounceMillis);
+        Path normalized = directory.toAbsolutePath().normalize();
+
+        WatchService watchService;
+        try {
+            watchService = normalized.getFileSystem().newWatchService();
+        } catch (IOException | RuntimeException e) {
+            if (ownsScanner) scanner.close();
+            throw e;
+        }
+        ModRepository repository = new ModRepository(normalized, scanner, ownsScanner, debounceMillis, watchService);
+        try {
+            // registered before the scan, changes during the scan are picked up afterwards
+            normalized.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            repository.update(ModScanner.listJars(normalized));
+        } catch (IOException | RuntimeException e) {
+            repository.close();
+            throw e;
+        }
+        repository.watcher.start();
+        return repository;
+    }
+
+    /**
+     * Receives the changes of a {@link ModRepository}. It is called on the thread watching the directory, the next
+     * changes are only read once it returns.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onUpdate(@NotNull Delta delta);
+
+        /**
+         * Called if the directory can't be listed after events were lost, a mod fails to close, or a listener throws.
+         * By default, the exception is ignored.
+         *
+         * @param exception what went wrong
+         */
+        default void onError(@NotNull Exception exception) {
+        }
+    }
+
+    /**
+     * The changes to the directory that were read in one go.
+     */
+    public static final class Delta {
+        private final Map<Path, ModFile> added;
+        private final Map<Path, ModFile> modified;
+        private final Set<Path> removed;
+
+        private Delta(Map<Path, ModFile> added, Map<Path, ModFile> modified, Set<Path> removed) {
+            this.added = Collections.unmodifiableMap(added);
+            this.modified = Collections.unmodifiableMap(modified);
+            this.removed = Collections.unmodifiableSet(removed);
+        }
+
+        /**
+         * @return the mods that are new in the directory
+         */
+        @NotNull
+        public Map<Path, ModFile> getAdded() {
+            return added;
+        }
+
+        /**
+         * @return the new mods of jars that were changed, the old ones are closed once all listeners returned
+         */
+        @NotNull
+        public Map<Path, ModFile> getModified() {
+            return modified;
+        }
+
+        /**
+         * @return the paths of jars that were deleted or can't be read anymore, their mods are closed once all
+         * listeners returned
+         */
+        @NotNull
+        public Set<Path> getRemoved() {
+            return removed;
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return "Delta{" +
+                    "added=" + added.keySet() +
+                    ", modified=" + modified.keySet() +
+                    ", removed=" + removed +
+                    '}';
+        }
+    }
+
+    private static final class Entry {
+        private final ModFile modFile;
+        private final FileState state;
+
+        Entry(ModFile modFile, FileState state) {
+            this.modFile = modFile;
+            this.state = state;
+        }
+    }
+
+    private static final class FileState {
+        private final long size;
+        private final long lastModified;
+
+        FileState(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        /**
+         * @return the state of the file, or {@code null} if it is not a regular file
+         */
+        @Nullable
+        static FileState read(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) return null;
+                return new FileState(attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || getClass() != o.getClass()) return false;
+            FileState that = (FileState) o;
+            return size == that.size && lastModified == that.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(size) + Long.hashCode(lastModified);
+        }
+    }
+}
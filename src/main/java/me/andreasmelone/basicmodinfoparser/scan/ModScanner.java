@@ -0,0 +1,407 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.scan;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.modfile.SharedContent;
+import me.andreasmelone.basicmodinfoparser.modfile.ZipFileModFile;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.zip.ZipException;
+
+/**
+ * Opens many mods at once and reads their infos and jar-in-jars in parallel.
+ * <p>
+ * Every mod is a task of its own, and so is every jar nested in it, at any depth. Tasks never wait for each other,
+ * so any executor works, but a work-stealing {@link ForkJoinPool} spreads the uneven trees of nested jars best.
+ * The mods are returned in the order they were given in, so a scan of the same files always gives the same result,
+ * and every one of them is fully initialized like after {@link ModFile#init()}. Closing them is up to the caller.
+ * <p>
+ * Mods scanned by the same scanner share identical nested jars and info files through a {@link SharedContent}, which
+ * is dropped when the scanner is closed.
+ */
+public final class ModScanner implements AutoCloseable {
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final SharedContent sharedContent = new SharedContent();
+
+    private ModScanner(Executor executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Scans all the jar files directly in a directory, ordered by their name.
+     *
+     * @param directory the directory, usually a mods folder
+     * @return the mods that could be opened
+     * @throws IOException if the directory can't be listed
+     */
+    @NotNull
+    public List<ModFile> scan(@NotNull Path directory) throws IOException {
+        return scan(listJars(directory));
+    }
+
+    /**
+     * Scans the given mod files. Files that can't be opened are skipped, and the problems found are only kept in the
+     * {@link ModFile#getDiagnostics() diagnostics} of the mods, see {@link ModScanner#scanWithDiagnostics(Collection)}.
+     *
+     * @param paths the mod files
+     * @return the mods that could be opened, in the order of the paths
+     */
+    @NotNull
+    public List<ModFile> scan(@NotNull Collection<Path> paths) {
+        List<ModFile> modFiles = new ArrayList<>(paths.size());
+        for (ModFile modFile : scanEach(paths)) {
+            if (modFile != null) modFiles.add(modFile);
+        }
+        return modFiles;
+    }
+
+    /**
+     * Scans all the jar files directly in a directory, ordered by their name, and collects the problems found.
+     *
+     * @param directory the directory, usually a mods folder
+     * @return the mods that could be opened and the problems found while reading them
+     * @throws IOException if the directory can't be listed
+     */
+    @NotNull
+    public ScanReport scanWithDiagnostics(@NotNull Path directory) throws IOException {
+        return scanWithDiagnostics(listJars(directory));
+    }
+
+    /**
+     * Scans the given mod files like {@link ModScanner#scan(Collection)}, and collects the problems found, including
+     * the files that can't be opened.
+     *
+     * @param paths the mod files
+     * @return the mods that could be opened and the problems found while reading them, in the order of the paths
+     */
+    @NotNull
+    public ScanReport scanWithDiagnostics(@NotNull Collection<Path> paths) {
+        Map<Path, Queue<ParseDiagnostic>> found = new ConcurrentHashMap<>();
+        ScanListener collector = new ScanListener() {
+            @Override
+            public void onDiagnostic(@NotNull Path path, @NotNull ParseDiagnostic diagnostic) {
+                found.computeIfAbsent(path, ignored -> new ConcurrentLinkedQueue<>()).add(diagnostic);
+            }
+        };
+
+        List<ModFile> modFiles = new ArrayList<>(paths.size());
+        for (ModFile modFile : scanEach(paths, collector)) {
+            if (modFile != null) modFiles.add(modFile);
+        }
+
+        Map<Path, List<ParseDiagnostic>> diagnostics = new LinkedHashMap<>();
+        for (Path path : paths) {
+            Queue<ParseDiagnostic> ofPath = found.get(path);
+            if (ofPath != null) diagnostics.put(path, Collections.unmodifiableList(new ArrayList<>(ofPath)));
+        }
+        return new ScanReport(modFiles, diagnostics);
+    }
+
+    /**
+     * Scans all the jar files directly in a directory and passes every mod to the listener as soon as it is read.
+     *
+     * @param directory the directory, usually a mods folder
+     * @param listener  the listener receiving the mods
+     * @return a future completing after {@link ScanListener#onComplete()} was called
+     * @throws IOException if the directory can't be listed
+     * @see ModScanner#scan(Collection, ScanListener)
+     */
+    @NotNull
+    public CompletableFuture<Void> scan(@NotNull Path directory, @NotNull ScanListener listener) throws IOException {
+        return scan(listJars(directory), listener);
+    }
+
+    /**
+     * Scans the given mod files and passes every mod to the listener as soon as it is read, instead of collecting them.
+     * The listener is called from the threads of the scanner, in the order the mods are done rather than the order of
+     * the paths, and takes over closing the mods. This method returns right away.
+     * <p>
+     * If the listener throws, the returned future completes with that exception, and the rest of the scan still
+     * runs to its end.
+     *
+     * @param paths    the mod files
+     * @param listener the listener receiving the mods
+     * @return a future completing after {@link ScanListener#onComplete()} was called
+     */
+    @NotNull
+    public CompletableFuture<Void> scan(@NotNull Collection<Path> paths, @NotNull ScanListener listener) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            // nothing keeps the mods once they were passed on
+            tasks.add(scan(path, null, () -> open(path, listener), listener).thenApply(modFile -> null));
+        }
+        return allOf(tasks).thenRun(listener::onComplete);
+    }
+
+    /**
+     * @return the mod of every path, or {@code null} where the file could not be opened
+     */
+    List<ModFile> scanEach(Collection<Path> paths) {
+        return scanEach(paths, ScanListener.NONE);
+    }
+
+    /**
+     * @param listener only receives the problems, the mods are collected from the tasks
+     * @return the mod of every path, or {@code null} where the file could not be opened
+     */
+    private List<ModFile> scanEach(Collection<Path> paths, ScanListener listener) {
+        List<CompletableFuture<ModFile>> tasks = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            tasks.add(scan(path, null, () -> open(path, listener), listener));
+        }
+
+        try {
+            allOf(tasks).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            closeAll(tasks, cause != null ? cause : e);
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+
+        List<ModFile> modFiles = new ArrayList<>(tasks.size());
+        for (CompletableFuture<ModFile> task : tasks) {
+            modFiles.add(task.join());
+        }
+        return modFiles;
+    }
+
+    /**
+     * @return the jar files directly in the directory, ordered by their name
+     */
+    static List<Path> listJars(Path directory) throws IOException {
+        List<Path> jars = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.jar")) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) jars.add(path);
+            }
+        }
+        Collections.sort(jars);
+        return jars;
+    }
+
+    static boolean isJar(Path path) {
+        return path.getFileName() != null && path.getFileName().toString().endsWith(".jar");
+    }
+
+    /**
+     * Opens and reads a mod in a task, and opens and reads its nested jars in tasks of their own.
+     *
+     * @param path   the path of the outermost jar
+     * @param parent the mod the jar is nested in, or {@code null} for the outermost jar
+     * @return the mod, once it and all of its nested jars are read
+     */
+    private CompletableFuture<ModFile> scan(Path path, ModFile parent, Supplier<ModFile> opener, ScanListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            ModFile modFile = opener.get();
+            if (modFile == null) return null;
+
+            readInfos(path, modFile, listener);
+            if (parent == null) {
+                listener.onModFile(path, modFile);
+            } else {
+                listener.onNestedJar(path, parent, modFile);
+            }
+            return modFile;
+        }, executor).thenCompose(modFile -> {
+            if (modFile == null) return CompletableFuture.completedFuture(null);
+
+            List<Supplier<ModFile>> openers = listJarInJars(modFile);
+            List<CompletableFuture<ModFile>> nested = new ArrayList<>(openers.size());
+            for (Supplier<ModFile> jarInJar : openers) {
+                nested.add(scan(path, modFile, jarInJar, listener));
+            }
+            return allOf(nested).thenApply(ignored -> {
+                readDiagnostics(path, modFile, listener);
+                return modFile;
+            });
+        });
+    }
+
+    /**
+     * @return an opener for every nested jar, the jars of archives are only inflated by the tasks running them
+     */
+    private static List<Supplier<ModFile>> listJarInJars(ModFile modFile) {
+        List<Supplier<ModFile>> openers = new ArrayList<>();
+        if (modFile instanceof ZipFileModFile) {
+            ZipFileModFile zipModFile = (ZipFileModFile) modFile;
+            for (String path : zipModFile.getJarInJarPaths()) {
+                openers.add(() -> zipModFile.getJarInJar(path));
+            }
+        } else {
+            for (ModFile jarInJar : modFile.getJarInJars()) {
+                openers.add(() -> jarInJar);
+            }
+        }
+        return openers;
+    }
+
+    private ModFile open(Path path, ScanListener listener) {
+        try {
+            return ModFile.create(path.toFile(), sharedContent);
+        } catch (IOException e) {
+            ParseDiagnostic.Code code = e instanceof ZipException ? ParseDiagnostic.Code.INVALID_ARCHIVE : ParseDiagnostic.Code.READ_FAILED;
+            listener.onDiagnostic(path, ParseDiagnostic.of(code, null, e));
+            return null;
+        }
+    }
+
+    private static void readInfos(Path path, ModFile modFile, ScanListener listener) {
+        try {
+            ParseResult<BasicModInfo[]> infos = modFile.tryGetInfo();
+            if (!infos.isSuccess()) listener.onDiagnostic(path, infos.getDiagnostic());
+        } catch (RuntimeException | Error e) {
+            close(modFile, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Reports the problems found with a mod once all of its nested jars were opened.
+     */
+    private static void readDiagnostics(Path path, ModFile modFile, ScanListener listener) {
+        try {
+            // the jars are all open already, this only collects them like init() would
+            modFile.getJarInJars();
+            for (ParseDiagnostic diagnostic : modFile.getDiagnostics()) {
+                listener.onDiagnostic(path, diagnostic);
+            }
+        } catch (RuntimeException | Error e) {
+            close(modFile, e);
+            throw e;
+        }
+    }
+
+    private static CompletableFuture<Void> allOf(List<? extends CompletableFuture<?>> tasks) {
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private static void closeAll(List<CompletableFuture<ModFile>> tasks, Throwable failure) {
+        for (CompletableFuture<ModFile> task : tasks) {
+            if (!task.isDone() || task.isCompletedExceptionally()) continue;
+            ModFile modFile = task.join();
+            if (modFile != null) close(modFile, failure);
+        }
+    }
+
+    /**
+     * Closes a mod because the scan failed, a failure to close it is added to the one of the scan.
+     */
+    private static void close(ModFile modFile, Throwable failure) {
+        try {
+            modFile.close();
+        } catch (Exception e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Drops the content shared between the scanned mods, and shuts down the pool of the scanner if it created one.
+     * Executors that were passed in are left alone, and so are the mods, which keep their nested jars until they are
+     * closed.
+     */
+    @Override
+    public void close() {
+        sharedContent.close();
+        if (ownsExecutor) ((ExecutorService) executor).shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "ModScanner{" +
+                "executor=" + executor +
+                ", sharedContent=" + sharedContent +
+                '}';
+    }
+
+    /**
+     * @return a scanner running on the common {@link ForkJoinPool}
+     */
+    public static ModScanner create() {
+        return new ModScanner(ForkJoinPool.commonPool(), false);
+    }
+
+    /**
+     * @param parallelism the number of threads to scan with
+     * @return a scanner with a work-stealing pool of its own, which is shut down by {@link ModScanner#close()}
+     */
+    public static ModScanner create(int parallelism) {
+        return new ModScanner(new ForkJoinPool(parallelism), true);
+    }
+
+    /**
+     * Creates a scanner starting a virtual thread for every mod and nested jar, so blocking IO of slow disks overlaps
+     * without tuning a pool size. Virtual threads need java 21, older runtimes get a scanner running on the common
+     * {@link ForkJoinPool} like {@link ModScanner#create()}.
+     *
+     * @return a scanner with an executor of its own, which is shut down by {@link ModScanner#close()}
+     * @see ModScanner#supportsVirtualThreads()
+     */
+    public static ModScanner createWithVirtualThreads() {
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+        if (executor == null) return create();
+        return new ModScanner(executor, true);
+    }
+
+    /**
+     * @return whether {@link ModScanner#createWithVirtualThreads()} uses virtual threads on this runtime
+     */
+    public static boolean supportsVirtualThreads() {
+        return VirtualThreads.isSupported();
+    }
+
+    /**
+     * @param executor the executor running the scan tasks
+     * @return a scanner running on the given executor
+     */
+    public static ModScanner create(@NotNull Executor executor) {
+        return new ModScanner(executor, false);
+    }
+}
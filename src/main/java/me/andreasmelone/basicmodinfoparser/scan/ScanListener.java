@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.scan;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Receives the results of a {@link ModScanner} while it is still scanning, see
+ * {@link ModScanner#scan(java.util.Collection, ScanListener)}. The methods may be called from several threads at once.
+ */
+public interface ScanListener {
+    /**
+     * Ignores everything, the mods are collected from the tasks of the scan.
+     */
+    ScanListener NONE = new ScanListener() {
+    };
+
+    /**
+     * Called once a mod was opened and its infos were read, before its nested jars are. The listener is responsible
+     * for closing it.
+     *
+     * @param path    the path of the mod
+     * @param modFile the mod
+     */
+    default void onModFile(@NotNull Path path, @NotNull ModFile modFile) {
+    }
+
+    /**
+     * Called once a nested jar was read, always after the jar it is nested in was passed to the listener.
+     *
+     * @param path     the path of the outermost jar
+     * @param parent   the mod the jar is nested in
+     * @param jarInJar the nested jar
+     */
+    default void onNestedJar(@NotNull Path path, @NotNull ModFile parent, @NotNull ModFile jarInJar) {
+    }
+
+    /**
+     * Called for every problem found while reading a mod or its nested jars, including mods that can't be opened and
+     * infos that can't be parsed. Mods that were opened are still passed to the listener. Diagnostics never fill stack
+     * traces, use {@link ParseDiagnostic#toException()} where an exception is needed. By default, they are ignored.
+     *
+     * @param path       the path of the outermost jar
+     * @param diagnostic what went wrong
+     */
+    default void onDiagnostic(@NotNull Path path, @NotNull ParseDiagnostic diagnostic) {
+    }
+
+    /**
+     * Called once after everything was scanned.
+     */
+    default void onComplete() {
+    }
+}
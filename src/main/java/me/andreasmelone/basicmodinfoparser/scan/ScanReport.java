@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.scan;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of {@link ModScanner#scanWithDiagnostics(java.util.Collection)}, the mods that could be opened and
+ * the problems found while reading them. Closing the mods is up to the caller.
+ */
+public final class ScanReport {
+    private final List<ModFile> modFiles;
+    private final Map<Path, List<ParseDiagnostic>> diagnostics;
+
+    ScanReport(List<ModFile> modFiles, Map<Path, List<ParseDiagnostic>> diagnostics) {
+        this.modFiles = Collections.unmodifiableList(modFiles);
+        this.diagnostics = Collections.unmodifiableMap(diagnostics);
+    }
+
+    /**
+     * @return the mods that could be opened, in the order of the paths
+     */
+    @NotNull
+    public List<ModFile> getModFiles() {
+        return modFiles;
+    }
+
+    /**
+     * @return the problems found in every mod that had any, including the ones in its nested jars, by the path of
+     * the outermost jar and in the order of the paths
+     */
+    @NotNull
+    public Map<Path, List<ParseDiagnostic>> getDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * @return all problems found, in the order of the paths
+     */
+    @NotNull
+    public List<ParseDiagnostic> getAllDiagnostics() {
+        List<ParseDiagnostic> all = new ArrayList<>();
+        for (List<ParseDiagnostic> ofPath : diagnostics.values()) {
+            all.addAll(ofPath);
+        }
+        return all;
+    }
+
+    /**
+     * @return whether every mod was read without problems
+     */
+    public boolean isClean() {
+        return diagnostics.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ScanReport{" +
+                "modFiles=" + modFiles +
+                ", diagnostics=" + diagnostics +
+                '}';
+    }
+}
@@ -29,11 +29,12 @@ import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
 import me.andreasmelone.basicmodinfoparser.platform.Platform;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.PresenceStatus;
-import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.scan.ModScanner;
+import me.andreasmelone.basicmodinfoparser.scan.ScanReport;
 import me.andreasmelone.basicmodinfoparser.util.Pair;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.*;
 
 // TODO clean this up and move all this garbage to Tests
@@ -42,25 +43,18 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         scanner.nextLine();
 
-        File[] currentFiles = new File(".").listFiles();
-        assert currentFiles != null;
         List<BasicModInfo> mods = new ArrayList<>();
 
         long startTime = System.currentTimeMillis();
-        List<ModFile> modFiles = new ArrayList<>();
-        Arrays.stream(currentFiles).forEach(file -> {
-            if (!file.isFile() || !file.getName().endsWith(".jar")) return;
-            try {
-                ModFile modFile = ModFile.create(file);
-                modFiles.add(modFile);
-                System.out.println("Loaded " + file);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            } catch (ModInfoParseException e) {
-                System.out.println("Failed to parse jarfile: " + file);
-                e.printStackTrace();
-            }
-        });
+        List<ModFile> modFiles;
+        try (ModScanner modScanner = ModScanner.create()) {
+            ScanReport report = modScanner.scanWithDiagnostics(Paths.get("."));
+            report.getDiagnostics().forEach((path, diagnostics) -> diagnostics.forEach(diagnostic -> System.err.println(path + ": " + diagnostic)));
+            modFiles = report.getModFiles();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        modFiles.forEach(modFile -> System.out.println("Loaded " + modFile));
         System.out.println("Collecting took " + (System.currentTimeMillis() - startTime) + "ms");
 
         startTime = System.currentTimeMillis();
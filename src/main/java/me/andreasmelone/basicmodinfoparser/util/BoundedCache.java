@@ -0,0 +1,147 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A concurrent map that drops its oldest values once their weights add up to more than a maximum, the storage of
+ * {@link ContentCache} and {@link InternPool}.
+ * <p>
+ * The insertion order is kept as the mappings themselves rather than their keys, so a key that was removed and added
+ * again is only evicted once, when its current mapping is the oldest.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class BoundedCache<K, V> {
+    private final long maxWeight;
+    private final @Nullable Consumer<? super V> onRemoval;
+    private final ConcurrentHashMap<K, Mapping<K, V>> mappings = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Mapping<K, V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong weight = new AtomicLong();
+
+    /**
+     * @param maxWeight the total weight of the values to keep at most
+     * @param onRemoval receives every value once it is dropped, or {@code null}
+     */
+    BoundedCache(long maxWeight, @Nullable Consumer<? super V> onRemoval) {
+        if (maxWeight < 1) throw new IllegalArgumentException("maxWeight must be positive, was " + maxWeight);
+        this.maxWeight = maxWeight;
+        this.onRemoval = onRemoval;
+    }
+
+    /**
+     * @return the value of the key, or {@code null} if there is none
+     */
+    @Nullable
+    V get(@NotNull K key) {
+        Mapping<K, V> mapping = mappings.get(key);
+        return mapping == null ? null : mapping.value;
+    }
+
+    /**
+     * Adds a value unless the key already has one, and drops the oldest values if the cache is full then.
+     *
+     * @param weight the weight of the value, at most the maximum weight of the cache
+     * @return the value the key already had, or {@code null} if the given one was added
+     */
+    @Nullable
+    V putIfAbsent(@NotNull K key, @NotNull V value, long weight) {
+        Mapping<K, V> mapping = new Mapping<>(key, value, weight);
+        Mapping<K, V> existing = mappings.putIfAbsent(key, mapping);
+        if (existing != null) return existing.value;
+
+        insertionOrder.add(mapping);
+        this.weight.addAndGet(weight);
+        while (this.weight.get() > maxWeight) {
+            Mapping<K, V> oldest = insertionOrder.poll();
+            if (oldest == null) break;
+            drop(oldest);
+        }
+        return null;
+    }
+
+    /**
+     * Drops the value of a key if it is still the given one.
+     */
+    void remove(@NotNull K key, @NotNull V value) {
+        Mapping<K, V> mapping = mappings.get(key);
+        if (mapping == null || mapping.value != value) return;
+        drop(mapping);
+        insertionOrder.remove(mapping);
+    }
+
+    private void drop(Mapping<K, V> mapping) {
+        if (!mappings.remove(mapping.key, mapping)) return;
+        weight.addAndGet(-mapping.weight);
+        if (onRemoval != null) onRemoval.accept(mapping.value);
+    }
+
+    /**
+     * @return the number of values
+     */
+    int size() {
+        return mappings.size();
+    }
+
+    /**
+     * @return the total weight of the values
+     */
+    long weight() {
+        return weight.get();
+    }
+
+    long maxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Drops every value.
+     */
+    void clear() {
+        Mapping<K, V> mapping;
+        while ((mapping = insertionOrder.poll()) != null) {
+            drop(mapping);
+        }
+    }
+
+    private static final class Mapping<K, V> {
+        private final K key;
+        private final V value;
+        private final long weight;
+
+        Mapping(K key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
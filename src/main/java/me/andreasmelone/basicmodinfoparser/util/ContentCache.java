@@ -0,0 +1,183 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * A bounded cache of values that are derived from the content of zip entries, keyed by the checksum, size and name
+ * of the entry as found in the central directory. Identical entries of different archives, like the same library
+ * nested in several mods, are thus loaded only once.
+ * <p>
+ * Concurrent lookups of the same key wait for a single load. Every value counts with the uncompressed size of its
+ * entry, once the sizes add up to more than the maximum the oldest values are dropped, and entries larger than the
+ * maximum are never cached. Cached values are shared, so they must not be modified.
+ *
+ * @param <V> the type of the cached values
+ */
+public final class ContentCache<V> {
+    private final BoundedCache<Key, CompletableFuture<V>> values;
+    private final @Nullable Consumer<? super V> onRemoval;
+
+    /**
+     * @param maxBytes the total size of the entries to keep values of at most
+     */
+    public ContentCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    /**
+     * @param maxBytes  the total size of the entries to keep values of at most
+     * @param onRemoval receives every loaded value, including {@code null}, once it is dropped from the cache or right
+     *                  away if it is not cached, to release what the cache held of it
+     */
+    public ContentCache(long maxBytes, @Nullable Consumer<? super V> onRemoval) {
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes must be positive, was " + maxBytes);
+        // a value still loading is passed on once it is there, a failed one is not passed on at all
+        this.values = new BoundedCache<>(maxBytes, onRemoval == null ? null : future -> future.thenAccept(onRemoval));
+        this.onRemoval = onRemoval;
+    }
+
+    /**
+     * Returns the cached value of an entry, or loads it. Entries with an unknown checksum or size, or that are larger
+     * than the cache, are never cached.
+     *
+     * @param crc    the CRC-32 of the entry
+     * @param size   the uncompressed size of the entry
+     * @param name   the name of the entry
+     * @param loader loads the value if it is not cached, if it fails nothing is cached
+     * @return the value, which may be {@code null} if the loader returned it
+     * @throws IOException if the loader fails
+     */
+    @Nullable
+    public V get(long crc, long size, @NotNull String name, @NotNull Loader<V> loader) throws IOException {
+        if (crc < 0 || size < 0 || size > values.maxWeight()) {
+            V value = loader.load();
+            // never cached, so dropped right away
+            if (onRemoval != null) onRemoval.accept(value);
+            return value;
+        }
+
+        Key key = new Key(crc, size, name);
+        CompletableFuture<V> future = values.get(key);
+        if (future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            // empty entries still take a slot
+            future = values.putIfAbsent(key, created, Math.max(size, 1));
+            if (future == null) return load(key, created, loader);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw new IOException(cause.getMessage(), cause);
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private V load(Key key, CompletableFuture<V> future, Loader<V> loader) throws IOException {
+        try {
+            V value = loader.load();
+            future.complete(value);
+            return value;
+        } catch (IOException | RuntimeException | Error e) {
+            // waiting lookups see the failure, later ones try again
+            values.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of cached values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * @return the total size of the entries whose values are cached
+     */
+    public long bytes() {
+        return values.weight();
+    }
+
+    /**
+     * Drops every cached value.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "ContentCache{" +
+                "maxBytes=" + values.maxWeight() +
+                ", size=" + values.size() +
+                ", bytes=" + values.weight() +
+                '}';
+    }
+
+    /**
+     * Loads the value of an entry that is not cached.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws IOException;
+    }
+
+    private static final class Key {
+        private final long crc;
+        private final long size;
+        private final String name;
+
+        Key(long crc, long size, String name) {
+            this.crc = crc;
+            this.size = size;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return crc == key.crc && size == key.size && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(crc, size, name);
+        }
+    }
+}
@@ -0,0 +1,494 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ModInfoField;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A single pass parser for the subset of TOML that {@code mods.toml} and {@code neoforge.mods.toml} files are written in:
+ * comments, {@code [table]} and {@code [[array]]} headers, bare and quoted keys, all four kinds of strings, booleans,
+ * decimal integers and arrays of those.
+ * <p>
+ * It only accepts documents it can read exactly like tomlj would. Anything else, like dotted keys, inline tables,
+ * floats, dates, redefined tables or keys, values of an unexpected type or any syntax error, makes
+ * {@link ForgeTomlParser#parse(String, Platform)} return {@code null}, so that the caller can hand the document to tomlj instead.
+ */
+final class ForgeTomlParser {
+    /**
+     * Thrown to give up on a document, never leaves this class.
+     */
+    private static final RuntimeException UNSUPPORTED = new RuntimeException("unsupported toml", null, false, false) {
+    };
+
+    private final String text;
+    private int pos;
+
+    private ForgeTomlParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses the mod infos of a forge-like descriptor.
+     *
+     * @param fileData the toml file contents
+     * @param platform the platform of the created infos
+     * @param options  the fields to parse
+     * @return the parsed infos, or {@code null} if the document has to be parsed by tomlj
+     */
+    @Nullable
+    static BasicModInfo[] parse(String fileData, Platform platform, ParseOptions options) {
+        try {
+            return readModInfos(new ForgeTomlParser(fileData).parseDocument(), platform, options);
+        } catch (RuntimeException e) {
+            if (e != UNSUPPORTED) throw e;
+            return null;
+        }
+    }
+
+    private static BasicModInfo[] readModInfos(Table root, Platform platform, ParseOptions options) {
+        Object mods = root.values.get("mods");
+        if (mods == null) return StandardBasicModInfo.emptyArray();
+        if (!(mods instanceof TableArray)) throw UNSUPPORTED;
+
+        boolean readDependencies = options.includes(ModInfoField.DEPENDENCIES);
+        Object dependencyTables = readDependencies ? root.values.get("dependencies") : null;
+        if (dependencyTables != null && !(dependencyTables instanceof Table)) throw UNSUPPORTED;
+
+        List<StandardBasicModInfo> parsedInfos = new ArrayList<>();
+        for (Table modInfo : ((TableArray) mods).tables) {
+            if (modInfo.values.isEmpty()) continue;
+
+            // the mod id is needed to find the dependencies
+            String modId = options.includes(ModInfoField.ID) || readDependencies ? getString(modInfo, "modId") : null;
+            String name = options.includes(ModInfoField.NAME) ? getString(modInfo, "displayName") : null;
+            String description = options.includes(ModInfoField.DESCRIPTION) ? getString(modInfo, "description") : null;
+            String version = options.includes(ModInfoField.VERSION) ? getString(modInfo, "version") : null;
+            String logoFile = options.includes(ModInfoField.ICON) ? getString(modInfo, "logoFile") : null;
+
+            List<Supplier<Dependency>> dependencies = new ArrayList<>();
+            Object dependenciesArray = null;
+            if (readDependencies) {
+                // tomlj looks the dependencies up as the dotted key "dependencies.<modId>", which only
+                // means the same as a plain lookup if the mod id is a valid bare key
+                String dependenciesKey = String.valueOf(modId);
+                if (!isBareKey(dependenciesKey)) throw UNSUPPORTED;
+                if (dependencyTables != null) dependenciesArray = ((Table) dependencyTables).values.get(dependenciesKey);
+            }
+            if (dependenciesArray != null) {
+                if (!(dependenciesArray instanceof TableArray)) throw UNSUPPORTED;
+                for (Table dependencyTable : ((TableArray) dependenciesArray).tables) {
+                    if (dependencyTable.values.isEmpty()) continue;
+
+                    Object mandatory = dependencyTable.values.get("mandatory");
+                    if (mandatory != null && !(mandatory instanceof Boolean)) throw UNSUPPORTED;
+                    dependencies.add(ParserUtils.deferForgeDependency(
+                            getString(dependencyTable, "modId"),
+                            mandatory == null || (Boolean) mandatory,
+                            getString(dependencyTable, "versionRange"),
+                            getString(dependencyTable, "ordering"),
+                            getString(dependencyTable, "side")
+                    ));
+                }
+            }
+
+            Optional<MavenVersion> mavenVersion = MavenVersion.parse(version);
+            parsedInfos.add(StandardBasicModInfo.createLazy(
+                    options.includes(ModInfoField.ID) ? modId : null, name, mavenVersion.orElse(null), description,
+                    ParserUtils.createAll(dependencies), logoFile, platform
+            ));
+        }
+        return parsedInfos.toArray(new BasicModInfo[0]);
+    }
+
+    private static String getString(Table table, String key) {
+        Object value = table.values.get(key);
+        // tomlj would throw for any other type, let it produce that error
+        if (value != null && !(value instanceof String)) throw UNSUPPORTED;
+        return (String) value;
+    }
+
+    private static boolean isBareKey(String key) {
+        if (key.isEmpty()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            if (!isBareKeyChar(key.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isBareKeyChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '-';
+    }
+
+    private Table parseDocument() {
+        Table root = new Table();
+        Table current = root;
+        while (pos < text.length()) {
+            skipWhitespace();
+            if (pos >= text.length()) break;
+
+            char c = text.charAt(pos);
+            if (c == '#' || c == '\n' || c == '\r') {
+                expectLineEnd();
+            } else if (c == '[') {
+                current = parseHeader(root);
+                expectLineEnd();
+            } else {
+                String key = parseKey();
+                skipWhitespace();
+                if (!consume('=')) throw UNSUPPORTED;
+                skipWhitespace();
+                Object value = parseValue();
+                if (current.values.put(key, value) != null) throw UNSUPPORTED;
+                expectLineEnd();
+            }
+        }
+        return root;
+    }
+
+    private Table parseHeader(Table root) {
+        pos++;
+        boolean array = consume('[');
+        List<String> path = new ArrayList<>();
+        do {
+            skipWhitespace();
+            path.add(parseKey());
+            skipWhitespace();
+        } while (consume('.'));
+        if (!consume(']') || array && !consume(']')) throw UNSUPPORTED;
+
+        Table table = root;
+        for (int i = 0; i < path.size() - 1; i++) {
+            Object value = table.values.get(path.get(i));
+            if (value == null) {
+                Table implicit = new Table();
+                table.values.put(path.get(i), implicit);
+                table = implicit;
+            } else if (value instanceof Table) {
+                table = (Table) value;
+            } else if (value instanceof TableArray) {
+                List<Table> tables = ((TableArray) value).tables;
+                table = tables.get(tables.size() - 1);
+            } else {
+                throw UNSUPPORTED;
+            }
+        }
+
+        String name = path.get(path.size() - 1);
+        Object value = table.values.get(name);
+        Table created = new Table();
+        if (array && value instanceof TableArray) {
+            ((TableArray) value).tables.add(created);
+        } else if (value == null) {
+            // implicitly created tables that are defined later on are rare enough to be left to tomlj
+            table.values.put(name, array ? new TableArray(created) : created);
+        } else {
+            throw UNSUPPORTED;
+        }
+        return created;
+    }
+
+    private String parseKey() {
+        if (pos >= text.length()) throw UNSUPPORTED;
+        char c = text.charAt(pos);
+        if (c == '"' || c == '\'') {
+            pos++;
+            String key = c == '"' ? parseBasicString() : parseLiteralString();
+            if (key.isEmpty()) throw UNSUPPORTED;
+            return key;
+        }
+
+        int start = pos;
+        while (pos < text.length() && isBareKeyChar(text.charAt(pos))) pos++;
+        if (pos == start) throw UNSUPPORTED;
+        return text.substring(start, pos);
+    }
+
+    private Object parseValue() {
+        if (pos >= text.length()) throw UNSUPPORTED;
+        char c = text.charAt(pos);
+        switch (c) {
+            case '"':
+                if (text.startsWith("\"\"\"", pos)) {
+                    pos += 3;
+                    return parseMultilineString(true);
+                }
+                pos++;
+                return parseBasicString();
+            case '\'':
+                if (text.startsWith("'''", pos)) {
+                    pos += 3;
+                    return parseMultilineString(false);
+                }
+                pos++;
+                return parseLiteralString();
+            case '[':
+                pos++;
+                return parseArray();
+            case 't':
+                return parseKeyword("true", Boolean.TRUE);
+            case 'f':
+                return parseKeyword("false", Boolean.FALSE);
+            default:
+                return parseInteger();
+        }
+    }
+
+    private Object parseKeyword(String keyword, Boolean value) {
+        if (!text.startsWith(keyword, pos)) throw UNSUPPORTED;
+        pos += keyword.length();
+        expectValueEnd();
+        return value;
+    }
+
+    private Long parseInteger() {
+        int start = pos;
+        if (text.charAt(pos) == '+' || text.charAt(pos) == '-') pos++;
+        int digitsStart = pos;
+        while (pos < text.length() && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') pos++;
+
+        int digits = pos - digitsStart;
+        // no underscores, no leading zeros and nothing that could overflow, floats and dates are rejected by expectValueEnd
+        if (digits == 0 || digits > 18 || digits > 1 && text.charAt(digitsStart) == '0') throw UNSUPPORTED;
+        expectValueEnd();
+        return Long.parseLong(text.substring(start, pos));
+    }
+
+    private List<Object> parseArray() {
+        List<Object> values = new ArrayList<>();
+        while (true) {
+            skipArrayWhitespace();
+            if (consume(']')) return values;
+
+            Object value = parseValue();
+            // mixed arrays are only valid since toml 1.0
+            if (!values.isEmpty() && values.get(0).getClass() != value.getClass()) throw UNSUPPORTED;
+            values.add(value);
+
+            skipArrayWhitespace();
+            if (consume(']')) return values;
+            if (!consume(',')) throw UNSUPPORTED;
+        }
+    }
+
+    private String parseBasicString() {
+        StringBuilder builder = null;
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) throw UNSUPPORTED;
+            char c = text.charAt(pos);
+            if (c == '"') {
+                String value = builder == null ? text.substring(start, pos) : builder.append(text, start, pos).toString();
+                pos++;
+                return value;
+            } else if (c == '\\') {
+                if (builder == null) builder = new StringBuilder();
+                builder.append(text, start, pos);
+                pos++;
+                appendEscape(builder);
+                start = pos;
+            } else {
+                if (isControl(c)) throw UNSUPPORTED;
+                pos++;
+            }
+        }
+    }
+
+    private String parseLiteralString() {
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) throw UNSUPPORTED;
+            char c = text.charAt(pos);
+            if (c == '\'') {
+                pos++;
+                return text.substring(start, pos - 1);
+            }
+            if (isControl(c)) throw UNSUPPORTED;
+            pos++;
+        }
+    }
+
+    private String parseMultilineString(boolean basic) {
+        char quote = basic ? '"' : '\'';
+        // a newline right after the opening delimiter is not part of the string
+        consumeNewline();
+
+        StringBuilder builder = new StringBuilder();
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) throw UNSUPPORTED;
+            char c = text.charAt(pos);
+            if (c == quote && text.startsWith(basic ? "\"\"\"" : "'''", pos)) {
+                // quotes right before the closing delimiter are rare, leave them to tomlj
+                if (pos + 3 < text.length() && text.charAt(pos + 3) == quote) throw UNSUPPORTED;
+                builder.append(text, start, pos);
+                pos += 3;
+                return builder.toString();
+            } else if (basic && c == '\\') {
+                builder.append(text, start, pos);
+                pos++;
+                // line ending backslashes are left to tomlj as well
+                appendEscape(builder);
+                start = pos;
+            } else if (c == '\r' && pos + 1 < text.length() && text.charAt(pos + 1) == '\n') {
+                // like tomlj, line endings of multiline strings are always a single newline
+                builder.append(text, start, pos).append('\n');
+                pos += 2;
+                start = pos;
+            } else {
+                if (c != '\n' && isControl(c)) throw UNSUPPORTED;
+                pos++;
+            }
+        }
+    }
+
+    private void appendEscape(StringBuilder builder) {
+        if (pos >= text.length()) throw UNSUPPORTED;
+        char c = text.charAt(pos++);
+        switch (c) {
+            case 'b':
+                builder.append('\b');
+                break;
+            case 't':
+                builder.append('\t');
+                break;
+            case 'n':
+                builder.append('\n');
+                break;
+            case 'f':
+                builder.append('\f');
+                break;
+            case 'r':
+                builder.append('\r');
+                break;
+            case '"':
+            case '\\':
+                builder.append(c);
+                break;
+            case 'u':
+                builder.appendCodePoint(parseCodePoint(4));
+                break;
+            case 'U':
+                builder.appendCodePoint(parseCodePoint(8));
+                break;
+            default:
+                throw UNSUPPORTED;
+        }
+    }
+
+    private int parseCodePoint(int length) {
+        if (pos + length > text.length()) throw UNSUPPORTED;
+        int codePoint = 0;
+        for (int i = 0; i < length; i++) {
+            int digit = Character.digit(text.charAt(pos++), 16);
+            if (digit < 0) throw UNSUPPORTED;
+            codePoint = codePoint << 4 | digit;
+        }
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT
+                || codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+            throw UNSUPPORTED;
+        }
+        return codePoint;
+    }
+
+    private static boolean isControl(char c) {
+        return c < 0x20 && c != '\t' || c == 0x7F;
+    }
+
+    private boolean consume(char c) {
+        if (pos < text.length() && text.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && (text.charAt(pos) == ' ' || text.charAt(pos) == '\t')) pos++;
+    }
+
+    private void skipComment() {
+        if (!consume('#')) return;
+        while (pos < text.length() && text.charAt(pos) != '\n' && !text.startsWith("\r\n", pos)) {
+            if (isControl(text.charAt(pos))) throw UNSUPPORTED;
+            pos++;
+        }
+    }
+
+    private boolean consumeNewline() {
+        if (consume('\n')) return true;
+        if (pos + 1 < text.length() && text.charAt(pos) == '\r' && text.charAt(pos + 1) == '\n') {
+            pos += 2;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipArrayWhitespace() {
+        do {
+            skipWhitespace();
+            skipComment();
+        } while (consumeNewline());
+    }
+
+    private void expectLineEnd() {
+        skipWhitespace();
+        skipComment();
+        if (pos < text.length() && !consumeNewline()) throw UNSUPPORTED;
+    }
+
+    private void expectValueEnd() {
+        if (pos >= text.length()) return;
+        char c = text.charAt(pos);
+        if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '#' && c != ',' && c != ']') throw UNSUPPORTED;
+    }
+
+    private static final class Table {
+        final Map<String, Object> values = new HashMap<>();
+    }
+
+    /**
+     * An array of tables created by {@code [[name]]} headers, unlike arrays written as values it can be extended.
+     */
+    private static final class TableArray {
+        final List<Table> tables = new ArrayList<>();
+
+        TableArray(Table first) {
+            tables.add(first);
+        }
+    }
+}
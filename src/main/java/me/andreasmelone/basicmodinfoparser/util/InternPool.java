@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * A bounded cache that maps strings to the immutable value parsed from them, so that every occurrence of the same
+ * string, like a game version required by hundreds of mods, shares one canonical instance.
+ * <p>
+ * Lookups never block each other. Two threads interning the same string at once may both parse it, but only one of
+ * the values is kept and returned to both. Once more than the maximum number of values are cached, the oldest ones
+ * are dropped, values interned before are still valid but no longer shared with later lookups.
+ *
+ * @param <V> the type of the interned values
+ */
+public final class InternPool<V> {
+    private final BoundedCache<String, V> values;
+
+    /**
+     * @param maxSize the number of values to keep at most
+     */
+    public InternPool(int maxSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be positive, was " + maxSize);
+        this.values = new BoundedCache<>(maxSize, null);
+    }
+
+    /**
+     * Returns the canonical value of a string, or creates it.
+     *
+     * @param key     the string to look up
+     * @param factory creates the value if it is not interned, must not return {@code null}
+     * @return the canonical value
+     */
+    @NotNull
+    public V intern(@NotNull String key, @NotNull Function<String, V> factory) {
+        V value = values.get(key);
+        if (value != null) return value;
+
+        V created = factory.apply(key);
+        value = values.putIfAbsent(key, created, 1);
+        return value != null ? value : created;
+    }
+
+    /**
+     * @return the number of interned values
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Drops every interned value.
+     */
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "InternPool{" +
+                "maxSize=" + values.maxWeight() +
+                ", size=" + values.size() +
+                '}';
+    }
+}
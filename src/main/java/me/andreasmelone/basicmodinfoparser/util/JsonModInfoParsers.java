@@ -0,0 +1,850 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ModInfoField;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.ProvidedMod;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.StandardDependency;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Pull parsers for the JSON based mod info files. They read a file token by token with a {@link JsonReader}
+ * and skip everything they don't need, like {@code entrypoints}, {@code mixins} or {@code custom}, without building a tree.
+ * <p>
+ * The results are the same as parsing the file into a Gson tree and reading it with the {@link ParserUtils} helpers:
+ * the reader is lenient, the last of duplicate keys wins, values that are not strings are converted like
+ * {@link JsonElement#getAsString()} where the tree based parsers did so, and the whole document has to be valid.
+ * Fields left out of the {@link ParseOptions} are skipped without looking at their values.
+ * <p>
+ * Dependencies, breaks and provides are kept as the strings they were read as, their version ranges are only
+ * parsed once the lists are accessed on the created infos.
+ */
+public final class JsonModInfoParsers {
+    /**
+     * Reads values that are not read field by field into a tree, like {@link com.google.gson.JsonParser} would
+     */
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT = ParserUtils.GSON.getAdapter(JsonElement.class);
+
+    private JsonModInfoParsers() {
+    }
+
+    /**
+     * Parses a {@code mcmod.info} file, an array of mod objects.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseLegacyForge(Reader in, Platform platform) throws IOException {
+        return parseLegacyForge(in, platform, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a {@code mcmod.info} file, an array of mod objects.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @param options  the fields to parse
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseLegacyForge(Reader in, Platform platform, ParseOptions options) throws IOException {
+        JsonReader reader = open(in);
+        try {
+            return readLegacyForge(reader, platform, options);
+        } catch (MalformedJsonException | EOFException | RuntimeException e) {
+            throw malformed(reader, e);
+        }
+    }
+
+    private static BasicModInfo[] readLegacyForge(JsonReader reader, Platform platform, ParseOptions options) throws IOException {
+        if (isEmptyDocument(reader)) return StandardBasicModInfo.emptyArray();
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            throw malformed(reader, "Expected an array but was " + reader.peek());
+        }
+
+        List<BasicModInfo> infos = new ArrayList<>();
+        boolean isEmpty = true;
+        reader.beginArray();
+        while (reader.hasNext()) {
+            isEmpty = false;
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+            infos.add(readLegacyForgeMod(reader, platform, options));
+        }
+        reader.endArray();
+        expectEnd(reader);
+
+        return isEmpty ? StandardBasicModInfo.emptyArray() : infos.toArray(new BasicModInfo[0]);
+    }
+
+    private static BasicModInfo readLegacyForgeMod(JsonReader reader, Platform platform, ParseOptions options) throws IOException {
+        String modId = null;
+        String name = null;
+        String version = null;
+        String description = null;
+        String logoFile = null;
+        List<String> dependencies = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "modid":
+                    modId = options.includes(ModInfoField.ID) ? readString(reader) : skip(reader);
+                    break;
+                case "name":
+                    name = options.includes(ModInfoField.NAME) ? readString(reader) : skip(reader);
+                    break;
+                case "version":
+                    version = options.includes(ModInfoField.VERSION) ? readString(reader) : skip(reader);
+                    break;
+                case "description":
+                    description = options.includes(ModInfoField.DESCRIPTION) ? readString(reader) : skip(reader);
+                    break;
+                case "logoFile":
+                    logoFile = options.includes(ModInfoField.ICON) ? readString(reader) : skip(reader);
+                    break;
+                case "dependencies":
+                    dependencies = options.includes(ModInfoField.DEPENDENCIES) ? readStringArray(reader) : skip(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        List<String> rawDependencies = dependencies;
+        Optional<MavenVersion> mavenVersion = MavenVersion.parse(version);
+        return StandardBasicModInfo.createLazy(modId, name, mavenVersion.orElse(null), description, () -> {
+            List<Dependency> dependencyList = new ArrayList<>();
+            if (rawDependencies != null) {
+                for (String dependency : rawDependencies) {
+                    ParserUtils.parseLegacyForgeDependency(dependency).ifPresent(dependencyList::add);
+                }
+            }
+            return dependencyList;
+        }, logoFile, platform);
+    }
+
+    /**
+     * Parses a {@code fabric.mod.json} file, a single mod object or an array of them.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseFabric(Reader in, Platform platform) throws IOException {
+        return parseFabric(in, platform, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a {@code fabric.mod.json} file, a single mod object or an array of them.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @param options  the fields to parse
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseFabric(Reader in, Platform platform, ParseOptions options) throws IOException {
+        return parseFabric(in, platform, options, null);
+    }
+
+    /**
+     * Parses a {@code fabric.mod.json} file for both its infos and the jars in jar it lists, like
+     * {@link me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform#FABRIC_LOOM}, in a single pass.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @return the parsed infos and jars
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static ModDescriptor parseFabricDescriptor(Reader in, Platform platform) throws IOException {
+        List<String> jars = new ArrayList<>();
+        BasicModInfo[] infos = parseFabric(in, platform, ParseOptions.ALL, jars);
+        return new ModDescriptor(infos, jars);
+    }
+
+    /**
+     * @param jars collects the jars in jar, or {@code null} if they are not needed
+     */
+    private static BasicModInfo[] parseFabric(Reader in, Platform platform, ParseOptions options, @Nullable List<String> jars) throws IOException {
+        JsonReader reader = open(in);
+        try {
+            return readFabric(reader, platform, options, jars);
+        } catch (MalformedJsonException | EOFException | RuntimeException e) {
+            throw malformed(reader, e);
+        }
+    }
+
+    private static BasicModInfo[] readFabric(JsonReader reader, Platform platform, ParseOptions options, @Nullable List<String> jars) throws IOException {
+        if (isEmptyDocument(reader)) return StandardBasicModInfo.emptyArray();
+
+        List<BasicModInfo> infos = new ArrayList<>();
+        JsonToken root = reader.peek();
+        if (root == JsonToken.BEGIN_OBJECT) {
+            infos.add(readFabricMod(reader, platform, options, jars));
+        } else if (root == JsonToken.BEGIN_ARRAY) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    infos.add(readFabricMod(reader, platform, options, jars));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endArray();
+        } else {
+            reader.skipValue();
+        }
+        expectEnd(reader);
+
+        if (root != JsonToken.BEGIN_OBJECT && root != JsonToken.BEGIN_ARRAY) return StandardBasicModInfo.emptyArray();
+        return infos.toArray(new BasicModInfo[0]);
+    }
+
+    private static BasicModInfo readFabricMod(JsonReader reader, Platform platform, ParseOptions options, @Nullable List<String> jars) throws IOException {
+        boolean readDependencies = options.includes(ModInfoField.DEPENDENCIES);
+        boolean readProvides = options.includes(ModInfoField.PROVIDES);
+        String id = null;
+        String name = null;
+        String description = null;
+        String icon = null;
+        AnyString version = null;
+        Map<String, String[]> depends = null;
+        Map<String, String[]> recommends = null;
+        Map<String, String[]> breaks = null;
+        List<String> provides = null;
+        List<String> modJars = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = options.includes(ModInfoField.ID) ? readString(reader) : skip(reader);
+                    break;
+                case "name":
+                    name = options.includes(ModInfoField.NAME) ? readString(reader) : skip(reader);
+                    break;
+                case "description":
+                    description = options.includes(ModInfoField.DESCRIPTION) ? readString(reader) : skip(reader);
+                    break;
+                case "icon":
+                    icon = options.includes(ModInfoField.ICON) ? readString(reader) : skip(reader);
+                    break;
+                case "version":
+                    // provides are of the same version as the mod
+                    version = options.includes(ModInfoField.VERSION) || readProvides ? readAnyString(reader) : skip(reader);
+                    break;
+                case "depends":
+                    depends = readDependencies ? readFabricDependencies(reader) : skip(reader);
+                    break;
+                case "recommends":
+                    recommends = readDependencies ? readFabricDependencies(reader) : skip(reader);
+                    break;
+                case "breaks":
+                    breaks = options.includes(ModInfoField.BREAKS) ? readFabricDependencies(reader) : skip(reader);
+                    break;
+                case "provides":
+                    provides = readProvides ? readStringArray(reader) : skip(reader);
+                    break;
+                case "jars":
+                    modJars = jars != null ? readFabricJars(reader) : skip(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (modJars != null) jars.addAll(modJars);
+
+        // provides need the version, so everything is assembled once the whole object was read
+        Optional<LooseSemanticVersion> parsedVersion = LooseSemanticVersion.parse(AnyString.resolve(version));
+        LooseSemanticVersion modVersion = options.includes(ModInfoField.VERSION) ? parsedVersion.orElse(null) : null;
+        Map<String, String[]> rawDepends = depends;
+        Map<String, String[]> rawRecommends = recommends;
+        Map<String, String[]> rawBreaks = breaks;
+        List<String> rawProvides = provides;
+        return FabricModInfo.createLazy(id, name, modVersion, description, () -> {
+            List<Dependency> dependencyList = new ArrayList<>();
+            addFabricDependencies(dependencyList, rawDepends, true);
+            addFabricDependencies(dependencyList, rawRecommends, false);
+            return dependencyList;
+        }, icon, platform, () -> {
+            List<Dependency> breaksList = new ArrayList<>();
+            addFabricDependencies(breaksList, rawBreaks, true);
+            return breaksList;
+        }, () -> {
+            List<ProvidedMod<LooseSemanticVersion>> provided = new ArrayList<>();
+            if (rawProvides != null) {
+                for (String providedId : rawProvides) {
+                    provided.add(new ProvidedMod<>(providedId, parsedVersion.orElse(null)));
+                }
+            }
+            return provided;
+        });
+    }
+
+    /**
+     * @return the {@code file} strings of the objects in the array, or {@code null} if the value is not an array
+     */
+    @Nullable
+    private static List<String> readFabricJars(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+
+        List<String> files = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                continue;
+            }
+
+            String file = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("file")) {
+                    file = readString(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            if (file != null) files.add(file);
+        }
+        reader.endArray();
+        return files;
+    }
+
+    /**
+     * @return the version ranges by mod id, with {@code null} for values that are neither a string nor an array,
+     * or {@code null} if the value is not an object
+     */
+    @Nullable
+    private static Map<String, String[]> readFabricDependencies(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+
+        // like a JsonObject, a duplicate key keeps the position of its first occurrence but takes the last value
+        Map<String, String[]> dependencies = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String modId = reader.nextName();
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING) {
+                dependencies.put(modId, new String[]{reader.nextString()});
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                List<String> versions = readStringArray(reader);
+                dependencies.put(modId, versions.toArray(new String[0]));
+            } else {
+                reader.skipValue();
+                dependencies.put(modId, null);
+            }
+        }
+        reader.endObject();
+        return dependencies;
+    }
+
+    private static void addFabricDependencies(List<Dependency> dependencyList, @Nullable Map<String, String[]> dependencies, boolean mandatory) {
+        if (dependencies == null) return;
+        for (Map.Entry<String, String[]> entry : dependencies.entrySet()) {
+            if (entry.getValue() == null) continue;
+            Optional<FabricVersionRange> range = FabricVersionRange.parse(entry.getValue());
+            if (!range.isPresent()) continue;
+            dependencyList.add(new StandardDependency<>(entry.getKey(), mandatory, range.get()));
+        }
+    }
+
+    /**
+     * Parses a {@code quilt.mod.json} file.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseQuilt(Reader in, Platform platform) throws IOException {
+        return parseQuilt(in, platform, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a {@code quilt.mod.json} file.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @param options  the fields to parse
+     * @return the parsed infos
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static BasicModInfo[] parseQuilt(Reader in, Platform platform, ParseOptions options) throws IOException {
+        return parseQuilt(in, platform, options, null);
+    }
+
+    /**
+     * Parses a {@code quilt.mod.json} file for both its infos and the jars in jar it lists, like
+     * {@link me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform#QUILT}, in a single pass.
+     *
+     * @param in       the file content
+     * @param platform the platform of the created infos
+     * @return the parsed infos and jars
+     * @throws IOException           if the content can't be read
+     * @throws ModInfoParseException if the content is not valid JSON or not structured like an info file
+     */
+    @NotNull
+    public static ModDescriptor parseQuiltDescriptor(Reader in, Platform platform) throws IOException {
+        List<String> jars = new ArrayList<>();
+        BasicModInfo[] infos = parseQuilt(in, platform, ParseOptions.ALL, jars);
+        return new ModDescriptor(infos, jars);
+    }
+
+    /**
+     * @param jars collects the jars in jar, or {@code null} if they are not needed
+     */
+    private static BasicModInfo[] parseQuilt(Reader in, Platform platform, ParseOptions options, @Nullable List<String> jars) throws IOException {
+        JsonReader reader = open(in);
+        try {
+            return readQuilt(reader, platform, options, jars);
+        } catch (MalformedJsonException | EOFException | RuntimeException e) {
+            throw malformed(reader, e);
+        }
+    }
+
+    private static BasicModInfo[] readQuilt(JsonReader reader, Platform platform, ParseOptions options, @Nullable List<String> jars) throws IOException {
+        if (isEmptyDocument(reader)) return StandardBasicModInfo.emptyArray();
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw malformed(reader, "Expected an object but was " + reader.peek());
+        }
+
+        QuiltLoader loader = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!reader.nextName().equals("quilt_loader")) {
+                reader.skipValue();
+            } else if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                loader = QuiltLoader.read(reader, options, jars != null);
+            } else {
+                reader.skipValue();
+                loader = null;
+            }
+        }
+        reader.endObject();
+        expectEnd(reader);
+
+        if (loader == null) return StandardBasicModInfo.emptyArray();
+        if (jars != null && loader.jars != null) jars.addAll(loader.jars);
+        return new BasicModInfo[]{loader.toModInfo(platform, options)};
+    }
+
+    /**
+     * The parts of the {@code quilt_loader} object that are needed, values are only resolved once the object was read.
+     */
+    private static final class QuiltLoader {
+        AnyString id;
+        AnyString version;
+        boolean hasMetadata;
+        AnyString name;
+        AnyString description;
+        AnyString icon;
+        List<QuiltDependency> depends;
+        List<QuiltDependency> breaks;
+        List<QuiltDependency> provides;
+        List<String> jars;
+
+        static QuiltLoader read(JsonReader reader, ParseOptions options, boolean readJars) throws IOException {
+            boolean readProvides = options.includes(ModInfoField.PROVIDES);
+            boolean readMetadata = options.includes(ModInfoField.NAME) || options.includes(ModInfoField.DESCRIPTION)
+                    || options.includes(ModInfoField.ICON);
+
+            QuiltLoader loader = new QuiltLoader();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        loader.id = options.includes(ModInfoField.ID) ? readAnyString(reader) : skip(reader);
+                        break;
+                    case "version":
+                        // provides without a version of their own are of the same version as the mod
+                        loader.version = options.includes(ModInfoField.VERSION) || readProvides ? readAnyString(reader) : skip(reader);
+                        break;
+                    case "metadata":
+                        if (readMetadata) {
+                            loader.readMetadata(reader, options);
+                        } else {
+                            reader.skipValue();
+                        }
+                        break;
+                    case "depends":
+                        loader.depends = options.includes(ModInfoField.DEPENDENCIES) ? QuiltDependency.readArray(reader) : skip(reader);
+                        break;
+                    case "breaks":
+                        loader.breaks = options.includes(ModInfoField.BREAKS) ? QuiltDependency.readArray(reader) : skip(reader);
+                        break;
+                    case "provides":
+                        loader.provides = readProvides ? QuiltDependency.readArray(reader) : skip(reader);
+                        break;
+                    case "jars":
+                        loader.jars = readJars ? readStringArray(reader) : skip(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return loader;
+        }
+
+        private void readMetadata(JsonReader reader, ParseOptions options) throws IOException {
+            name = null;
+            description = null;
+            icon = null;
+            hasMetadata = reader.peek() == JsonToken.BEGIN_OBJECT;
+            if (!hasMetadata) {
+                reader.skipValue();
+                return;
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "name":
+                        name = options.includes(ModInfoField.NAME) ? readAnyString(reader) : skip(reader);
+                        break;
+                    case "description":
+                        description = options.includes(ModInfoField.DESCRIPTION) ? readAnyString(reader) : skip(reader);
+                        break;
+                    case "icon":
+                        icon = options.includes(ModInfoField.ICON) ? readAnyString(reader) : skip(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+
+        BasicModInfo toModInfo(Platform platform, ParseOptions options) {
+            String modId = AnyString.resolve(id);
+            String modVersion = AnyString.resolve(version);
+            String modName = hasMetadata ? AnyString.resolve(name) : null;
+            String modDescription = hasMetadata ? AnyString.resolve(description) : null;
+            String iconPath = hasMetadata ? AnyString.resolve(icon) : null;
+
+            // the ids are resolved right away, as that is where invalid values fail
+            List<String> dependencyIds = QuiltDependency.resolveIds(depends);
+            List<String> breakIds = QuiltDependency.resolveIds(breaks);
+            List<String> providedIds = QuiltDependency.resolveIds(provides);
+
+            LooseSemanticVersion semanticVersion = options.includes(ModInfoField.VERSION)
+                    ? LooseSemanticVersion.parse(modVersion, false).orElse(null) : null;
+            return FabricModInfo.createLazy(modId, modName, semanticVersion, modDescription, () -> {
+                List<Dependency> dependencies = new ArrayList<>();
+                for (int i = 0; i < dependencyIds.size(); i++) {
+                    QuiltDependency dependency = depends.get(i);
+                    boolean isMandatory = dependency.optional == null || !Boolean.parseBoolean(dependency.optional);
+                    Optional<FabricVersionRange> range = FabricVersionRange.parse(dependency.versions);
+                    dependencies.add(new StandardDependency<>(dependencyIds.get(i), isMandatory, range.orElse(null)));
+                }
+                return dependencies;
+            }, iconPath, platform, () -> {
+                List<Dependency> breakList = new ArrayList<>();
+                for (int i = 0; i < breakIds.size(); i++) {
+                    Optional<FabricVersionRange> range = FabricVersionRange.parse(breaks.get(i).versions);
+                    breakList.add(new StandardDependency<>(breakIds.get(i), true, range.orElse(null)));
+                }
+                return breakList;
+            }, () -> {
+                List<ProvidedMod<LooseSemanticVersion>> provideList = new ArrayList<>();
+                for (int i = 0; i < providedIds.size(); i++) {
+                    QuiltDependency provided = provides.get(i);
+                    String providedVersion = provided.singleVersion != null ? provided.singleVersion : modVersion;
+                    provideList.add(new ProvidedMod<>(providedIds.get(i), LooseSemanticVersion.parse(providedVersion).orElse(null)));
+                }
+                return provideList;
+            });
+        }
+    }
+
+    /**
+     * An entry of the {@code depends}, {@code breaks} or {@code provides} array of a {@code quilt.mod.json}.
+     */
+    private static final class QuiltDependency {
+        AnyString id;
+        /**
+         * The {@code optional} value, only if it is a string
+         */
+        String optional;
+        /**
+         * The {@code versions} value as used for dependencies, {@code "*"} if it is missing or neither a string nor an array
+         */
+        String[] versions = new String[]{"*"};
+        /**
+         * The {@code versions} value as used for provides, only if it is a string
+         */
+        String singleVersion;
+
+        /**
+         * @return the resolved ids of the entries, in order, or an empty list if there are none
+         */
+        static List<String> resolveIds(@Nullable List<QuiltDependency> dependencies) {
+            if (dependencies == null) return Collections.emptyList();
+            List<String> ids = new ArrayList<>(dependencies.size());
+            for (QuiltDependency dependency : dependencies) {
+                ids.add(AnyString.resolve(dependency.id));
+            }
+            return ids;
+        }
+
+        @Nullable
+        static List<QuiltDependency> readArray(JsonReader reader) throws IOException {
+            if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                return null;
+            }
+
+            List<QuiltDependency> dependencies = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                dependencies.add(read(reader));
+            }
+            reader.endArray();
+            return dependencies;
+        }
+
+        private static QuiltDependency read(JsonReader reader) throws IOException {
+            QuiltDependency dependency = new QuiltDependency();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "id":
+                        dependency.id = readAnyString(reader);
+                        break;
+                    case "optional":
+                        dependency.optional = readString(reader);
+                        break;
+                    case "versions":
+                        dependency.readVersions(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return dependency;
+        }
+
+        private void readVersions(JsonReader reader) throws IOException {
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING) {
+                singleVersion = reader.nextString();
+                versions = new String[]{singleVersion};
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                singleVersion = null;
+                versions = readStringArray(reader).toArray(new String[0]);
+            } else {
+                reader.skipValue();
+                singleVersion = null;
+                versions = new String[]{"*"};
+            }
+        }
+    }
+
+    /**
+     * A value that is converted to a string like {@link JsonElement#getAsString()}. Anything but a primitive is kept
+     * as a tree and only converted on {@link AnyString#resolve(AnyString)}, as the conversion may fail.
+     */
+    private static final class AnyString {
+        private final String value;
+        private final JsonElement element;
+
+        private AnyString(String value, JsonElement element) {
+            this.value = value;
+            this.element = element;
+        }
+
+        /**
+         * @return the string, or {@code null} if there was no value
+         * @throws UnsupportedOperationException if the value can't be converted to a string
+         * @throws IllegalStateException         if the value is an array that doesn't have exactly one element
+         */
+        @Nullable
+        static String resolve(@Nullable AnyString string) {
+            if (string == null) return null;
+            return string.element != null ? string.element.getAsString() : string.value;
+        }
+    }
+
+    private static JsonReader open(Reader in) {
+        JsonReader reader = new JsonReader(in);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /**
+     * Reports a syntax or structure error at the value the reader is at, failures of the underlying reader are
+     * thrown as they are. The exception doesn't fill a stack trace, the one of Gson, if any, is the only one.
+     */
+    private static ModInfoParseException malformed(JsonReader reader, Exception e) {
+        if (e instanceof ModInfoParseException) return (ModInfoParseException) e;
+        String message = e.getMessage() != null ? e.getMessage() : "Malformed JSON";
+        return new ModInfoParseException(message, e, reader.getPath(), false);
+    }
+
+    /**
+     * Reports a structure error found by the parsers themselves at the value the reader is at, without any stack trace.
+     */
+    private static ModInfoParseException malformed(JsonReader reader, String message) {
+        return new ModInfoParseException(message, null, reader.getPath(), false);
+    }
+
+    /**
+     * Like Gson, a document without any value is treated as {@code null} rather than as an error.
+     */
+    private static boolean isEmptyDocument(JsonReader reader) throws IOException {
+        try {
+            reader.peek();
+            return false;
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Like Gson, nothing but whitespace may follow the document, not even a comment.
+     */
+    private static void expectEnd(JsonReader reader) throws IOException {
+        reader.setLenient(false);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw malformed(reader, "JSON document was not fully consumed.");
+        }
+    }
+
+    /**
+     * Skips a value of a field that was not requested.
+     *
+     * @return always {@code null}
+     */
+    @Nullable
+    private static <T> T skip(JsonReader reader) throws IOException {
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * @return the value if it is a string, otherwise {@code null}
+     */
+    @Nullable
+    private static String readString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) return reader.nextString();
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * @return the string elements of an array, or {@code null} if the value is not an array
+     */
+    @Nullable
+    private static List<String> readStringArray(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+
+        List<String> strings = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.STRING) {
+                strings.add(reader.nextString());
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+        return strings;
+    }
+
+    private static AnyString readAnyString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+                // a number is kept as its literal text, like the LazilyParsedNumber in a tree
+                return new AnyString(reader.nextString(), null);
+            case BOOLEAN:
+                return new AnyString(String.valueOf(reader.nextBoolean()), null);
+            default:
+                return new AnyString(null, JSON_ELEMENT.read(reader));
+        }
+    }
+}
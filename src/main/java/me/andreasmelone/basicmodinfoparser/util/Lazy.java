@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A value that is computed on first access. The computation runs at most once, even if several threads
+ * access the value at the same time, and the supplier is dropped afterwards.
+ *
+ * @param <T> the type of the value
+ */
+public final class Lazy<T> implements Supplier<T> {
+    private volatile Supplier<? extends T> supplier;
+    private T value;
+
+    private Lazy(Supplier<? extends T> supplier, T value) {
+        this.supplier = supplier;
+        this.value = value;
+    }
+
+    /**
+     * @return the value, computed by this call if it is the first one
+     */
+    @Override
+    public T get() {
+        // value is published by the volatile write of supplier
+        if (supplier == null) return value;
+        synchronized (this) {
+            Supplier<? extends T> supplier = this.supplier;
+            if (supplier != null) {
+                value = supplier.get();
+                this.supplier = null;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * @return whether the value was already computed
+     */
+    public boolean isInitialized() {
+        return supplier == null;
+    }
+
+    @Override
+    public String toString() {
+        return "Lazy{" +
+                "value=" + (isInitialized() ? String.valueOf(value) : "<not initialized>") +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        Lazy<?> lazy = (Lazy<?>) o;
+        return Objects.equals(get(), lazy.get());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(get());
+    }
+
+    /**
+     * @param supplier computes the value, it is called at most once
+     * @return a value computed on first access
+     */
+    public static <T> Lazy<T> of(Supplier<? extends T> supplier) {
+        return new Lazy<>(Objects.requireNonNull(supplier, "supplier"), null);
+    }
+
+    /**
+     * @param value the value
+     * @return an already computed value
+     */
+    public static <T> Lazy<T> ofValue(T value) {
+        return new Lazy<>(null, value);
+    }
+}
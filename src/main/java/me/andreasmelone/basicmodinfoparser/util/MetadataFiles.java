@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MetadataFiles {
+    /**
+     * Every path that is read by a {@link Platform} or a {@link JarInJarPlatform}
+     */
+    public static final EntryNameSet PATHS;
+
+    static {
+        List<String> paths = new ArrayList<>();
+        for (Platform platform : Platform.values()) {
+            paths.addAll(Arrays.asList(platform.getInfoFilePaths()));
+        }
+        for (JarInJarPlatform platform : JarInJarPlatform.values()) {
+            paths.addAll(Arrays.asList(platform.getMetadataFilePaths()));
+        }
+        PATHS = EntryNameSet.of(paths);
+    }
+
+    /**
+     * Looks up all the known metadata files of an archive at once. The result can be passed to
+     * {@link Platform#findModPlatform(ZipProbeResult)}, {@link JarInJarPlatform#findJarInJarPlatforms(ZipProbeResult)}
+     * and their content readers, so the archive is only searched once.
+     *
+     * @param zip the archive to search
+     * @return the found metadata files
+     */
+    @NotNull
+    public static ZipProbeResult probe(@NotNull IZipFile zip) {
+        return zip.probe(PATHS);
+    }
+}
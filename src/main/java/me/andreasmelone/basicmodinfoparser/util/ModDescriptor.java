@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Everything read from a single mod info file, both the infos and the jars in jar it lists. Files like
+ * {@code fabric.mod.json} are used by a {@link me.andreasmelone.basicmodinfoparser.platform.Platform} and a
+ * {@link me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform} alike, this way they are parsed once for both.
+ */
+public final class ModDescriptor {
+    private final BasicModInfo[] infos;
+    private final List<String> jars;
+
+    public ModDescriptor(@NotNull BasicModInfo[] infos, @NotNull List<String> jars) {
+        this.infos = infos.clone();
+        this.jars = Collections.unmodifiableList(new ArrayList<>(jars));
+    }
+
+    /**
+     * @return the infos of the file
+     */
+    @NotNull
+    public BasicModInfo[] getInfos() {
+        return infos.clone();
+    }
+
+    /**
+     * @return the paths of the jars in jar listed by the file
+     */
+    @NotNull
+    public List<String> getJars() {
+        return jars;
+    }
+
+    @Override
+    public String toString() {
+        return "ModDescriptor{" +
+                "infos=" + Arrays.toString(infos) +
+                ", jars=" + jars +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ModDescriptor that = (ModDescriptor) o;
+        return Arrays.equals(infos, that.infos) && jars.equals(that.jars);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(infos), jars);
+    }
+}
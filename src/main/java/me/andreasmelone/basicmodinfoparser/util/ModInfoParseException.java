@@ -23,15 +23,48 @@
  */
 package me.andreasmelone.basicmodinfoparser.util;
 
+import org.jetbrains.annotations.Nullable;
+
 /**
  * This exception indicates that parsing the mod info has failed
  */
 public class ModInfoParseException extends RuntimeException {
+    private final @Nullable String valuePath;
+
     public ModInfoParseException(String message, Exception parentException) {
-        super(message, parentException);
+        this(message, parentException, null);
     }
 
     public ModInfoParseException(Exception parentException) {
         super(parentException);
+        this.valuePath = null;
+    }
+
+    /**
+     * @param message         what went wrong
+     * @param parentException the exception of the parser, or {@code null}
+     * @param valuePath       the path of the value the parser failed at, like {@code $.depends.minecraft}, or {@code null}
+     */
+    public ModInfoParseException(String message, Exception parentException, @Nullable String valuePath) {
+        super(message, parentException);
+        this.valuePath = valuePath;
+    }
+
+    /**
+     * Creates an exception without a stack trace, for failures the parsers report often and that are usually turned
+     * into a {@link ParseDiagnostic} anyway, where the trace would only cost time.
+     */
+    ModInfoParseException(String message, @Nullable Exception parentException, @Nullable String valuePath, boolean writableStackTrace) {
+        super(message, parentException, true, writableStackTrace);
+        this.valuePath = valuePath;
+    }
+
+    /**
+     * @return the path of the value the parser failed at, like {@code $.depends.minecraft}, or {@code null} if the
+     * parser didn't tell
+     */
+    @Nullable
+    public String getValuePath() {
+        return valuePath;
     }
 }
@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.zip.ZipException;
+
+/**
+ * A problem found while reading a mod, described without throwing. A diagnostic doesn't keep the exception it was
+ * found through, so scanning many broken mods neither fills nor keeps stack traces.
+ */
+public final class ParseDiagnostic {
+    private final Code code;
+    private final @Nullable String entryPath;
+    private final @Nullable String valuePath;
+    private final String message;
+
+    private ParseDiagnostic(Code code, @Nullable String entryPath, @Nullable String valuePath, String message) {
+        this.code = code;
+        this.entryPath = entryPath;
+        this.valuePath = valuePath;
+        this.message = message;
+    }
+
+    /**
+     * @return what kind of problem this is
+     */
+    @NotNull
+    public Code getCode() {
+        return code;
+    }
+
+    /**
+     * @return the path of the entry in the archive the problem is in, or {@code null} if it isn't about an entry
+     */
+    @Nullable
+    public String getEntryPath() {
+        return entryPath;
+    }
+
+    /**
+     * @return the path of the value in the entry the parser failed at, like {@code $.depends.minecraft} for JSON, or
+     * {@code null} if the parser didn't tell
+     */
+    @Nullable
+    public String getValuePath() {
+        return valuePath;
+    }
+
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @param entryPath the entry the problem is in, or {@code null}
+     * @return this problem found in another entry, for example a nested jar that is bundled at several paths
+     */
+    @NotNull
+    public ParseDiagnostic withEntryPath(@Nullable String entryPath) {
+        if (Objects.equals(entryPath, this.entryPath)) return this;
+        return new ParseDiagnostic(code, entryPath, valuePath, message);
+    }
+
+    /**
+     * Creates an exception like the throwing methods report for this problem, a {@link ModInfoParseException} if the
+     * content is malformed, a {@link ZipException} if it is not an archive, and an {@link IOException} otherwise.
+     *
+     * @return the exception, its stack trace is filled by this call
+     */
+    @NotNull
+    public Exception toException() {
+        switch (code) {
+            case INVALID_ARCHIVE:
+                return new ZipException(message);
+            case READ_FAILED:
+                return new IOException(message);
+            default:
+                return new ModInfoParseException(message, null, valuePath);
+        }
+    }
+
+    @Override
+    public String toString() {
+        // the messages of parse errors already name the position
+        return code + (entryPath == null ? "" : " " + entryPath) + ": " + message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ParseDiagnostic that = (ParseDiagnostic) o;
+        return code == that.code && Objects.equals(entryPath, that.entryPath) && Objects.equals(valuePath, that.valuePath) && Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(code, entryPath, valuePath, message);
+    }
+
+    /**
+     * @param code      what kind of problem it is
+     * @param entryPath the entry the problem is in, or {@code null}
+     * @param message   what went wrong
+     * @return a diagnostic without a position
+     */
+    public static ParseDiagnostic of(@NotNull Code code, @Nullable String entryPath, @NotNull String message) {
+        return new ParseDiagnostic(code, entryPath, null, message);
+    }
+
+    /**
+     * Describes a problem by the exception it was found through, which is not kept. The message is the one of the
+     * innermost cause that has one, wrappers only name the kind of input, and the position is taken from a
+     * {@link ModInfoParseException} that knows it.
+     *
+     * @param code      what kind of problem it is
+     * @param entryPath the entry the problem is in, or {@code null}
+     * @param cause     the exception
+     * @return the diagnostic
+     */
+    public static ParseDiagnostic of(@NotNull Code code, @Nullable String entryPath, @NotNull Exception cause) {
+        String message = null;
+        String valuePath = null;
+        for (Throwable t = cause; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t.getMessage() != null) message = t.getMessage();
+            if (valuePath == null && t instanceof ModInfoParseException) valuePath = ((ModInfoParseException) t).getValuePath();
+        }
+        if (message == null) message = cause.getClass().getName();
+        return new ParseDiagnostic(code, entryPath, valuePath, message);
+    }
+
+    public enum Code {
+        /**
+         * A file or nested jar is not a valid zip archive.
+         */
+        INVALID_ARCHIVE,
+        /**
+         * An entry or file couldn't be read.
+         */
+        READ_FAILED,
+        /**
+         * An info file or jar-in-jar list is not valid JSON or TOML, or isn't structured like it should be.
+         */
+        MALFORMED
+    }
+}
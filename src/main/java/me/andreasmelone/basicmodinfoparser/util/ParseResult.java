@@ -0,0 +1,130 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2024-2025 RaydanOMGr
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package me.andreasmelone.basicmodinfoparser.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Either a parsed value or the {@link ParseDiagnostic} describing why it couldn't be parsed. Returned by the
+ * {@code try} methods, which never throw for broken content.
+ *
+ * @param <T> the type of the value
+ */
+public final class ParseResult<T> {
+    private final T value;
+    private final ParseDiagnostic diagnostic;
+
+    private ParseResult(T value, ParseDiagnostic diagnostic) {
+        this.value = value;
+        this.diagnostic = diagnostic;
+    }
+
+    public boolean isSuccess() {
+        return diagnostic == null;
+    }
+
+    /**
+     * @return the parsed value
+     * @throws IllegalStateException if parsing failed
+     */
+    @NotNull
+    public T getValue() {
+        if (diagnostic != null) throw new IllegalStateException("No value present, parsing failed: " + diagnostic);
+        return value;
+    }
+
+    /**
+     * @return why parsing failed
+     * @throws IllegalStateException if parsing succeeded
+     */
+    @NotNull
+    public ParseDiagnostic getDiagnostic() {
+        if (diagnostic == null) throw new IllegalStateException("Parsing succeeded");
+        return diagnostic;
+    }
+
+    /**
+     * @return the parsed value
+     * @throws ModInfoParseException if parsing failed, like the throwing methods would have
+     */
+    @NotNull
+    public T orElseThrow() throws ModInfoParseException {
+        if (diagnostic == null) return value;
+        throw new ModInfoParseException(diagnostic.getMessage(), null, diagnostic.getValuePath());
+    }
+
+    /**
+     * @param mapper converts the value
+     * @param <R>    the type of the converted value
+     * @return the converted value, or the same diagnostic if parsing failed
+     */
+    @NotNull
+    public <R> ParseResult<R> map(@NotNull Function<? super T, ? extends R> mapper) {
+        if (diagnostic != null) return failure(diagnostic);
+        return success(mapper.apply(value));
+    }
+
+    /**
+     * @param entryPath the entry the content was read from, or {@code null}
+     * @return this result, with the diagnostic naming the entry if parsing failed
+     */
+    @NotNull
+    public ParseResult<T> withEntryPath(@Nullable String entryPath) {
+        if (diagnostic == null) return this;
+        ParseDiagnostic withPath = diagnostic.withEntryPath(entryPath);
+        return withPath == diagnostic ? this : failure(withPath);
+    }
+
+    @Override
+    public String toString() {
+        return "ParseResult{" +
+                (diagnostic == null ? "value=" + value : "diagnostic=" + diagnostic) +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ParseResult<?> that = (ParseResult<?>) o;
+        return Objects.deepEquals(value, that.value) && Objects.equals(diagnostic, that.diagnostic);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(new Object[]{value, diagnostic});
+    }
+
+    public static <T> ParseResult<T> success(@NotNull T value) {
+        return new ParseResult<>(Objects.requireNonNull(value, "value"), null);
+    }
+
+    public static <T> ParseResult<T> failure(@NotNull ParseDiagnostic diagnostic) {
+        return new ParseResult<>(null, Objects.requireNonNull(diagnostic, "diagnostic"));
+    }
+}
@@ -26,7 +26,13 @@ package me.andreasmelone.basicmodinfoparser.util;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.mapped.ByteBufferInputStream;
+import me.andreasmelone.abstractzip.pool.BufferPool;
 import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ModInfoField;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
 import me.andreasmelone.basicmodinfoparser.platform.Platform;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
 import me.andreasmelone.basicmodinfoparser.platform.dependency.ProvidedMod;
@@ -38,6 +44,7 @@ import me.andreasmelone.basicmodinfoparser.platform.dependency.version.Version;
 import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
 import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.tomlj.Toml;
 import org.tomlj.TomlArray;
 import org.tomlj.TomlParseResult;
@@ -46,17 +53,34 @@ import org.tomlj.TomlTable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.StreamSupport;
 
 public class ParserUtils {
     public static final Gson GSON = new Gson();
 
+    /**
+     * The most bytes {@link ParserUtils#readAllBytes(InputStream, long)} allocates before any have been read
+     */
+    public static final int MAX_PRESIZED_BUFFER = 1 << 20;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
     /**
      * Compares an array of paths to a single path to check if any match after normalisation.<p>
      * This ensures that two paths are considered equal, even if their string representations differ
@@ -75,21 +99,222 @@ public class ParserUtils {
         return false;
     }
 
+    private static final ThreadLocal<CharsetDecoder> UTF_8_DECODER = ThreadLocal.withInitial(() -> newDecoder(StandardCharsets.UTF_8));
+
     /**
      * Reads the entire content of an {@link InputStream} and returns it as a string.
+     * The content is decoded like {@link ParserUtils#decodeText(ByteBuffer)}.
      *
      * @param in The {@link InputStream} to read from.
      * @return The content of the InputStream as a string.
      * @throws IOException If an I/O error occurs during reading.
      */
     public static String readEverythingAsString(InputStream in) throws IOException {
-        StringBuilder sb = new StringBuilder(in.available());
+        return decodeText(ByteBuffer.wrap(readAllBytes(in, -1)));
+    }
+
+    /**
+     * Reads the remaining characters of a {@link Reader} into a string. The reader is not closed.
+     *
+     * @param reader The {@link Reader} to read from.
+     * @return The read characters.
+     * @throws IOException If an I/O error occurs during reading.
+     */
+    public static String readEverything(Reader reader) throws IOException {
+        char[] chunk = BufferPool.SHARED.acquireChars();
+        try {
+            StringBuilder builder = new StringBuilder();
+            int read;
+            while ((read = reader.read(chunk)) != -1) {
+                builder.append(chunk, 0, read);
+            }
+            return builder.toString();
+        } finally {
+            BufferPool.SHARED.release(chunk);
+        }
+    }
+
+    /**
+     * Reads the entire content of a zip entry. Uncompressed entries are returned as a view of the archive
+     * if it supports {@link IZipFile#getStoredData(IZipEntry)}, everything else is read into a single array
+     * sized from {@link IZipEntry#getSize()}.
+     *
+     * @param zip   The archive containing the entry.
+     * @param entry The entry to read.
+     * @return The content of the entry, or {@code null} if the archive can't open the entry.
+     * @throws IOException If an I/O error occurs during reading.
+     */
+    @Nullable
+    public static ByteBuffer readEntryBytes(IZipFile zip, IZipEntry entry) throws IOException {
+        ByteBuffer stored = zip.getStoredData(entry);
+        if (stored != null) return stored;
+        try (InputStream in = zip.openEntry(entry)) {
+            if (in == null) return null;
+            return ByteBuffer.wrap(readAllBytes(in, entry.getSize()));
+        }
+    }
+
+    /**
+     * Reads the entire content of a zip entry and decodes it like {@link ParserUtils#decodeText(ByteBuffer)}.
+     *
+     * @param zip   The archive containing the entry.
+     * @param entry The entry to read.
+     * @return The content of the entry as a string, or {@code null} if the archive can't open the entry.
+     * @throws IOException If an I/O error occurs during reading.
+     */
+    @Nullable
+    public static String readEntryAsString(IZipFile zip, IZipEntry entry) throws IOException {
+        ByteBuffer data = readEntryBytes(zip, entry);
+        return data == null ? null : decodeText(data);
+    }
+
+    /**
+     * Decodes the remaining bytes of a buffer as UTF-8, or as UTF-16 if they start with a UTF-16 byte order mark.
+     * A leading byte order mark is not part of the result, and malformed input is replaced by {@code U+FFFD}.
+     * The position of the buffer is left untouched.
+     *
+     * @param data The bytes to decode.
+     * @return The decoded text.
+     */
+    @NotNull
+    public static String decodeText(ByteBuffer data) {
+        ByteBuffer input = data.duplicate();
+        int first = input.remaining() >= 2 ? input.get(input.position()) & 0xFF : -1;
+        int second = first == -1 ? -1 : input.get(input.position() + 1) & 0xFF;
+
+        CharsetDecoder decoder;
+        if (first == 0xFE && second == 0xFF || first == 0xFF && second == 0xFE) {
+            // the UTF-16 decoder consumes the byte order mark by itself
+            decoder = newDecoder(StandardCharsets.UTF_16);
+        } else {
+            if (first == 0xEF && second == 0xBB && input.remaining() >= 3 && (input.get(input.position() + 2) & 0xFF) == 0xBF) {
+                input.position(input.position() + 3);
+            }
+            decoder = UTF_8_DECODER.get();
+            decoder.reset();
+        }
+
+        // neither charset ever produces more chars than it was given bytes
+        int maxLength = input.remaining();
+        char[] chars = maxLength <= BufferPool.BUFFER_SIZE ? BufferPool.SHARED.acquireChars() : new char[maxLength];
+        try {
+            CharBuffer output = CharBuffer.wrap(chars);
+            decoder.decode(input, output, true);
+            decoder.flush(output);
+            return new String(chars, 0, output.position());
+        } finally {
+            BufferPool.SHARED.release(chars);
+        }
+    }
+
+    /**
+     * Creates a {@link Reader} that decodes a stream like {@link ParserUtils#decodeText(ByteBuffer)} does,
+     * without reading the whole stream up front.
+     *
+     * @param in The {@link InputStream} to read from.
+     * @return A reader over the text of the stream.
+     * @throws IOException If an I/O error occurs while looking for a byte order mark.
+     */
+    @NotNull
+    public static Reader createTextReader(InputStream in) throws IOException {
+        PushbackInputStream pushback = new PushbackInputStream(in, 3);
+        byte[] head = new byte[3];
+        int length = 0;
+        int readBytes;
+        while (length < head.length && (readBytes = pushback.read(head, length, head.length - length)) != -1) {
+            length += readBytes;
+        }
+
+        int first = length >= 2 ? head[0] & 0xFF : -1;
+        int second = length >= 2 ? head[1] & 0xFF : -1;
+        if (first == 0xEF && second == 0xBB && length == 3 && (head[2] & 0xFF) == 0xBF) {
+            return new InputStreamReader(pushback, newDecoder(StandardCharsets.UTF_8));
+        }
+        pushback.unread(head, 0, length);
+        boolean utf16 = first == 0xFE && second == 0xFF || first == 0xFF && second == 0xFE;
+        return new InputStreamReader(pushback, newDecoder(utf16 ? StandardCharsets.UTF_16 : StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a {@link Reader} that decodes the remaining bytes of a buffer like {@link ParserUtils#decodeText(ByteBuffer)} does,
+     * without creating a string of the whole content. The position of the buffer is left untouched.
+     *
+     * @param data The bytes to decode.
+     * @return A reader over the text of the buffer.
+     */
+    @NotNull
+    public static Reader createTextReader(ByteBuffer data) {
+        ByteBuffer input = data.duplicate();
+        int first = input.remaining() >= 2 ? input.get(input.position()) & 0xFF : -1;
+        int second = first == -1 ? -1 : input.get(input.position() + 1) & 0xFF;
+        if (first == 0xFE && second == 0xFF || first == 0xFF && second == 0xFE) {
+            return new InputStreamReader(new ByteBufferInputStream(input), newDecoder(StandardCharsets.UTF_16));
+        }
+        if (first == 0xEF && second == 0xBB && input.remaining() >= 3 && (input.get(input.position() + 2) & 0xFF) == 0xBF) {
+            input.position(input.position() + 3);
+        }
+        return new InputStreamReader(new ByteBufferInputStream(input), newDecoder(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens a zip entry for reading as text. Uncompressed entries are read straight from the archive
+     * if it supports {@link IZipFile#getStoredData(IZipEntry)}.
+     *
+     * @param zip   The archive containing the entry.
+     * @param entry The entry to read.
+     * @return A reader over the text of the entry, or {@code null} if the archive can't open the entry.
+     * @throws IOException If the entry can't be opened.
+     */
+    @Nullable
+    public static Reader openEntryReader(IZipFile zip, IZipEntry entry) throws IOException {
+        ByteBuffer stored = zip.getStoredData(entry);
+        if (stored != null) return createTextReader(stored);
+        InputStream in = zip.openEntry(entry);
+        if (in == null) return null;
+        try {
+            return createTextReader(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Reads the entire content of an {@link InputStream} into a byte array.
+     * <p>
+     * The size hint usually comes from the archive, which may be corrupt or crafted, so at most
+     * {@value #MAX_PRESIZED_BUFFER} bytes are allocated up front and the buffer only grows as data arrives.
+     *
+     * @param in       The {@link InputStream} to read from.
+     * @param sizeHint The expected amount of bytes, like {@link IZipEntry#getSize()}, or {@code -1} if unknown.
+     * @return The content of the InputStream.
+     * @throws IOException If an I/O error occurs during reading, or the content doesn't fit into an array.
+     */
+    public static byte[] readAllBytes(InputStream in, long sizeHint) throws IOException {
+        byte[] data = new byte[sizeHint >= 0 ? (int) Math.min(sizeHint, MAX_PRESIZED_BUFFER) : 8192];
+        int length = 0;
         int readBytes;
-        byte[] buffer = new byte[1024];
-        while ((readBytes = in.read(buffer)) > 0) {
-            sb.append(new String(buffer, 0, readBytes));
+        while (true) {
+            if (length == data.length) {
+                // the hint was exact if this is the end of the stream
+                int next = in.read();
+                if (next == -1) break;
+                int grown = (int) Math.min(Math.max(data.length * 2L, 8192), MAX_ARRAY_SIZE);
+                if (grown == data.length) throw new IOException("Content is larger than " + MAX_ARRAY_SIZE + " bytes");
+                data = Arrays.copyOf(data, grown);
+                data[length++] = (byte) next;
+            }
+            readBytes = in.read(data, length, data.length - length);
+            if (readBytes == -1) break;
+            length += readBytes;
         }
-        return sb.toString();
+        return length == data.length ? data : Arrays.copyOf(data, length);
     }
 
     /**
@@ -194,12 +419,52 @@ public class ParserUtils {
      */
     @NotNull
     public static Dependency parseForgeDependency(TomlTable dependencyTable) {
-        String depModId = dependencyTable.getString("modId");
-        boolean mandatory = dependencyTable.getBoolean("mandatory", () -> true);
-        String versionRange = dependencyTable.getString("versionRange");
-        String ordering = dependencyTable.getString("ordering");
-        String side = dependencyTable.getString("side");
+        return createForgeDependency(
+                dependencyTable.getString("modId"),
+                dependencyTable.getBoolean("mandatory", () -> true),
+                dependencyTable.getString("versionRange"),
+                dependencyTable.getString("ordering"),
+                dependencyTable.getString("side")
+        );
+    }
 
+    /**
+     * Checks the values of a dependency table like {@link ParserUtils#createForgeDependency} does, so that invalid ones
+     * still fail while parsing, but leaves parsing the version range to the returned supplier.
+     *
+     * @return creates the dependency
+     */
+    static Supplier<Dependency> deferForgeDependency(String depModId, boolean mandatory, String versionRange,
+                                                     String ordering, String side) {
+        if (side != null) DependencySide.getFromString(side);
+        return () -> createForgeDependency(depModId, mandatory, versionRange, ordering, side);
+    }
+
+    /**
+     * @return creates the dependencies on first call, for {@link StandardBasicModInfo#createLazy}
+     */
+    static Supplier<List<Dependency>> createAll(List<Supplier<Dependency>> dependencies) {
+        return () -> {
+            List<Dependency> created = new ArrayList<>(dependencies.size());
+            for (Supplier<Dependency> dependency : dependencies) {
+                created.add(dependency.get());
+            }
+            return created;
+        };
+    }
+
+    /**
+     * Creates a {@link ForgeDependency} from the values of a dependency table.
+     *
+     * @param depModId     the {@code modId} of the dependency
+     * @param mandatory    the {@code mandatory} value, {@code true} if the table doesn't specify it
+     * @param versionRange the {@code versionRange} of the dependency
+     * @param ordering     the {@code ordering}, {@code NONE} if null
+     * @param side         the {@code side}, {@code BOTH} if null
+     * @return the created dependency
+     */
+    static Dependency createForgeDependency(String depModId, boolean mandatory, String versionRange,
+                                            String ordering, String side) {
         if (ordering == null) ordering = "NONE";
         if (side == null) side = "BOTH";
 
@@ -320,7 +585,58 @@ public class ParserUtils {
      * @return the parsed info
      */
     public static BasicModInfo[] parseForgelikeInfo(String fileData, Platform platform) {
-        TomlParseResult result = Toml.parse(fileData);
+        return parseForgelikeInfo(fileData, platform, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a forge-like info, without looking at the others
+     *
+     * @param fileData the toml file contents
+     * @param platform the platform under which to parse (usually {@link Platform#FORGE} or {@link Platform#NEOFORGE})
+     * @param options  the fields to parse
+     * @return the parsed info
+     */
+    public static BasicModInfo[] parseForgelikeInfo(String fileData, Platform platform, ParseOptions options) {
+        BasicModInfo[] infos = ForgeTomlParser.parse(fileData, platform, options);
+        if (infos != null) return infos;
+        return parseForgelikeInfo(Toml.parse(fileData), platform, options);
+    }
+
+    /**
+     * Parses info in a forge-like way
+     *
+     * @param reader   the toml file contents
+     * @param platform the platform under which to parse (usually {@link Platform#FORGE} or {@link Platform#NEOFORGE})
+     * @return the parsed info
+     * @throws IOException if the reader fails
+     */
+    public static BasicModInfo[] parseForgelikeInfo(Reader reader, Platform platform) throws IOException {
+        return parseForgelikeInfo(reader, platform, ParseOptions.ALL);
+    }
+
+    /**
+     * Parses the requested fields of a forge-like info, without looking at the others
+     *
+     * @param reader   the toml file contents
+     * @param platform the platform under which to parse (usually {@link Platform#FORGE} or {@link Platform#NEOFORGE})
+     * @param options  the fields to parse
+     * @return the parsed info
+     * @throws IOException if the reader fails
+     */
+    public static BasicModInfo[] parseForgelikeInfo(Reader reader, Platform platform, ParseOptions options) throws IOException {
+        // the document is needed twice if it has to be handed to tomlj, descriptors are small anyway
+        return parseForgelikeInfo(readEverything(reader), platform, options);
+    }
+
+    /**
+     * Parses info in a forge-like way from a document parsed by tomlj, the fallback of {@link ForgeTomlParser}.
+     *
+     * @param result   the parsed toml file
+     * @param platform the platform under which to parse (usually {@link Platform#FORGE} or {@link Platform#NEOFORGE})
+     * @param options  the fields to parse
+     * @return the parsed info
+     */
+    static BasicModInfo[] parseForgelikeInfo(TomlParseResult result, Platform platform, ParseOptions options) {
         TomlArray modsArray = result.getArray("mods");
         if (modsArray == null || modsArray.isEmpty()) return StandardBasicModInfo.emptyArray();
 
@@ -329,28 +645,36 @@ public class ParserUtils {
             TomlTable modInfo = modsArray.getTable(index);
             if (modInfo.isEmpty()) continue;
 
-            String modId = modInfo.getString("modId");
-            String name = modInfo.getString("displayName");
-            String description = modInfo.getString("description");
-            String version = modInfo.getString("version");
-            String logoFile = modInfo.getString("logoFile");
+            // the mod id is needed to find the dependencies
+            boolean readDependencies = options.includes(ModInfoField.DEPENDENCIES);
+            String modId = options.includes(ModInfoField.ID) || readDependencies ? modInfo.getString("modId") : null;
+            String name = options.includes(ModInfoField.NAME) ? modInfo.getString("displayName") : null;
+            String description = options.includes(ModInfoField.DESCRIPTION) ? modInfo.getString("description") : null;
+            String version = options.includes(ModInfoField.VERSION) ? modInfo.getString("version") : null;
+            String logoFile = options.includes(ModInfoField.ICON) ? modInfo.getString("logoFile") : null;
 
-            List<Dependency> dependencies = new ArrayList<>();
-            TomlArray dependenciesArray = result.getArray("dependencies." + modId);
+            List<Supplier<Dependency>> dependencies = new ArrayList<>();
+            TomlArray dependenciesArray = readDependencies ? result.getArray("dependencies." + modId) : null;
 
             if (dependenciesArray != null && !dependenciesArray.isEmpty()) {
                 for (int i = 0; i < dependenciesArray.size(); i++) {
                     TomlTable dependencyTable = dependenciesArray.getTable(i);
                     if (dependencyTable != null && !dependencyTable.isEmpty()) {
-                        dependencies.add(ParserUtils.parseForgeDependency(dependencyTable));
+                        dependencies.add(deferForgeDependency(
+                                dependencyTable.getString("modId"),
+                                dependencyTable.getBoolean("mandatory", () -> true),
+                                dependencyTable.getString("versionRange"),
+                                dependencyTable.getString("ordering"),
+                                dependencyTable.getString("side")
+                        ));
                     }
                 }
             }
 
             Optional<MavenVersion> mavenVersion = MavenVersion.parse(version);
-            parsedInfos.add(new StandardBasicModInfo(
-                    modId, name, mavenVersion.orElse(null), description,
-                    dependencies, logoFile, platform
+            parsedInfos.add(StandardBasicModInfo.createLazy(
+                    options.includes(ModInfoField.ID) ? modId : null, name, mavenVersion.orElse(null), description,
+                    createAll(dependencies), logoFile, platform
             ));
         }
         return parsedInfos.toArray(new BasicModInfo[0]);
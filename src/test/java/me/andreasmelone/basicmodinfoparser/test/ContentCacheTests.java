@@ -0,0 +1,109 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.util.ContentCache;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentCacheTests {
+    @Test
+    void loadsConcurrentLookupsOnce() throws Exception {
+        ContentCache<Object> cache = new ContentCache<>(16);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(0x1234L, 10, "library.jar", () -> {
+                        loads.incrementAndGet();
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) assertSame(first, result.get());
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void keysByChecksumSizeAndName() throws IOException {
+        ContentCache<String> cache = new ContentCache<>(20);
+        assertEquals("a", cache.get(1, 10, "a.jar", () -> "a"));
+        assertEquals("a", cache.get(1, 10, "a.jar", () -> "other"));
+        assertEquals("b", cache.get(1, 10, "b.jar", () -> "b"));
+        assertEquals("c", cache.get(2, 10, "a.jar", () -> "c"));
+        assertEquals(2, cache.size());
+        assertEquals(20, cache.bytes());
+
+        // the oldest value was evicted, unknown checksums are never cached
+        assertEquals("reloaded", cache.get(1, 10, "a.jar", () -> "reloaded"));
+        assertEquals("x", cache.get(-1, 10, "x.jar", () -> "x"));
+        assertEquals("y", cache.get(-1, 10, "x.jar", () -> "y"));
+
+        // failed loads are not cached
+        assertThrows(IOException.class, () -> cache.get(3, 10, "d.jar", () -> {
+            throw new IOException("broken");
+        }));
+        assertEquals("d", cache.get(3, 10, "d.jar", () -> "d"));
+    }
+
+    @Test
+    void evictsByEntrySize() throws IOException {
+        List<String> removed = new ArrayList<>();
+        ContentCache<String> cache = new ContentCache<>(100, removed::add);
+        cache.get(1, 60, "a.jar", () -> "a");
+        cache.get(2, 30, "b.jar", () -> "b");
+        assertEquals(2, cache.size());
+
+        cache.get(3, 20, "c.jar", () -> "c");
+        assertEquals(2, cache.size());
+        assertEquals(50, cache.bytes());
+        assertEquals(1, removed.size());
+        assertEquals("a", removed.get(0));
+
+        // too large to be cached at all, so it is dropped right away
+        assertEquals("huge", cache.get(4, 101, "huge.jar", () -> "huge"));
+        assertEquals("huge", removed.get(1));
+        assertEquals(50, cache.bytes());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.bytes());
+        assertEquals(4, removed.size());
+    }
+
+    @Test
+    void failedLoadsDoNotEvictEarly() throws IOException {
+        ContentCache<String> cache = new ContentCache<>(20);
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IOException.class, () -> cache.get(1, 10, "a.jar", () -> {
+                throw new IOException("broken");
+            }));
+        }
+        assertEquals(0, cache.bytes());
+
+        cache.get(2, 10, "b.jar", () -> "b");
+        cache.get(3, 10, "c.jar", () -> "c");
+        assertEquals(2, cache.size());
+        assertEquals("b", cache.get(2, 10, "b.jar", () -> "reloaded"));
+        assertEquals("c", cache.get(3, 10, "c.jar", () -> "reloaded"));
+    }
+}
@@ -0,0 +1,134 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange.Operator;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange.VersionCondition;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.VersionIntervalSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FabricVersionRangeTests {
+    private static final List<List<Operator>> OPERATORS = Arrays.asList(
+            Collections.singletonList(Operator.GREATER),
+            Arrays.asList(Operator.GREATER, Operator.EQUALS),
+            Collections.singletonList(Operator.LESSER),
+            Arrays.asList(Operator.LESSER, Operator.EQUALS),
+            Collections.singletonList(Operator.EQUALS),
+            Collections.singletonList(Operator.CARET),
+            Collections.singletonList(Operator.TILDE)
+    );
+    private static final String[] SUFFIXES = {"", "", "", "-alpha", "-beta", "-1", "-alpha.1", "-alpha.2", "+build"};
+
+    private static LooseSemanticVersion randomVersion(Random random, boolean wildcards) {
+        StringBuilder builder = new StringBuilder();
+        int parts = 1 + random.nextInt(3);
+        for (int i = 0; i < parts; i++) {
+            if (i > 0) builder.append('.');
+            if (wildcards && random.nextInt(8) == 0) {
+                builder.append('x');
+            } else {
+                builder.append(random.nextInt(4));
+            }
+        }
+        builder.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+        return LooseSemanticVersion.parse(builder.toString(), true).get();
+    }
+
+    private static List<List<VersionCondition>> randomConditions(Random random, boolean wildcards) {
+        List<List<VersionCondition>> conditions = new ArrayList<>();
+        int groups = random.nextInt(3);
+        for (int i = 0; i < groups; i++) {
+            List<VersionCondition> group = new ArrayList<>();
+            int size = random.nextInt(3);
+            for (int j = 0; j < size; j++) {
+                group.add(new VersionCondition(OPERATORS.get(random.nextInt(OPERATORS.size())), randomVersion(random, wildcards)));
+            }
+            conditions.add(group);
+        }
+        return conditions;
+    }
+
+    /**
+     * Checks the conditions one by one, as ranges did before they were compiled.
+     */
+    private static boolean matchesAny(List<List<VersionCondition>> conditions, LooseSemanticVersion version) {
+        if (conditions.isEmpty()) return true;
+        for (List<VersionCondition> group : conditions) {
+            boolean matches = true;
+            for (VersionCondition condition : group) {
+                if (!condition.matches(version)) matches = false;
+            }
+            if (matches) return true;
+        }
+        return false;
+    }
+
+    @Test
+    void containsLikeConditions() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 2000; i++) {
+            List<List<VersionCondition>> conditions = randomConditions(random, i % 4 == 0);
+            FabricVersionRange range = new FabricVersionRange("random", conditions);
+            for (int j = 0; j < 50; j++) {
+                LooseSemanticVersion version = randomVersion(random, j % 10 == 0);
+                assertEquals(matchesAny(conditions, version), range.contains(version), conditions + " contains " + version);
+            }
+        }
+    }
+
+    @Test
+    void intersectsAndUnitesIntervals() {
+        Random random = new Random(5678);
+        for (int i = 0; i < 1000; i++) {
+            VersionIntervalSet a = new FabricVersionRange("a", randomConditions(random, false)).getIntervals().get();
+            VersionIntervalSet b = new FabricVersionRange("b", randomConditions(random, false)).getIntervals().get();
+            VersionIntervalSet intersection = a.intersect(b);
+            VersionIntervalSet union = a.union(b);
+            for (int j = 0; j < 50; j++) {
+                LooseSemanticVersion version = randomVersion(random, false);
+                assertEquals(a.contains(version) && b.contains(version), intersection.contains(version), a + " & " + b + " contains " + version);
+                assertEquals(a.contains(version) || b.contains(version), union.contains(version), a + " | " + b + " contains " + version);
+                if (intersection.isEmpty()) assertFalse(intersection.contains(version));
+            }
+        }
+    }
+
+    @Test
+    void compilesParsedRanges() {
+        VersionIntervalSet supported = FabricVersionRange.parse(">=1.0.0 <2.0.0").get().getIntervals().get();
+        VersionIntervalSet caret = FabricVersionRange.parse("^1.5.0").get().getIntervals().get();
+        assertEquals("[1.0.0,2.0.0)", supported.toString());
+        assertEquals("[1.5.0,2.0.0)", caret.toString());
+        assertEquals("[1.5.0,2.0.0)", supported.intersect(caret).toString());
+        VersionIntervalSet union = supported.union(caret);
+        assertEquals(supported, union);
+        assertTrue(union.contains(LooseSemanticVersion.parse("1.0.0").get()));
+        assertFalse(union.contains(LooseSemanticVersion.parse("2.0.0").get()));
+        assertFalse(union.contains(LooseSemanticVersion.parse("2.4.9").get()));
+        assertEquals("[1.2.3-beta+build,1.3.0)", FabricVersionRange.parse("~1.2.3-beta+build").get().getIntervals().get().toString());
+        assertFalse(union.contains(LooseSemanticVersion.parse("1.0.0-beta").get()));
+
+        assertTrue(FabricVersionRange.parse(">=2.0").get().getIntervals().get().intersect(FabricVersionRange.parse("<1.0").get().getIntervals().get()).isEmpty());
+        assertEquals("(,1.0],(2.0,)", FabricVersionRange.parse("<=1.0", ">2.0").get().getIntervals().get().toString());
+        assertEquals(VersionIntervalSet.ALL, FabricVersionRange.parse().get().getIntervals().get());
+        assertFalse(FabricVersionRange.parse("1.20.x").get().getIntervals().isPresent());
+    }
+
+    @Test
+    void hashesEqualSetsAlike() {
+        VersionIntervalSet shortBounds = FabricVersionRange.parse(">=1.0 <2.0").get().getIntervals().get();
+        VersionIntervalSet longBounds = FabricVersionRange.parse(">=1.0.0 <2.0.0").get().getIntervals().get();
+        assertEquals(shortBounds, longBounds);
+        assertEquals(shortBounds.hashCode(), longBounds.hashCode());
+        assertNotEquals(shortBounds.hashCode(), FabricVersionRange.parse(">=1.0 <3.0").get().getIntervals().get().hashCode());
+        assertNotEquals(shortBounds.hashCode(), FabricVersionRange.parse(">1.0 <2.0").get().getIntervals().get().hashCode());
+    }
+}
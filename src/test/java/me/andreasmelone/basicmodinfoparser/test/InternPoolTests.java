@@ -0,0 +1,66 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
+import me.andreasmelone.basicmodinfoparser.util.InternPool;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InternPoolTests {
+    @Test
+    void sharesOneValuePerString() throws Exception {
+        InternPool<Object> pool = new InternPool<>(16);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return pool.intern("1.20.1", key -> new Object());
+                }));
+            }
+            start.countDown();
+
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) assertSame(first, result.get());
+            assertEquals(1, pool.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void evictsOldestValues() {
+        InternPool<String> pool = new InternPool<>(2);
+        assertEquals("a", pool.intern("a", key -> "a"));
+        assertEquals("a", pool.intern("a", key -> "other"));
+        assertEquals("b", pool.intern("b", key -> "b"));
+        assertEquals("c", pool.intern("c", key -> "c"));
+        assertEquals(2, pool.size());
+        assertEquals("recreated", pool.intern("a", key -> "recreated"));
+    }
+
+    @Test
+    void parsesVersionsToCanonicalInstances() {
+        MavenVersion maven = MavenVersion.parse("47.2.0").get();
+        assertSame(maven, MavenVersion.parse(new String("47.2.0")).get());
+        assertEquals(maven, new MavenVersion("47.2.0", maven.getVersionSegments()));
+        assertEquals(maven.hashCode(), new MavenVersion("47.2.0", maven.getVersionSegments()).hashCode());
+
+        LooseSemanticVersion loose = LooseSemanticVersion.parse("1.20.x", true).get();
+        assertSame(loose, LooseSemanticVersion.parse(new String("1.20.x"), true).get());
+        assertNotSame(LooseSemanticVersion.parse("1.20.1", true).get(), LooseSemanticVersion.parse("1.20.1", false).get());
+        assertFalse(LooseSemanticVersion.parse("1.20.x", false).isPresent());
+        assertEquals(loose, loose.increaseMinor(0));
+    }
+}
@@ -0,0 +1,165 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.util.JsonModInfoParsers;
+import me.andreasmelone.basicmodinfoparser.util.ModDescriptor;
+import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the streaming JSON parsers give the same results as the tree based ones they replaced.
+ */
+public class JsonParserParityTests {
+    private static final String[] EDGE_CASES = {
+            "", "   ", "// nothing", "null", "1", "\"text\"", "true", "[]", "{}", "{} {}", "{} x", "{}}", "[1,,2]",
+            "[1]", "[null, {}]", "[{\"modid\": 5, \"name\": null, \"version\": \"1.0\"}]",
+            "[{\"modid\": \"a\", \"dependencies\": [\"after:b@[1,)\", 5, \"c\", \"\", \"before:d\"]}, \"x\"]",
+            "[{\"modid\": \"a\", \"dependencies\": \"b\"}]",
+            "[{\"modid\": \"a\", \"modid\": \"b\", \"dependencies\": [\"c\"], \"dependencies\": {}}]",
+            "{\"id\": \"a\", \"version\": null}",
+            "{\"id\": \"a\", \"version\": [\"1.0.0\"]}",
+            "{\"id\": \"a\", \"version\": [\"1.0.0\", \"2\"]}",
+            "{\"id\": \"a\", \"version\": {}}",
+            "{\"id\": \"a\", \"version\": 1.50}",
+            "{\"id\": \"a\", \"version\": true}",
+            "{\"id\": \"a\", \"version\": null, \"version\": \"1.0.0\"}",
+            "{\"id\": 5, \"name\": [\"x\"], \"icon\": {}, \"version\": \"1.0.0\", \"provides\": [\"b\", 1, null, \"c\"]}",
+            "{\"depends\": {\"a\": \">=1\", \"b\": [\"1.x\", 2, \"<3\"], \"a\": 5, \"c\": \"invalid range ?\", \"d\": {}}}",
+            "{\"depends\": {\"a\": \"1\"}, \"depends\": []}",
+            "{\"recommends\": {\"a\": \"*\"}, \"breaks\": {\"b\": \"<1\", \"c\": []}, \"custom\": {\"x\": [1, {\"y\": null}]}}",
+            "[{\"id\": \"a\", \"version\": \"1.0.0\"}, 1, null, {\"id\": \"b\", \"version\": \"2.0.0\"}, []]",
+            "{id: unquoted, 'version': '1.0.0'; depends = {a => \">=1\"}}",
+            "{\"quilt_loader\": {\"id\": null}}",
+            "{\"quilt_loader\": {\"id\": [\"x\"], \"version\": 1}}",
+            "{\"quilt_loader\": {\"id\": \"x\"}, \"quilt_loader\": 5}",
+            "{\"quilt_loader\": 5, \"quilt_loader\": {\"id\": \"x\", \"version\": \"1.0.0\"}, \"other\": []}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"metadata\": {\"name\": \"n\"}, \"metadata\": {\"icon\": 5}}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"metadata\": 5}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"metadata\": {\"name\": null}}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"version\": \"1.0.0\", \"depends\": [{\"id\": \"a\", \"optional\": \"TRUE\"}, "
+                    + "{\"id\": \"b\", \"optional\": true}, \"x\", {\"id\": \"c\", \"versions\": []}, {\"id\": \"d\", \"versions\": 5}, "
+                    + "{\"id\": \"e\", \"versions\": [\">=1\", 2], \"versions\": \"1.x\"}, {\"versions\": \"1\"}]}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"depends\": [{\"id\": null}]}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"version\": \"1.0.0\", \"provides\": [{\"id\": \"a\"}, {\"id\": \"b\", \"versions\": \"2.0.0\"}, "
+                    + "{\"id\": \"c\", \"versions\": [\"3.0.0\"]}, 5]}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"breaks\": [{\"id\": \"a\", \"versions\": \"<1\", \"optional\": \"true\"}], \"breaks\": 5}}",
+            "{\"id\": \"a\", \"jars\": [{\"file\": \"a.jar\"}, {\"file\": 5}, {\"x\": 1}, \"s\", {\"file\": \"b.jar\", \"file\": \"c.jar\"}], "
+                    + "\"jars\": [{\"file\": \"d.jar\"}, {\"file\": \"e.jar\", \"file\": null}]}",
+            "[{\"jars\": [{\"file\": \"a.jar\"}]}, 5, {\"jars\": {}}, {\"id\": \"b\", \"jars\": [{\"file\": \"b.jar\"}]}]",
+            "{\"quilt_loader\": {\"id\": \"x\", \"jars\": [\"a.jar\", 5, null, \"b.jar\"]}}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"jars\": 5}, \"jars\": [\"c.jar\"]}",
+            "{\"quilt_loader\": {\"id\": \"x\", \"jars\": [\"a.jar\"]}, \"quilt_loader\": {\"id\": \"y\"}}",
+    };
+
+    private static final String[] MUTATION_TOKENS = {
+            "{", "}", "[", "]", ",", ":", "\"", "'", "\\", "\\u00", "0", "1.5e3", "null", "true", "\"x\"", " ", "\n", "/*", "//",
+            "=", ";", "#", "[\"1.0.0\"]", "{\"a\": 1}", "\"version\"", "\"id\"", "\"quilt_loader\"", "\"depends\"",
+            "\"jars\"", "\"file\""
+    };
+
+    private static Object outcome(BiFunction<String, Platform, BasicModInfo[]> parser, String text, Platform platform) {
+        try {
+            return Arrays.asList(parser.apply(text, platform));
+        } catch (ModInfoParseException e) {
+            return ModInfoParseException.class;
+        } catch (RuntimeException e) {
+            // the tree based parsers throw whatever gson throws, Platform.parse wraps it
+            return ModInfoParseException.class;
+        }
+    }
+
+    private static void assertParity(String text) {
+        assertParity(text, Platform.FORGE_LEGACY, TreeModInfoParsers::parseLegacyForge);
+        assertParity(text, Platform.FABRIC, TreeModInfoParsers::parseFabric);
+        assertParity(text, Platform.QUILT, TreeModInfoParsers::parseQuilt);
+        assertDescriptorParity(text, Platform.FABRIC, JarInJarPlatform.FABRIC_LOOM, JsonModInfoParsers::parseFabricDescriptor);
+        assertDescriptorParity(text, Platform.QUILT, JarInJarPlatform.QUILT, JsonModInfoParsers::parseQuiltDescriptor);
+    }
+
+    /**
+     * A descriptor parsed in one go has to match the infos and jars parsed on their own, if it can't be parsed
+     * they are still parsed on their own.
+     */
+    private static void assertDescriptorParity(String text, Platform platform, JarInJarPlatform jarInJar, DescriptorParser parser) {
+        ModDescriptor descriptor;
+        try {
+            descriptor = parser.parse(new StringReader(text), platform);
+        } catch (IOException | RuntimeException e) {
+            return;
+        }
+        assertEquals(outcome((t, p) -> p.parse(t), text, platform), Arrays.asList(descriptor.getInfos()),
+                () -> platform + " descriptor parsed differently: " + text);
+
+        Object jars;
+        try {
+            jars = jarInJar.getJarsInJar(text);
+        } catch (ModInfoParseException e) {
+            jars = ModInfoParseException.class;
+        }
+        assertEquals(jars, descriptor.getJars(), () -> jarInJar + " descriptor listed different jars: " + text);
+    }
+
+    private interface DescriptorParser {
+        ModDescriptor parse(Reader in, Platform platform) throws IOException;
+    }
+
+    private static void assertParity(String text, Platform platform, BiFunction<String, Platform, BasicModInfo[]> tree) {
+        Object expected = outcome(tree, text, platform);
+        Object actual = outcome((t, p) -> p.parse(t), text, platform);
+        assertEquals(expected, actual, () -> platform + " parsed differently: " + text);
+    }
+
+    @Test
+    void matchesTreeParsersOnEdgeCases() {
+        for (String text : EDGE_CASES) {
+            assertParity(text);
+        }
+    }
+
+    @Test
+    void matchesTreeParsersOnMutatedFiles() throws IOException {
+        List<String> documents = new ArrayList<>();
+        for (String name : new String[]{"mcmod.info", "fabric.mod.json", "quilt.mod.json"}) {
+            documents.add(new String(PlatformParseTests.resource(name), StandardCharsets.UTF_8));
+        }
+        documents.addAll(Arrays.asList(EDGE_CASES));
+
+        Random random = new Random(1234);
+        for (String document : documents) {
+            assertParity(document);
+            for (int i = 0; i < 300; i++) {
+                StringBuilder mutated = new StringBuilder(document);
+                int mutations = 1 + random.nextInt(3);
+                for (int m = 0; m < mutations; m++) {
+                    int pos = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            if (mutated.length() > 0) mutated.deleteCharAt(pos);
+                            break;
+                        case 1:
+                            mutated.insert(pos, MUTATION_TOKENS[random.nextInt(MUTATION_TOKENS.length)]);
+                            break;
+                        default:
+                            int end = Math.min(mutated.length(), pos + random.nextInt(40));
+                            mutated.insert(end, mutated.substring(pos, end));
+                    }
+                }
+                assertParity(mutated.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
+import me.andreasmelone.basicmodinfoparser.util.Lazy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTests {
+    @Test
+    void computesOnceAcrossThreads() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Lazy<Object> lazy = Lazy.of(() -> {
+            calls.incrementAndGet();
+            return new Object();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return lazy.get();
+                }));
+            }
+            start.countDown();
+            Object first = results.get(0).get();
+            for (Future<Object> result : results) {
+                assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, calls.get());
+        assertTrue(lazy.isInitialized());
+    }
+
+    @Test
+    void parsesDependenciesOnFirstAccess() {
+        AtomicInteger calls = new AtomicInteger();
+        StandardBasicModInfo info = StandardBasicModInfo.createLazy("a", null, null, null, () -> {
+            calls.incrementAndGet();
+            return Collections.emptyList();
+        }, null, Platform.FORGE);
+        assertEquals("a", info.getId());
+        assertEquals(0, calls.get());
+
+        assertTrue(info.getDependencies().isEmpty());
+        assertTrue(info.getDependencies().isEmpty());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void equalsEagerlyParsedInfo() {
+        String json = "{\"id\": \"a\", \"version\": \"1.0.0\", \"depends\": {\"b\": \">=1\"}, \"provides\": [\"c\"]}";
+        FabricModInfo lazyInfo = (FabricModInfo) Platform.FABRIC.parse(json)[0];
+        // the lists of a separate parse, so that comparing has to compute those of the lazy info
+        FabricModInfo lists = (FabricModInfo) Platform.FABRIC.parse(json)[0];
+        FabricModInfo eagerInfo = new FabricModInfo(lazyInfo.getId(), lazyInfo.getName(), lazyInfo.getVersion(),
+                lazyInfo.getDescription(), lists.getDependencies(), lazyInfo.getIconPath(), Platform.FABRIC,
+                lists.getBreaks(), lists.getProvidedIds());
+
+        assertEquals(eagerInfo, lazyInfo);
+        assertEquals(lazyInfo, eagerInfo);
+        assertEquals(eagerInfo.hashCode(), lazyInfo.hashCode());
+        assertEquals(1, lazyInfo.getDependencies().size());
+    }
+}
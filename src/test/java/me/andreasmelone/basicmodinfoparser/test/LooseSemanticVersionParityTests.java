@@ -0,0 +1,261 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that loose semantic versions are parsed and ordered the same as by the regex based implementation the scanner
+ * and the wildcard bit mask replaced.
+ */
+public class LooseSemanticVersionParityTests {
+    private static final String[] VERSIONS = {
+            "1", "1.0.0", "1.20.1", "0.15.0", "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-alpha.2", "1.0.0-beta", "1.0.0-1",
+            "1.0.0-2", "1.0.0-10", "1.0.0-rc.1+build.5", "1.0+build", "1.0.0+", "1.0.0-a+", "1.0.0-a+b+c", "1.0-+a",
+            "1.0-", "1.2-", "1.x", "1.2.x", "1.2.X", "1.*", "x", "*", "1.x.4", "x.x.x", "1..2", ".1", "1.", "1.2a",
+            "1x", "xx", "4294967295", "4294967296", "2147483648", "1.0.0-alpha.+5", "1.0.0-alpha.-5", "1.0.0-alpha.-",
+            "1.0.0-alpha.", "1.0.0-.1", "1.0.0-alpha.1.2", "1.0.0-alpha.99999999999", "1.0.0-99999999999",
+            "1.0.0-0099", "11.0.0-alpha.3+0.102.0-1.21", "1.0.0-a_b", "potato", "", "-", "+", "1.0 ", "1.0.0-абрикос",
+    };
+
+    private static final char[] ALPHABET = "0123456789....--++xX*ab_ ".toCharArray();
+
+    private static void assertSameVersion(String text, boolean wildcards) {
+        Optional<LooseSemanticVersion> parsed = LooseSemanticVersion.parse(text, wildcards);
+        Optional<Legacy> legacy = Legacy.parse(text, wildcards);
+        assertEquals(legacy.isPresent(), parsed.isPresent(), text);
+        if (!legacy.isPresent()) return;
+
+        LooseSemanticVersion version = parsed.get();
+        assertArrayEquals(legacy.get().versionParts, version.getVersionParts(), text);
+        assertEquals(legacy.get().wildcardPositions, version.getWildcardPositions(), text);
+        assertEquals(legacy.get().preReleaseSuffix, version.getPreReleaseSuffix(), text);
+        assertEquals(legacy.get().preReleaseNumber, version.getPreReleaseNumber(), text);
+        assertEquals(legacy.get().buildMetadata, version.getBuildMetadata(), text);
+        for (int i = 0; i < version.getVersionParts().length; i++) {
+            assertEquals(legacy.get().wildcardPositions.contains(i), version.isWildcard(i), text);
+        }
+    }
+
+    private static String randomVersion(Random random) {
+        char[] chars = new char[1 + random.nextInt(10)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    @Test
+    void parsesLikeRegexImplementation() {
+        for (String text : VERSIONS) {
+            assertSameVersion(text, false);
+            assertSameVersion(text, true);
+        }
+
+        Random random = new Random(1234);
+        for (int i = 0; i < 20000; i++) {
+            String text = randomVersion(random);
+            assertSameVersion(text, false);
+            assertSameVersion(text, true);
+        }
+    }
+
+    @Test
+    void comparesLikeRegexImplementation() {
+        List<String> versions = new ArrayList<>(Arrays.asList(VERSIONS));
+        Random random = new Random(5678);
+        while (versions.size() < 400) {
+            String text = randomVersion(random);
+            if (Legacy.parse(text, true).isPresent()) versions.add(text);
+        }
+
+        for (String a : versions) {
+            Optional<Legacy> legacyA = Legacy.parse(a, true);
+            if (!legacyA.isPresent()) continue;
+            LooseSemanticVersion versionA = LooseSemanticVersion.parse(a, true).get();
+            for (String b : versions) {
+                Optional<Legacy> legacyB = Legacy.parse(b, true);
+                if (!legacyB.isPresent()) continue;
+                int expected;
+                try {
+                    expected = Integer.signum(legacyA.get().compareTo(legacyB.get()));
+                } catch (NumberFormatException e) {
+                    // numeric suffixes too long for an int used to fail, they are compared by value now
+                    continue;
+                }
+                assertEquals(expected, Integer.signum(versionA.compareTo(LooseSemanticVersion.parse(b, true).get())), a + " <=> " + b);
+            }
+        }
+    }
+
+    @Test
+    void comparesLongNumericSuffixesByValue() {
+        LooseSemanticVersion small = LooseSemanticVersion.parse("1.0.0-99999999999").get();
+        LooseSemanticVersion large = LooseSemanticVersion.parse("1.0.0-100000000000").get();
+        assertTrue(small.compareTo(large) < 0);
+        assertTrue(large.compareTo(small) > 0);
+        assertEquals(0, LooseSemanticVersion.parse("1.0.0-0099").get().compareTo(LooseSemanticVersion.parse("1.0.0-99").get()));
+
+        // past 18 digits the digits themselves are compared
+        LooseSemanticVersion longer = LooseSemanticVersion.parse("1.0.0-1234567890123456789").get();
+        LooseSemanticVersion longest = LooseSemanticVersion.parse("1.0.0-1234567890123456790").get();
+        assertTrue(longer.compareTo(longest) < 0);
+        assertTrue(longest.compareTo(longer) > 0);
+        assertTrue(LooseSemanticVersion.parse("1.0.0-999999999999999999").get().compareTo(longer) < 0);
+        assertEquals(0, longer.compareTo(LooseSemanticVersion.parse("1.0.0-01234567890123456789").get()));
+    }
+
+    /**
+     * The regex based implementation, reduced to parsing and comparing.
+     */
+    private static final class Legacy {
+        private static final Pattern ALPHANUMERIC = Pattern.compile("[a-zA-Z0-9_\\-.+*]+");
+        private static final Pattern REGEX = Pattern.compile("^([0-9xX*]+(?:\\.[0-9xX*]+)*)(-.*?)?(\\+.+)?$", Pattern.MULTILINE);
+
+        final int[] versionParts;
+        final List<Integer> wildcardPositions;
+        final String preReleaseSuffix;
+        final Integer preReleaseNumber;
+        final String buildMetadata;
+        final boolean usesWildcards;
+
+        Legacy(int[] versionParts, List<Integer> wildcardPositions, String preReleaseSuffix, Integer preReleaseNumber, String buildMetadata, boolean usesWildcards) {
+            this.versionParts = versionParts;
+            this.wildcardPositions = wildcardPositions;
+            this.preReleaseSuffix = preReleaseSuffix;
+            this.preReleaseNumber = preReleaseNumber;
+            this.buildMetadata = buildMetadata;
+            this.usesWildcards = usesWildcards;
+        }
+
+        int compareTo(Legacy other) {
+            int suffixless = partComparison(other);
+
+            if (isNull(preReleaseSuffix) && isNull(other.preReleaseSuffix)) {
+                return suffixless;
+            } else if (suffixless == 0) {
+                if (isNull(preReleaseSuffix)) return 1;
+                if (isNull(other.preReleaseSuffix)) return -1;
+
+                int suffix = suffixComparison(other);
+
+                if (this.preReleaseNumber == null && other.preReleaseNumber != null) return -1;
+                if (this.preReleaseNumber != null && other.preReleaseNumber == null) return 1;
+                if (this.preReleaseNumber != null && other.preReleaseNumber != null && suffix == 0)
+                    return Integer.compare(this.preReleaseNumber, other.preReleaseNumber);
+                return suffix;
+            }
+
+            return suffixless;
+        }
+
+        private int partComparison(Legacy other) {
+            int maxLength = Math.max(this.versionParts.length, other.versionParts.length);
+
+            for (int i = 0; i < maxLength; i++) {
+                if ((usesWildcards && wildcardPositions.contains(i)) || other.usesWildcards && other.wildcardPositions.contains(i)) {
+                    if (i == this.versionParts.length - 1 || i == other.versionParts.length - 1) {
+                        break;
+                    }
+                    continue;
+                }
+
+                int thisPart = i < this.versionParts.length ? this.versionParts[i] : 0;
+                int otherPart = i < other.versionParts.length ? other.versionParts[i] : 0;
+
+                if (thisPart > otherPart) return 1;
+                if (thisPart < otherPart) return -1;
+            }
+
+            return 0;
+        }
+
+        private int suffixComparison(Legacy other) {
+            int partComparison = partComparison(other);
+            if (partComparison != 0) return partComparison;
+
+            boolean isThisNumeric = isNumeric(this.preReleaseSuffix);
+            boolean isOtherNumeric = isNumeric(other.preReleaseSuffix);
+
+            if (isThisNumeric && isOtherNumeric) {
+                return Integer.compare(Integer.parseInt(this.preReleaseSuffix), Integer.parseInt(other.preReleaseSuffix));
+            } else if (!isThisNumeric && !isOtherNumeric) {
+                return this.preReleaseSuffix.compareTo(other.preReleaseSuffix);
+            }
+
+            return isThisNumeric ? -1 : 1;
+        }
+
+        private static boolean isNumeric(String string) {
+            if (isNull(string)) return false;
+            for (char c : string.toCharArray()) {
+                if (!Character.isDigit(c)) return false;
+            }
+            return true;
+        }
+
+        private static boolean isNull(String str) {
+            return str == null || str.isEmpty();
+        }
+
+        static Optional<Legacy> parse(String ver, boolean wildcards) {
+            if (ver == null || ver.isEmpty() || !ALPHANUMERIC.matcher(ver).matches()) return Optional.empty();
+
+            Matcher matcher = REGEX.matcher(ver);
+            if (!matcher.matches()) return Optional.empty();
+            String numbers = matcher.group(1);
+            String prerelease = matcher.group(2);
+            String metadata = matcher.group(3);
+
+            if (prerelease != null && !prerelease.isEmpty()) {
+                prerelease = prerelease.substring(1);
+            }
+
+            if (metadata != null && !metadata.isEmpty()) {
+                metadata = metadata.substring(1);
+            }
+
+            String[] splitNumbers = numbers.split("\\.");
+            int[] versionInts = new int[splitNumbers.length];
+            List<Integer> wildcardPositions = new ArrayList<>();
+
+            for (int i = 0; i < splitNumbers.length; i++) {
+                String num = splitNumbers[i];
+                if (num.equalsIgnoreCase("x") || num.equals("*")) {
+                    if (!wildcards) return Optional.empty();
+                    versionInts[i] = 0;
+                    wildcardPositions.add(i);
+                    continue;
+                }
+                try {
+                    versionInts[i] = Integer.parseUnsignedInt(num);
+                } catch (NumberFormatException ignored) {
+                    return Optional.empty();
+                }
+            }
+
+            Integer prereleaseNumber = null;
+            if (prerelease != null) {
+                String[] prereleaseSplit = prerelease.split("\\.", 2);
+                if (prereleaseSplit.length > 1) {
+                    try {
+                        prereleaseNumber = Integer.parseInt(prereleaseSplit[1]);
+                        prerelease = prereleaseSplit[0];
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+
+            return Optional.of(new Legacy(versionInts, wildcardPositions, prerelease, prereleaseNumber, metadata, wildcards));
+        }
+    }
+}
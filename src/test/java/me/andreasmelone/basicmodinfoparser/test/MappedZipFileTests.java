@@ -0,0 +1,241 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.IZipFileFactory;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.abstractzip.jvm.JvmZipFileFactory;
+import me.andreasmelone.abstractzip.mapped.MappedZipFileFactory;
+import me.andreasmelone.abstractzip.mapped.ZipTailReader;
+import me.andreasmelone.basicmodinfoparser.util.ParserUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedZipFileTests {
+    @TempDir
+    Path tempDir;
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void putStored(ZipOutputStream out, String name, byte[] data) throws IOException {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        entry.setCrc(crc.getValue());
+        out.putNextEntry(entry);
+        out.write(data);
+        out.closeEntry();
+    }
+
+    private File createArchive(byte[] prefix) throws IOException {
+        byte[] random = new byte[200_000];
+        new Random(42).nextBytes(random);
+
+        File file = tempDir.resolve("test.jar").toFile();
+        try (OutputStream fileOut = new FileOutputStream(file)) {
+            fileOut.write(prefix);
+            ZipOutputStream out = new ZipOutputStream(fileOut);
+            out.setComment("archive comment");
+            out.putNextEntry(new ZipEntry("fabric.mod.json"));
+            out.write("{\"id\": \"\u00fcber\"}".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("META-INF/"));
+            out.closeEntry();
+            putStored(out, "META-INF/jars/inner.jar", random);
+            out.putNextEntry(new ZipEntry("big.bin"));
+            out.write(random);
+            out.closeEntry();
+            out.finish();
+        }
+        return file;
+    }
+
+    private void assertSameContent(File file) throws IOException {
+        try (IZipFile jvm = new JvmZipFileFactory().create(file);
+             IZipFile mapped = new MappedZipFileFactory().create(file)) {
+            assertEquals(jvm.getComment(), mapped.getComment());
+            for (String name : new String[]{"fabric.mod.json", "META-INF/jars/inner.jar", "big.bin", "META-INF"}) {
+                IZipEntry jvmEntry = jvm.findEntry(name);
+                IZipEntry mappedEntry = mapped.findEntry(name);
+                assertNotNull(jvmEntry, name);
+                assertNotNull(mappedEntry, name);
+                assertEquals(jvmEntry.getName(), mappedEntry.getName());
+                assertEquals(jvmEntry.getSize(), mappedEntry.getSize());
+                assertEquals(jvmEntry.getCompressedSize(), mappedEntry.getCompressedSize());
+                assertEquals(jvmEntry.getCrc(), mappedEntry.getCrc());
+                assertEquals(jvmEntry.getTime(), mappedEntry.getTime());
+
+                try (InputStream jvmIn = jvm.openEntry(jvmEntry); InputStream mappedIn = mapped.openEntry(mappedEntry)) {
+                    assertNotNull(mappedIn);
+                    assertArrayEquals(readAll(jvmIn), readAll(mappedIn));
+                }
+            }
+            assertNull(mapped.findEntry("mcmod.info"));
+        }
+    }
+
+    @Test
+    void readsLikeJvmZipFile() throws IOException {
+        assertSameContent(createArchive(new byte[0]));
+    }
+
+    @Test
+    void probesLikeFindEntry() throws IOException {
+        File file = createArchive(new byte[0]);
+        EntryNameSet names = EntryNameSet.of("mcmod.info", "fabric.mod.json", "META-INF", "META-INF/jars/inner.jar", "quilt.mod.json");
+        try (IZipFile jvm = new JvmZipFileFactory().create(file);
+             IZipFile mapped = new MappedZipFileFactory().create(file)) {
+            ZipProbeResult probe = mapped.probe(names);
+            for (int i = 0; i < names.size(); i++) {
+                IZipEntry expected = jvm.findEntry(names.get(i));
+                IZipEntry actual = probe.getEntry(names.get(i));
+                assertEquals(expected == null, actual == null, names.get(i));
+                if (expected != null) assertEquals(expected.getName(), actual.getName());
+            }
+            assertNull(probe.getEntry("big.bin"));
+        }
+    }
+
+    @Test
+    void exposesStoredEntriesWithoutCopying() throws IOException {
+        File file = createArchive(new byte[0]);
+        try (IZipFile mapped = new MappedZipFileFactory().create(file)) {
+            IZipEntry stored = mapped.findEntry("META-INF/jars/inner.jar");
+            assertNotNull(stored);
+            ByteBuffer data = mapped.getStoredData(stored);
+            assertNotNull(data);
+            assertTrue(data.isReadOnly());
+
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            try (InputStream in = mapped.openEntry(stored)) {
+                assertNotNull(in);
+                assertArrayEquals(readAll(in), bytes);
+            }
+
+            IZipEntry deflated = mapped.findEntry("big.bin");
+            assertNotNull(deflated);
+            assertNull(mapped.getStoredData(deflated));
+        }
+    }
+
+    @Test
+    void exposesStoredEntriesOfFilesWithTheDefaultFactory() throws IOException {
+        File file = createArchive(new byte[0]);
+        byte[] expected;
+        ByteBuffer data;
+        try (IZipFile jvm = IZipFileFactory.Provider.DEFAULT_FACTORY.create(file)) {
+            IZipEntry stored = jvm.findEntry("META-INF/jars/inner.jar");
+            assertNotNull(stored);
+            try (InputStream in = jvm.openEntry(stored)) {
+                assertNotNull(in);
+                expected = readAll(in);
+            }
+
+            // a window into the mapped file rather than an array the entry was copied into
+            data = ParserUtils.readEntryBytes(jvm, stored);
+            assertNotNull(data);
+            assertTrue(data.isDirect());
+            assertTrue(data.isReadOnly());
+            assertFalse(data.hasArray());
+
+            IZipEntry deflated = jvm.findEntry("big.bin");
+            assertNotNull(deflated);
+            assertNull(jvm.getStoredData(deflated));
+        }
+
+        // the window stays readable like the jars nested in a mapped archive
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+        assertArrayEquals(expected, bytes);
+    }
+
+    @Test
+    void probesFromTheTailOnly() throws IOException {
+        EntryNameSet names = EntryNameSet.of("fabric.mod.json", "META-INF", "META-INF/jars/inner.jar", "mcmod.info");
+        File prepended = createArchive("#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+        ZipProbeResult probe = ZipTailReader.probe(prepended.toPath(), names);
+        assertNotNull(probe.getEntry("fabric.mod.json"));
+        assertNotNull(probe.getEntry("META-INF"));
+        assertNull(probe.getEntry("mcmod.info"));
+        assertEquals(200_000, probe.getEntry("META-INF/jars/inner.jar").getSize());
+
+        // a central directory and a comment that don't fit into the first read
+        File large = tempDir.resolve("large.jar").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(large))) {
+            char[] comment = new char[20_000];
+            Arrays.fill(comment, 'c');
+            out.setComment(new String(comment));
+            for (int i = 0; i < 2_000; i++) {
+                out.putNextEntry(new ZipEntry("assets/entry" + i));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("mcmod.info"));
+            out.closeEntry();
+        }
+        probe = ZipTailReader.probe(large.toPath(), names);
+        assertNotNull(probe.getEntry("mcmod.info"));
+        assertNull(probe.getEntry("fabric.mod.json"));
+    }
+
+    @Test
+    void readsArchivesWithPrependedData() throws IOException {
+        assertSameContent(createArchive("#!/bin/sh\necho this is a launcher script\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsZip64Archives() throws IOException {
+        File file = tempDir.resolve("zip64.jar").toFile();
+        // more than 65535 entries forces ZipOutputStream to write the ZIP64 end records
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            for (int i = 0; i < 70_000; i++) {
+                out.putNextEntry(new ZipEntry("entry" + i));
+                out.closeEntry();
+            }
+            out.putNextEntry(new ZipEntry("quilt.mod.json"));
+            out.write("{}".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        try (IZipFile mapped = new MappedZipFileFactory().create(file)) {
+            IZipEntry entry = mapped.findEntry("quilt.mod.json");
+            assertNotNull(entry);
+            try (InputStream in = mapped.openEntry(entry)) {
+                assertNotNull(in);
+                assertEquals("{}", new String(readAll(in), StandardCharsets.UTF_8));
+            }
+            assertNotNull(mapped.findEntry("entry69999"));
+        }
+    }
+
+    @Test
+    void rejectsGarbage() throws IOException {
+        File file = tempDir.resolve("garbage.jar").toFile();
+        Files.write(file.toPath(), "definitely not a zip file".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> new MappedZipFileFactory().create(file));
+    }
+}
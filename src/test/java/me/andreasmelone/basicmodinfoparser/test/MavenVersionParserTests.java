@@ -0,0 +1,109 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion.VersionSegment;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that maven versions are split into the same segments as by the regex based parser the scanner replaced.
+ */
+public class MavenVersionParserTests {
+    private static final String[] VERSIONS = {
+            "1", "1.20.1", "47.2.0", "1.20.1-47.2.0", "0.5.1-SNAPSHOT", "2.0.0-beta.3", "1.0.0-rc1", "12.0.0.1",
+            "1.19.2-43.2.14", "3.1.0+mc1.20", "1.0-alpha-2", "1.0a1", "1a", "a1", "1a1a", "1.0.0-Final", "1.0-GA",
+            "1.0-sp1", "1.0-cr2", "1.0-m3", "1.0-milestone", "1.0-foo", "1.0-FOO_bar", "_", "__1", "1_", "1..2",
+            ".1", "1.", "-", "--", ".", "...1...", "-1-", "4294967295", "4294967296", "2147483648", "0000000000000000001",
+            "99999999999999999999999", "1.4294967296a7", "", " ", "1 .2", "1,2", "1.2/3", "é", "1.0-β",
+    };
+
+    private static final char[] ALPHABET = "0123456789..--_aAbBcrRCmMpPsSfgx+ ".toCharArray();
+
+    /**
+     * Compares segment by segment, as versions did before they had sort keys.
+     */
+    private static int legacyCompare(VersionSegment[] a, VersionSegment[] b) {
+        int lowestAmount = Math.min(a.length, b.length);
+        for (int i = 0; i < lowestAmount; i++) {
+            int cmp = a[i].compareTo(b[i]);
+            if (cmp != 0) return cmp;
+        }
+        for (int i = lowestAmount; i < a.length; i++) {
+            if (a[i].isGreater(VersionSegment.NumberVersionSegment.ZERO)) return 1;
+        }
+        for (int i = lowestAmount; i < b.length; i++) {
+            if (b[i].isGreater(VersionSegment.NumberVersionSegment.ZERO)) return -1;
+        }
+        return 0;
+    }
+
+    private static String randomVersion(Random random) {
+        char[] chars = new char[1 + random.nextInt(12)];
+        for (int j = 0; j < chars.length; j++) {
+            chars[j] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(chars);
+    }
+
+    private static void assertParity(String version) {
+        Optional<MavenVersion> parsed = MavenVersion.parse(version);
+        VersionSegment[] legacy = RegexMavenVersionParser.parse(version);
+        String expected = legacy == null ? null : Arrays.toString(legacy);
+        assertEquals(expected, parsed.map(v -> Arrays.toString(v.getVersionSegments())).orElse(null), version);
+        parsed.ifPresent(v -> assertEquals(version, v.getStringRepresentation()));
+    }
+
+    @Test
+    void matchesRegexParserOnKnownVersions() {
+        for (String version : VERSIONS) {
+            assertParity(version);
+        }
+        assertFalse(MavenVersion.parse(null).isPresent());
+    }
+
+    @Test
+    void matchesRegexParserOnRandomVersions() {
+        Random random = new Random(1234);
+        for (int i = 0; i < 20000; i++) {
+            assertParity(randomVersion(random));
+        }
+    }
+
+    @Test
+    void comparesLikeSegments() {
+        List<MavenVersion> versions = new ArrayList<>();
+        for (String version : VERSIONS) {
+            MavenVersion.parse(version).ifPresent(versions::add);
+        }
+        Random random = new Random(5678);
+        while (versions.size() < 400) {
+            MavenVersion.parse(randomVersion(random)).ifPresent(versions::add);
+        }
+
+        for (MavenVersion a : versions) {
+            for (MavenVersion b : versions) {
+                int expected = Integer.signum(legacyCompare(a.getVersionSegments(), b.getVersionSegments()));
+                assertEquals(expected, Integer.signum(a.compareTo(b)), a + " <=> " + b);
+            }
+        }
+    }
+
+    @Test
+    void comparesParsedVersions() {
+        String[] ordered = {"1.0-alpha", "1.0-beta", "1.0-rc1", "1.0-rc2", "1.0.1", "1.1", "1.10", "47.2.0"};
+        for (int i = 0; i < ordered.length - 1; i++) {
+            MavenVersion lower = MavenVersion.parse(ordered[i]).get();
+            MavenVersion higher = MavenVersion.parse(ordered[i + 1]).get();
+            assertTrue(lower.compareTo(higher) < 0, ordered[i] + " < " + ordered[i + 1]);
+            assertTrue(higher.compareTo(lower) > 0, ordered[i + 1] + " > " + ordered[i]);
+        }
+        assertEquals(0, MavenVersion.parse("1.0").get().compareTo(MavenVersion.parse("1.0.0").get()));
+    }
+}
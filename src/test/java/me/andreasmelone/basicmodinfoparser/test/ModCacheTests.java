@@ -0,0 +1,138 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.cache.ModCache;
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModCacheTests {
+    @TempDir
+    Path tempDir;
+
+    private Path writeMod(String name, byte[] content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.write(path, content);
+        return path;
+    }
+
+    private static byte[] outerJar(String modId) throws IOException {
+        byte[] inner = ModFileTests.fabricJar("inner", "[]", null, null);
+        return ModFileTests.fabricJar(modId, "[{\"file\": \"META-INF/jars/inner.jar\"}]", "META-INF/jars/inner.jar", inner);
+    }
+
+    /**
+     * Replaces the content of a mod without changing its size or modification time.
+     */
+    private static void scramble(Path path) throws IOException {
+        FileTime modified = Files.getLastModifiedTime(path);
+        byte[] garbage = new byte[(int) Files.size(path)];
+        Arrays.fill(garbage, (byte) 'x');
+        Files.write(path, garbage);
+        Files.setLastModifiedTime(path, modified);
+    }
+
+    private static void assertOuterMod(ModFile modFile, String modId) {
+        assertArrayEquals(new Platform[]{Platform.FABRIC}, modFile.getPlatforms());
+        assertEquals(modId, modFile.getInfo()[0].getId());
+        assertEquals(1, modFile.getJarInJars().size());
+        assertEquals("inner", modFile.getJarInJars().get(0).getInfo()[0].getId());
+    }
+
+    @Test
+    void restoresModsWithoutReadingThem() throws Exception {
+        Path mod = writeMod("outer.jar", outerJar("outer"));
+        Path cacheFile = tempDir.resolve("cache").resolve("mods.bin");
+
+        ModCache cache = ModCache.open(cacheFile);
+        try (ModFile modFile = cache.get(mod)) {
+            assertOuterMod(modFile, "outer");
+        }
+        cache.save();
+
+        scramble(mod);
+        ModCache reopened = ModCache.open(cacheFile);
+        assertEquals(1, reopened.size());
+        try (ModFile modFile = reopened.get(mod)) {
+            assertOuterMod(modFile, "outer");
+        }
+
+        assertThrows(IOException.class, () -> ModCache.open(cacheFile, true).get(mod));
+    }
+
+    @Test
+    void rereadsChangedMods() throws Exception {
+        Path mod = writeMod("outer.jar", outerJar("outer"));
+        ModCache cache = ModCache.open(tempDir.resolve("mods.bin"));
+        try (ModFile modFile = cache.get(mod)) {
+            assertOuterMod(modFile, "outer");
+        }
+
+        Files.write(mod, outerJar("changed_outer"));
+        try (ModFile modFile = cache.get(mod)) {
+            assertOuterMod(modFile, "changed_outer");
+        }
+    }
+
+    @Test
+    void rereadsModsWithUnreadableDirectories() throws Exception {
+        byte[] content = outerJar("outer");
+        Path mod = writeMod("outer.jar", content);
+        ModCache cache = ModCache.open(tempDir.resolve("mods.bin"), true);
+        cache.get(mod).close();
+
+        FileTime modified = Files.getLastModifiedTime(mod);
+        scramble(mod);
+        // the archive is opened again, which tells why it is broken, and what was cached of it is forgotten
+        assertThrows(ZipException.class, () -> cache.get(mod));
+        assertEquals(0, cache.size());
+
+        Files.write(mod, content);
+        Files.setLastModifiedTime(mod, modified);
+        try (ModFile modFile = cache.get(mod)) {
+            assertOuterMod(modFile, "outer");
+        }
+    }
+
+    @Test
+    void ignoresDamagedFiles() throws Exception {
+        Path mod = writeMod("outer.jar", outerJar("outer"));
+        Path cacheFile = tempDir.resolve("mods.bin");
+        ModCache cache = ModCache.open(cacheFile);
+        cache.get(mod).close();
+        cache.save();
+
+        byte[] data = Files.readAllBytes(cacheFile);
+        data[data.length - 1] ^= 1;
+        Files.write(cacheFile, data);
+        assertEquals(0, ModCache.open(cacheFile).size());
+
+        Files.write(cacheFile, Arrays.copyOf(data, data.length / 2));
+        assertEquals(0, ModCache.open(cacheFile).size());
+    }
+
+    @Test
+    void prunesUnusedMods() throws Exception {
+        Path first = writeMod("first.jar", outerJar("first"));
+        Path second = writeMod("second.jar", outerJar("second"));
+        Path cacheFile = tempDir.resolve("mods.bin");
+        ModCache cache = ModCache.open(cacheFile);
+        cache.get(first).close();
+        cache.get(second).close();
+        cache.save();
+
+        ModCache reopened = ModCache.open(cacheFile);
+        reopened.get(first).close();
+        reopened.prune();
+        assertEquals(1, reopened.size());
+    }
+}
@@ -0,0 +1,224 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.abstractzip.EntryNameSet;
+import me.andreasmelone.abstractzip.IZipEntry;
+import me.andreasmelone.abstractzip.IZipFile;
+import me.andreasmelone.abstractzip.IZipFileFactory;
+import me.andreasmelone.abstractzip.ZipProbeResult;
+import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.modfile.SharedContent;
+import me.andreasmelone.basicmodinfoparser.modfile.ZipFileModFile;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.PlatformProbe;
+import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModFileTests {
+    @TempDir
+    Path tempDir;
+
+    static byte[] fabricJar(String modId, String jarsJson, String nestedPath, byte[] nested) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            out.putNextEntry(new ZipEntry("fabric.mod.json"));
+            out.write(("{\"schemaVersion\": 1, \"id\": \"" + modId + "\", \"version\": \"1.0.0\", \"jars\": " + jarsJson + "}")
+                    .getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            if (nested != null) {
+                out.putNextEntry(new ZipEntry(nestedPath));
+                out.write(nested);
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void readsNestedJarsFromMemory() throws Exception {
+        byte[] inner = fabricJar("inner", "[]", null, null);
+        byte[] outer = fabricJar("outer", "[{\"file\": \"META-INF/jars/inner.jar\"}]", "META-INF/jars/inner.jar", inner);
+        File file = tempDir.resolve("outer.jar").toFile();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(outer);
+        }
+
+        PlatformProbe probe = Platform.probe(file.toPath());
+        assertArrayEquals(new Platform[]{Platform.FABRIC}, probe.getPlatforms());
+        assertArrayEquals(new JarInJarPlatform[]{JarInJarPlatform.FABRIC_LOOM}, probe.getJarInJarPlatforms());
+
+        try (ModFile modFile = ModFile.create(file)) {
+            assertArrayEquals(new Platform[]{Platform.FABRIC}, modFile.getPlatforms());
+            List<ModFile> jars = modFile.getJarInJars();
+            assertEquals(1, jars.size());
+
+            BasicModInfo[] infos = jars.get(0).getInfo();
+            assertEquals(1, infos.length);
+            assertEquals("inner", infos[0].getId());
+            for (ModFile jar : jars) jar.close();
+        }
+    }
+
+    @Test
+    void readsStoredNestedJarsOfFiles() throws Exception {
+        byte[] inner = fabricJar("stored_inner", "[]", null, null);
+        File file = tempDir.resolve("outer.jar").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(file))) {
+            out.putNextEntry(new ZipEntry("fabric.mod.json"));
+            out.write("{\"schemaVersion\": 1, \"id\": \"outer\", \"jars\": [{\"file\": \"META-INF/jars/inner.jar\"}]}".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            ZipEntry entry = new ZipEntry("META-INF/jars/inner.jar");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(inner.length);
+            CRC32 crc = new CRC32();
+            crc.update(inner);
+            entry.setCrc(crc.getValue());
+            out.putNextEntry(entry);
+            out.write(inner);
+            out.closeEntry();
+        }
+
+        try (ModFile modFile = ModFile.create(file)) {
+            List<ModFile> jars = modFile.getJarInJars();
+            assertEquals(1, jars.size());
+            assertEquals("stored_inner", jars.get(0).getInfo()[0].getId());
+        }
+    }
+
+    @Test
+    void sharesIdenticalNestedJars() throws Exception {
+        byte[] inner = fabricJar("shared_library", "[]", null, null);
+        byte[] first = fabricJar("first", "[{\"file\": \"META-INF/jars/library.jar\"}]", "META-INF/jars/library.jar", inner);
+        byte[] second = fabricJar("second", "[{\"file\": \"lib/library.jar\"}]", "lib/library.jar", inner);
+
+        ZipFileModFile secondJar;
+        try (SharedContent sharedContent = new SharedContent()) {
+            ModFile firstMod = ModFile.create(ByteBuffer.wrap(first), sharedContent);
+            try (ModFile secondMod = ModFile.create(ByteBuffer.wrap(second), sharedContent)) {
+                ModFile firstJar = firstMod.getJarInJars().get(0);
+                secondJar = (ZipFileModFile) secondMod.getJarInJars().get(0);
+                assertSame(firstJar, secondJar);
+
+                // closing one outer jar must not break the jar it shares with the other one
+                for (ModFile jar : firstMod.getJarInJars()) jar.close();
+                firstMod.close();
+                sharedContent.close();
+                assertEquals("shared_library", secondJar.getInfo()[0].getId());
+                assertTrue(secondJar.getInfoFileContent(Platform.FABRIC).isPresent());
+            }
+        }
+
+        // the last holder closed it
+        assertThrows(IOException.class, () -> secondJar.getInfoFileContent(Platform.FABRIC));
+    }
+
+    @Test
+    void sharesNothingWithoutSharedContent() throws Exception {
+        byte[] inner = fabricJar("library", "[]", null, null);
+        byte[] outer = fabricJar("outer", "[{\"file\": \"META-INF/jars/library.jar\"}]", "META-INF/jars/library.jar", inner);
+
+        try (ModFile firstMod = ModFile.create(ByteBuffer.wrap(outer));
+             ModFile secondMod = ModFile.create(ByteBuffer.wrap(outer))) {
+            assertNotSame(firstMod.getJarInJars().get(0), secondMod.getJarInJars().get(0));
+        }
+    }
+
+    @Test
+    void parsesBrokenDescriptorsOnce() throws Exception {
+        byte[] inner = fabricJar("library", "[]", null, null);
+        byte[] outer = fabricJar("broken\"", "[{\"file\": \"META-INF/jars/library.jar\"}]", "META-INF/jars/library.jar", inner);
+
+        AtomicInteger reads = new AtomicInteger();
+        IZipFile zipFile = new CountingZipFile(IZipFileFactory.Provider.create(ByteBuffer.wrap(outer)), "fabric.mod.json", reads);
+        try (ModFile modFile = ZipFileModFile.create(zipFile)) {
+            ParseResult<BasicModInfo[]> infos = modFile.tryGetInfo();
+            assertFalse(infos.isSuccess());
+            assertEquals("fabric.mod.json", infos.getDiagnostic().getEntryPath());
+            assertThrows(ModInfoParseException.class, modFile::getInfo);
+            assertTrue(modFile.getJarInJars().isEmpty());
+            assertEquals(1, reads.get());
+        }
+    }
+
+    @Test
+    void opensJarInJarsOneByOne() throws Exception {
+        byte[] inner = fabricJar("library", "[]", null, null);
+        byte[] outer = fabricJar("outer", "[{\"file\": \"META-INF/jars/library.jar\"}, {\"file\": \"META-INF/jars/missing.jar\"}]", "META-INF/jars/library.jar", inner);
+
+        try (ZipFileModFile modFile = (ZipFileModFile) ModFile.create(ByteBuffer.wrap(outer))) {
+            assertEquals(Collections.singletonList("META-INF/jars/library.jar"), modFile.getJarInJarPaths());
+            ModFile jar = modFile.getJarInJar("META-INF/jars/library.jar");
+            assertNotNull(jar);
+            assertNull(modFile.getJarInJar("META-INF/jars/missing.jar"));
+            assertEquals(Collections.singletonList(jar), modFile.getJarInJars());
+        }
+    }
+
+    /**
+     * Counts how often an entry is read
+     */
+    private static final class CountingZipFile implements IZipFile {
+        private final IZipFile delegate;
+        private final String name;
+        private final AtomicInteger reads;
+
+        CountingZipFile(IZipFile delegate, String name, AtomicInteger reads) {
+            this.delegate = delegate;
+            this.name = name;
+            this.reads = reads;
+        }
+
+        @Override
+        public InputStream openEntry(IZipEntry entry) throws IOException {
+            if (entry.getName().equals(name)) reads.incrementAndGet();
+            return delegate.openEntry(entry);
+        }
+
+        @Override
+        public ByteBuffer getStoredData(IZipEntry entry) throws IOException {
+            ByteBuffer data = delegate.getStoredData(entry);
+            if (data != null && entry.getName().equals(name)) reads.incrementAndGet();
+            return data;
+        }
+
+        @Override
+        public IZipEntry findEntry(String name) {
+            return delegate.findEntry(name);
+        }
+
+        @Override
+        public ZipProbeResult probe(EntryNameSet names) {
+            return delegate.probe(names);
+        }
+
+        @Override
+        public String getComment() {
+            return delegate.getComment();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
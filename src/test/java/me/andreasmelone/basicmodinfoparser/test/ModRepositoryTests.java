@@ -0,0 +1,121 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.modfile.ZipFileModFile;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.scan.ModRepository;
+import me.andreasmelone.basicmodinfoparser.scan.ModScanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModRepositoryTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsOnlyChangedJars() throws Exception {
+        Path first = Files.write(tempDir.resolve("first.jar"), ModFileTests.fabricJar("first", "[]", null, null));
+        BlockingQueue<ModRepository.Delta> deltas = new LinkedBlockingQueue<>();
+
+        try (ModRepository repository = ModRepository.open(tempDir, ModScanner.create(), 50)) {
+            repository.addListener(deltas::add);
+            ModFile firstMod = repository.getModFile(first);
+            assertNotNull(firstMod);
+            assertEquals("first", firstMod.getInfo()[0].getId());
+
+            Path second = Files.write(tempDir.resolve("second.jar"), ModFileTests.fabricJar("second", "[]", null, null));
+            Files.write(tempDir.resolve("notes.txt"), new byte[]{1, 2, 3});
+            ModRepository.Delta added = deltas.poll(10, TimeUnit.SECONDS);
+            assertNotNull(added);
+            assertEquals(Collections.singleton(second), added.getAdded().keySet());
+            assertEquals("second", added.getAdded().get(second).getInfo()[0].getId());
+            assertTrue(added.getModified().isEmpty());
+            assertTrue(added.getRemoved().isEmpty());
+            // the other jar was not read again
+            assertSame(firstMod, repository.getModFile(first));
+
+            Files.write(second, ModFileTests.fabricJar("second_changed", "[]", null, null));
+            ModRepository.Delta modified = deltas.poll(10, TimeUnit.SECONDS);
+            assertNotNull(modified);
+            assertEquals(Collections.singleton(second), modified.getModified().keySet());
+            assertEquals("second_changed", repository.getModFile(second).getInfo()[0].getId());
+
+            Files.delete(first);
+            ModRepository.Delta removed = deltas.poll(10, TimeUnit.SECONDS);
+            assertNotNull(removed);
+            assertEquals(Collections.singleton(first), removed.getRemoved());
+            assertEquals(Collections.singleton(second), repository.getModFiles().keySet());
+        }
+    }
+
+    @Test
+    void refreshesWithoutWaiting() throws Exception {
+        BlockingQueue<ModRepository.Delta> deltas = new LinkedBlockingQueue<>();
+        try (ModRepository repository = ModRepository.open(tempDir, ModScanner.create(), TimeUnit.HOURS.toMillis(1))) {
+            repository.addListener(deltas::add);
+            assertTrue(repository.getModFiles().isEmpty());
+
+            Path jar = Files.write(tempDir.resolve("mod.jar"), ModFileTests.fabricJar("mod", "[]", null, null));
+            repository.refresh();
+            ModRepository.Delta delta = deltas.poll();
+            assertNotNull(delta);
+            assertEquals(Collections.singleton(jar), delta.getAdded().keySet());
+
+            // nothing changed since
+            repository.refresh();
+            assertNull(deltas.poll());
+        }
+    }
+
+    @Test
+    void reportsFailingListeners() throws Exception {
+        BlockingQueue<Exception> errors = new LinkedBlockingQueue<>();
+        try (ModRepository repository = ModRepository.open(tempDir, ModScanner.create(), TimeUnit.HOURS.toMillis(1))) {
+            RuntimeException failure = new IllegalStateException("listener failed");
+            repository.addListener(delta -> {
+                throw failure;
+            });
+            repository.addListener(new ModRepository.Listener() {
+                @Override
+                public void onUpdate(ModRepository.Delta delta) {
+                }
+
+                @Override
+                public void onError(Exception exception) {
+                    errors.add(exception);
+                }
+            });
+
+            Files.write(tempDir.resolve("mod.jar"), ModFileTests.fabricJar("mod", "[]", null, null));
+            repository.refresh();
+            assertSame(failure, errors.poll());
+            assertNull(errors.poll());
+        }
+    }
+
+    @Test
+    void closesTheScannerItCreated() throws Exception {
+        byte[] inner = ModFileTests.fabricJar("library", "[]", null, null);
+        Path jar = Files.write(tempDir.resolve("outer.jar"),
+                ModFileTests.fabricJar("outer", "[{\"file\": \"META-INF/jars/library.jar\"}]", "META-INF/jars/library.jar", inner));
+
+        ZipFileModFile library;
+        try (ModRepository repository = ModRepository.open(tempDir)) {
+            library = (ZipFileModFile) repository.getModFile(jar).getJarInJars().get(0);
+            assertTrue(library.getInfoFileContent(Platform.FABRIC).isPresent());
+        }
+
+        // the shared content of the scanner held the nested jar open
+        assertThrows(IOException.class, () -> library.getInfoFileContent(Platform.FABRIC));
+    }
+}
@@ -0,0 +1,192 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.modfile.ModFile;
+import me.andreasmelone.basicmodinfoparser.scan.ModScanner;
+import me.andreasmelone.basicmodinfoparser.scan.ScanListener;
+import me.andreasmelone.basicmodinfoparser.scan.ScanReport;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModScannerTests {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void scansDirectoryInOrder() throws Exception {
+        byte[] deepest = ModFileTests.fabricJar("deepest", "[]", null, null);
+        byte[] inner = ModFileTests.fabricJar("inner", "[{\"file\": \"META-INF/jars/deepest.jar\"}]", "META-INF/jars/deepest.jar", deepest);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String modId = String.format("mod_%02d", i);
+            byte[] jar = i % 3 == 0
+                    ? ModFileTests.fabricJar(modId, "[{\"file\": \"META-INF/jars/inner.jar\"}]", "META-INF/jars/inner.jar", inner)
+                    : ModFileTests.fabricJar(modId, "[]", null, null);
+            Files.write(tempDir.resolve(modId + ".jar"), jar);
+            expected.add(modId);
+        }
+        Files.write(tempDir.resolve("broken.jar"), new byte[]{1, 2, 3});
+        Files.write(tempDir.resolve("readme.txt"), new byte[]{1, 2, 3});
+
+        List<ModFile> modFiles;
+        try (ModScanner scanner = ModScanner.create(4)) {
+            modFiles = scanner.scan(tempDir);
+        }
+
+        List<String> ids = new ArrayList<>();
+        for (ModFile modFile : modFiles) {
+            ids.add(modFile.getInfo()[0].getId());
+            if (!modFile.getJarInJars().isEmpty()) {
+                ModFile nested = modFile.getJarInJars().get(0);
+                assertEquals("inner", nested.getInfo()[0].getId());
+                assertEquals("deepest", nested.getJarInJars().get(0).getInfo()[0].getId());
+            }
+            modFile.close();
+        }
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void keepsOrderOfGivenPaths() throws Exception {
+        Path first = Files.write(tempDir.resolve("b.jar"), ModFileTests.fabricJar("first", "[]", null, null));
+        Path second = Files.write(tempDir.resolve("a.jar"), ModFileTests.fabricJar("second", "[]", null, null));
+
+        List<ModFile> modFiles = ModScanner.create().scan(Arrays.asList(first, second));
+        assertEquals(2, modFiles.size());
+        assertEquals("first", modFiles.get(0).getInfo()[0].getId());
+        assertEquals("second", modFiles.get(1).getInfo()[0].getId());
+        for (ModFile modFile : modFiles) modFile.close();
+    }
+
+    @Test
+    void scansWithVirtualThreads() throws Exception {
+        Path first = Files.write(tempDir.resolve("first.jar"), ModFileTests.fabricJar("first", "[]", null, null));
+        Path second = Files.write(tempDir.resolve("second.jar"), ModFileTests.fabricJar("second", "[]", null, null));
+        // the java 21 layer is only on the classpath of the testJava21 task, the plain test task falls back on any jdk
+        boolean java21Layer = Boolean.getBoolean("basicmodinfoparser.test.java21Layer");
+        assertEquals(java21Layer, ModScanner.supportsVirtualThreads());
+
+        List<ModFile> modFiles;
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        List<ModFile> streamed = Collections.synchronizedList(new ArrayList<>());
+        try (ModScanner scanner = ModScanner.createWithVirtualThreads()) {
+            modFiles = scanner.scan(Arrays.asList(first, second));
+            scanner.scan(Arrays.asList(first, second), new ScanListener() {
+                @Override
+                public void onModFile(Path path, ModFile modFile) {
+                    virtual.add(isVirtual(Thread.currentThread()));
+                    streamed.add(modFile);
+                }
+            }).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(2, modFiles.size());
+        assertEquals("first", modFiles.get(0).getInfo()[0].getId());
+        assertEquals("second", modFiles.get(1).getInfo()[0].getId());
+        for (ModFile modFile : modFiles) modFile.close();
+        for (ModFile modFile : streamed) modFile.close();
+        assertEquals(Collections.singleton(java21Layer), virtual);
+    }
+
+    /**
+     * Thread.isVirtual only exists since java 21, the tests are compiled for older runtimes too
+     */
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Test
+    void streamsResultsToListener() throws Exception {
+        byte[] inner = ModFileTests.fabricJar("streamed_inner", "[]", null, null);
+        Files.write(tempDir.resolve("a.jar"), ModFileTests.fabricJar("a", "[{\"file\": \"META-INF/jars/inner.jar\"}]", "META-INF/jars/inner.jar", inner));
+        Files.write(tempDir.resolve("b.jar"), ModFileTests.fabricJar("b", "[]", null, null));
+        Path broken = Files.write(tempDir.resolve("broken.jar"), new byte[]{1, 2, 3});
+
+        Set<String> mods = ConcurrentHashMap.newKeySet();
+        Set<String> nested = ConcurrentHashMap.newKeySet();
+        Set<Path> errors = ConcurrentHashMap.newKeySet();
+        AtomicInteger completions = new AtomicInteger();
+        ScanListener listener = new ScanListener() {
+            @Override
+            public void onModFile(Path path, ModFile modFile) {
+                mods.add(modFile.getInfo()[0].getId());
+            }
+
+            @Override
+            public void onNestedJar(Path path, ModFile parent, ModFile jarInJar) {
+                assertTrue(mods.contains(parent.getInfo()[0].getId()));
+                nested.add(jarInJar.getInfo()[0].getId());
+            }
+
+            @Override
+            public void onDiagnostic(Path path, ParseDiagnostic diagnostic) {
+                errors.add(path);
+            }
+
+            @Override
+            public void onComplete() {
+                completions.incrementAndGet();
+            }
+        };
+
+        try (ModScanner scanner = ModScanner.create(2)) {
+            scanner.scan(tempDir, listener).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), mods);
+        assertEquals(Collections.singleton("streamed_inner"), nested);
+        assertEquals(Collections.singleton(broken), errors);
+        assertEquals(1, completions.get());
+    }
+
+    @Test
+    void collectsDiagnosticsPerScan() throws Exception {
+        Path good = Files.write(tempDir.resolve("a.jar"), ModFileTests.fabricJar("good", "[]", null, null));
+        Path malformed = Files.write(tempDir.resolve("b.jar"), ModFileTests.fabricJar("bad\"", "[]", null, null));
+        Path brokenNested = Files.write(tempDir.resolve("c.jar"),
+                ModFileTests.fabricJar("outer", "[{\"file\": \"META-INF/jars/broken.jar\"}]", "META-INF/jars/broken.jar", new byte[]{1, 2, 3}));
+        Path broken = Files.write(tempDir.resolve("d.jar"), new byte[]{1, 2, 3});
+
+        ScanReport report;
+        try (ModScanner scanner = ModScanner.create(2)) {
+            report = scanner.scanWithDiagnostics(tempDir);
+        }
+        assertEquals(3, report.getModFiles().size());
+        assertFalse(report.isClean());
+        assertEquals(Arrays.asList(malformed, brokenNested, broken), new ArrayList<>(report.getDiagnostics().keySet()));
+        assertFalse(report.getDiagnostics().containsKey(good));
+
+        ParseDiagnostic malformedInfo = report.getDiagnostics().get(malformed).get(0);
+        assertEquals(ParseDiagnostic.Code.MALFORMED, malformedInfo.getCode());
+        assertEquals("fabric.mod.json", malformedInfo.getEntryPath());
+        assertNotNull(malformedInfo.getValuePath());
+
+        ParseDiagnostic invalidNested = report.getDiagnostics().get(brokenNested).get(0);
+        assertEquals(ParseDiagnostic.Code.INVALID_ARCHIVE, invalidNested.getCode());
+        assertEquals("META-INF/jars/broken.jar", invalidNested.getEntryPath());
+        assertEquals("outer", report.getModFiles().get(2).getInfo()[0].getId());
+        assertEquals(invalidNested, report.getModFiles().get(2).getDiagnostics().get(0));
+
+        assertEquals(ParseDiagnostic.Code.INVALID_ARCHIVE, report.getDiagnostics().get(broken).get(0).getCode());
+        assertEquals(3, report.getAllDiagnostics().size());
+        for (ModFile modFile : report.getModFiles()) modFile.close();
+    }
+}
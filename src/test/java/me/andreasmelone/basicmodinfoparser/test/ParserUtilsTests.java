@@ -0,0 +1,60 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.util.ParserUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParserUtilsTests {
+    private static byte[] withPrefix(byte[] prefix, byte[] data) {
+        byte[] result = Arrays.copyOf(prefix, prefix.length + data.length);
+        System.arraycopy(data, 0, result, prefix.length, data.length);
+        return result;
+    }
+
+    @Test
+    void decodesUtf8AcrossReadBoundaries() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) text.append("\u00fc\u20ac\ud83d\ude00");
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        // a stream that returns a few bytes at a time splits most characters between reads
+        ByteArrayInputStream in = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        assertEquals(text.toString(), ParserUtils.readEverythingAsString(in));
+    }
+
+    @Test
+    void stripsByteOrderMarks() {
+        String text = "{\"id\": \"\u00fcber\"}";
+        byte[] utf8Bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        assertEquals(text, ParserUtils.decodeText(ByteBuffer.wrap(withPrefix(utf8Bom, text.getBytes(StandardCharsets.UTF_8)))));
+        assertEquals(text, ParserUtils.decodeText(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_16))));
+        assertEquals(text, ParserUtils.decodeText(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))));
+        assertEquals("", ParserUtils.decodeText(ByteBuffer.wrap(utf8Bom)));
+    }
+
+    @Test
+    void readsWithoutTrustingTheSizeHint() throws IOException {
+        byte[] small = "tiny".getBytes(StandardCharsets.UTF_8);
+        // a hint close to the largest array would not fit into the heap of the tests
+        assertArrayEquals(small, ParserUtils.readAllBytes(new ByteArrayInputStream(small), Integer.MAX_VALUE - 16));
+
+        byte[] large = new byte[3 * ParserUtils.MAX_PRESIZED_BUFFER + 17];
+        for (int i = 0; i < large.length; i++) large[i] = (byte) i;
+        assertArrayEquals(large, ParserUtils.readAllBytes(new ByteArrayInputStream(large), large.length));
+        assertArrayEquals(large, ParserUtils.readAllBytes(new ByteArrayInputStream(large), 10));
+        assertArrayEquals(large, ParserUtils.readAllBytes(new ByteArrayInputStream(large), -1));
+    }
+}
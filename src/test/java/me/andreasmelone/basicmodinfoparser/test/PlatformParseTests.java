@@ -0,0 +1,170 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.jarinjar.JarInJarPlatform;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.ModInfoField;
+import me.andreasmelone.basicmodinfoparser.platform.ParseOptions;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
+import me.andreasmelone.basicmodinfoparser.util.JsonModInfoParsers;
+import me.andreasmelone.basicmodinfoparser.util.ModInfoParseException;
+import me.andreasmelone.basicmodinfoparser.util.ParseDiagnostic;
+import me.andreasmelone.basicmodinfoparser.util.ParseResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlatformParseTests {
+    static byte[] resource(String name) throws IOException {
+        try (InputStream in = PlatformParseTests.class.getResourceAsStream("/mods/" + name)) {
+            assertNotNull(in, name);
+            byte[] buffer = new byte[8192];
+            int length = 0;
+            int read;
+            while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                if (length == buffer.length) buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    private static void assertSameInfo(Platform platform, String resource) throws IOException {
+        byte[] bytes = resource(resource);
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        BasicModInfo[] expected = platform.parse(text);
+        assertTrue(expected.length > 0, resource);
+
+        assertArrayEquals(expected, platform.parse(new StringReader(text)), resource);
+        assertArrayEquals(expected, platform.parse(new ByteArrayInputStream(bytes)), resource);
+        assertArrayEquals(expected, platform.parse(ByteBuffer.wrap(bytes)), resource);
+    }
+
+    @Test
+    void parsesTheSameFromEverySource() throws IOException {
+        assertSameInfo(Platform.FORGE_LEGACY, "mcmod.info");
+        assertSameInfo(Platform.FORGE, "mods.toml");
+        assertSameInfo(Platform.NEOFORGE, "mods.toml");
+        assertSameInfo(Platform.FABRIC, "fabric.mod.json");
+        assertSameInfo(Platform.QUILT, "quilt.mod.json");
+    }
+
+    @Test
+    void readsJarsInJarFromEverySource() throws IOException {
+        for (Object[] pair : new Object[][]{
+                {JarInJarPlatform.FORGEGRADLE, "metadata.json"},
+                {JarInJarPlatform.FABRIC_LOOM, "fabric.mod.json"},
+                {JarInJarPlatform.QUILT, "quilt.mod.json"}
+        }) {
+            JarInJarPlatform platform = (JarInJarPlatform) pair[0];
+            byte[] bytes = resource((String) pair[1]);
+            List<String> expected = platform.getJarsInJar(new String(bytes, StandardCharsets.UTF_8));
+            assertFalse(expected.isEmpty(), platform.name());
+            assertEquals(expected, platform.getJarsInJar(new ByteArrayInputStream(bytes)));
+            assertEquals(expected, platform.getJarsInJar(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    private static void assertProjected(Platform platform, String resource) throws IOException {
+        String text = new String(resource(resource), StandardCharsets.UTF_8);
+        BasicModInfo[] full = platform.parse(text);
+        assertArrayEquals(full, platform.parse(text, ParseOptions.ALL), resource);
+
+        BasicModInfo[] projected = platform.parse(text, ParseOptions.ID_AND_VERSION);
+        assertEquals(full.length, projected.length, resource);
+        for (int i = 0; i < full.length; i++) {
+            assertEquals(full[i].getId(), projected[i].getId(), resource);
+            assertEquals(full[i].getVersion(), projected[i].getVersion(), resource);
+            assertNull(projected[i].getName(), resource);
+            assertNull(projected[i].getDescription(), resource);
+            assertNull(projected[i].getIconPath(), resource);
+            assertTrue(projected[i].getDependencies().isEmpty(), resource);
+            if (projected[i] instanceof FabricModInfo) {
+                assertTrue(((FabricModInfo) projected[i]).getBreaks().isEmpty(), resource);
+                assertTrue(((FabricModInfo) projected[i]).getProvidedIds().isEmpty(), resource);
+            }
+        }
+
+        BasicModInfo[] dependenciesOnly = platform.parse(text, ParseOptions.of(ModInfoField.DEPENDENCIES));
+        for (int i = 0; i < full.length; i++) {
+            assertNull(dependenciesOnly[i].getId(), resource);
+            assertNull(dependenciesOnly[i].getVersion(), resource);
+            assertEquals(full[i].getDependencies(), dependenciesOnly[i].getDependencies(), resource);
+        }
+    }
+
+    @Test
+    void parsesOnlyRequestedFields() throws IOException {
+        assertProjected(Platform.FORGE_LEGACY, "mcmod.info");
+        assertProjected(Platform.FORGE, "mods.toml");
+        assertProjected(Platform.FABRIC, "fabric.mod.json");
+        assertProjected(Platform.QUILT, "quilt.mod.json");
+    }
+
+    @Test
+    void treatsEmptyInputAsNoMods() {
+        for (Platform platform : Platform.values()) {
+            if (platform == Platform.FORGE || platform == Platform.NEOFORGE) continue;
+            assertEquals(0, platform.parse(ByteBuffer.allocate(0)).length, platform.name());
+            assertEquals(0, platform.parse("").length, platform.name());
+        }
+    }
+
+    @Test
+    void reportsMalformedInputWithoutThrowing() throws IOException {
+        String text = new String(resource("fabric.mod.json"), StandardCharsets.UTF_8);
+        ParseResult<BasicModInfo[]> parsed = Platform.FABRIC.tryParse(text);
+        assertTrue(parsed.isSuccess());
+        assertArrayEquals(Platform.FABRIC.parse(text), parsed.getValue());
+
+        ParseResult<BasicModInfo[]> broken = Platform.FABRIC.tryParse("{\"schemaVersion\": 1,\n \"id\": [}");
+        assertFalse(broken.isSuccess());
+        ParseDiagnostic diagnostic = broken.getDiagnostic();
+        assertEquals(ParseDiagnostic.Code.MALFORMED, diagnostic.getCode());
+        assertNull(diagnostic.getEntryPath());
+        assertEquals("$.id[0]", diagnostic.getValuePath());
+        assertTrue(diagnostic.getMessage().contains("line 2"), diagnostic.getMessage());
+        ModInfoParseException thrown = assertThrows(ModInfoParseException.class, broken::orElseThrow);
+        assertEquals("$.id[0]", thrown.getValuePath());
+        assertThrows(IllegalStateException.class, broken::getValue);
+    }
+
+    @Test
+    void reportsParserFailuresWithoutStackTraces() {
+        ModInfoParseException structure = assertThrows(ModInfoParseException.class,
+                () -> JsonModInfoParsers.parseFabric(new StringReader("{} {}"), Platform.FABRIC));
+        assertEquals(0, structure.getStackTrace().length);
+        assertEquals("$", structure.getValuePath());
+
+        ModInfoParseException syntax = assertThrows(ModInfoParseException.class,
+                () -> JsonModInfoParsers.parseFabric(new StringReader("{\"id\": }"), Platform.FABRIC));
+        assertEquals(0, syntax.getStackTrace().length);
+    }
+
+    @Test
+    void reportsReaderFailuresAsReadFailed() {
+        Reader failing = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("disk gone");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ParseDiagnostic diagnostic = Platform.FABRIC.tryParse(failing, ParseOptions.ALL).getDiagnostic();
+        assertEquals(ParseDiagnostic.Code.READ_FAILED, diagnostic.getCode());
+        assertEquals("disk gone", diagnostic.getMessage());
+    }
+}
@@ -0,0 +1,138 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that mods.toml files are parsed the same as by tomlj, whether or not the hand written parser understands them.
+ */
+public class TomlParserParityTests {
+    private static final String[] EDGE_CASES = {
+            "", "# nothing\n", "\r\n\r\n", "a = 1", "mods = 1", "mods = []", "mods = [1, 2]", "mods = [\"a\"]",
+            "[mods]\nmodId = \"a\"", "[[mods]]", "[[mods]]\n[[mods]]\nmodId = \"a\"",
+            "[[mods]]\nmodId = \"a\"\nversion = \"1.0\"\n[[mods]]\nmodId = \"b\"\nmodId = \"c\"",
+            "[[mods]]\nmodId = 5", "[[mods]]\nmodId = true", "[[mods]]\nmodId = [\"a\"]", "[[mods]]\nversion = 1.0",
+            "[[mods]]\nmodId = \"a\"\ndisplayName = \"\"\"\nmulti\n  line \\\"\"\" \\u00e9 \\U0001F600\"\"\"",
+            "[[mods]]\nmodId = \"a\"\ndescription = \"\"\"\\\n  continued\"\"\"",
+            "[[mods]]\nmodId = \"a\"\ndescription = '''\r\nwindows\r\n'''",
+            "[[mods]]\r\nmodId = \"a\"\r\ndescription = \"\"\"\r\nwindows\r\n\\u00e9\r\n\r\nlines\"\"\"\r\n",
+            "[[mods]]\nmodId = \"a\"\ndescription = '''\r\n\r\n'''", "[[mods]]\nmodId = \"a\"\ndescription = '''a\rb'''",
+            "[[mods]]\nmodId = \"a\"\ndescription = \"\"\"\ra\"\"\"", "[[mods]]\nmodId = \"a\"\ndescription = \"\"\"a\\\r\n  b\"\"\"",
+            "[[mods]]\nmodId = \"a\"\ndescription = \"\"\"ends with quotes\"\"\"\"\"",
+            "[[mods]]\nmodId = 'literal \\ string'\nlogoFile = \"tab\\tand\\nnewline\"",
+            "[[mods]]\nmodId = \"a\"\nlogoFile = \"\\x\"",
+            "[[mods]]\nmodId = \"a\"\nlogoFile = \"\\uD800\"",
+            "[[mods]]\nmodId = \"unterminated",
+            "[[mods]]\n  modId = \"a\" # comment\n  \"version\" = \"1\"\n  'displayName' = 'b'",
+            "[[mods]]\nmodId.x = \"a\"", "[[mods]]\nmodId = \"a\"\ninline = { a = 1 }",
+            "[[mods]]\nmodId = \"a\"\nnumbers = [1, 2, 3, ]\nmixed = [1, \"a\"]",
+            "[[mods]]\nmodId = \"a\"\nnested = [[1], [\"a\"]]\nwide = [\n  \"a\", # comment\n  \"b\"\n]",
+            "[[mods]]\nmodId = \"a\"\ndate = 2024-01-01", "[[mods]]\nmodId = \"a\"\nn = 012", "[[mods]]\nmodId = \"a\"\nn = 1_000",
+            "[[mods]]\nmodId = \"a\"\nn = +99\nm = -0\nf = 1e3", "[[mods]]\nmodId = \"a\"\nn = 99999999999999999999",
+            "[[mods]]\nmodId = \"a\"\n[mods.sub]\nx = 1\n[[mods.deps]]\ny = 2",
+            "[[mods]]\nmodId = \"a\"\n[[dependencies.a]]\nmodId = \"b\"\nmandatory = false\nversionRange = \"[1,)\""
+                    + "\nordering = \"AFTER\"\nside = \"CLIENT\"\n[[dependencies.a]]\n[[dependencies.a]]\nmodId = \"c\"",
+            "[[mods]]\nmodId = \"a\"\n[[dependencies.a]]\nmandatory = \"yes\"",
+            "[[mods]]\nmodId = \"a\"\n[[dependencies.a]]\nmodId = \"b\"\nside = \"NOWHERE\"",
+            "[[mods]]\nmodId = \"a\"\n[[dependencies.a]]\nversionRange = 5",
+            "[[mods]]\nmodId = \"a\"\n[dependencies.a]\nmodId = \"b\"",
+            "[[mods]]\nmodId = \"a\"\n[dependencies]\na = 5",
+            "[[mods]]\nmodId = \"a\"\ndependencies = 5",
+            "dependencies = 5\n[[mods]]\nmodId = \"a\"",
+            "[[mods]]\n[[dependencies.null]]\nmodId = \"b\"",
+            "[[mods]]\nmodId = \"a.b\"\n[[dependencies.a.b]]\nmodId = \"c\"",
+            "[[mods]]\nmodId = \"a b\"\n[[dependencies.'a b']]\nmodId = \"c\"",
+            "[[mods]]\nmodId = \"\"",
+            "[dependencies.x]\n[dependencies]\n[[mods]]\nmodId = \"a\"",
+            "[a]\n[a]", "[[a]]\n[a]", "[a]\n[[a]]", "a = 1\n[a.b]", "[ [mods]]", "[[mods] ]", "[[ mods ]]\nmodId = \"a\"",
+            "[[mods]] x = 1", "[[mods]]\nmodId = \"a\" x", "[[mods]]\nmodId =", "[[mods]]\n= \"a\"", "\"\" = 1",
+            "\uFEFF[[mods]]\nmodId = \"a\"", "[[mods]]\nmodId = \"a\"\r\nversion = \"1\"\r", "# comment \u0001\n[[mods]]",
+    };
+
+    private static final String[] MUTATION_TOKENS = {
+            "[", "]", "[[", "]]", "=", "\"", "'", "'''", "\"\"\"", "\\", "\\u00", ".", ",", "#", "\n", "\r\n", " ", "0", "1.5",
+            "true", "{", "}", "\"x\"", "modId", "mods", "dependencies.", "[[mods]]\n", "[[dependencies.examplemod]]\n"
+    };
+
+    private static Object outcome(Platform platform, String text) {
+        try {
+            return Arrays.asList(platform.parse(text));
+        } catch (RuntimeException | AssertionError e) {
+            // tomlj fails some of its own assertions on invalid escapes, the tests run with them enabled
+            return RuntimeException.class;
+        }
+    }
+
+    private static Object treeOutcome(Platform platform, String text) {
+        try {
+            return Arrays.asList(TreeModInfoParsers.parseForgelike(text, platform));
+        } catch (RuntimeException | AssertionError e) {
+            return RuntimeException.class;
+        }
+    }
+
+    private static void assertParity(String text) {
+        for (Platform platform : new Platform[]{Platform.FORGE, Platform.NEOFORGE}) {
+            Object expected = treeOutcome(platform, text);
+            Object actual = outcome(platform, text);
+            assertEquals(expected, actual, () -> platform + " parsed differently: " + text);
+        }
+    }
+
+    @Test
+    void matchesTomljOnEdgeCases() {
+        for (String text : EDGE_CASES) {
+            assertParity(text);
+        }
+    }
+
+    @Test
+    void parsesDependencies() throws IOException {
+        BasicModInfo[] infos = Platform.FORGE.parse(new String(PlatformParseTests.resource("mods.toml"), StandardCharsets.UTF_8));
+        assertEquals(1, infos.length);
+        assertEquals("examplemod", infos[0].getId());
+        assertEquals("A multi-line\ndescription.\n", infos[0].getDescription());
+        assertEquals(2, infos[0].getDependencies().size());
+    }
+
+    @Test
+    void matchesTomljOnMutatedFiles() throws IOException {
+        List<String> documents = new ArrayList<>();
+        documents.add(new String(PlatformParseTests.resource("mods.toml"), StandardCharsets.UTF_8));
+        documents.addAll(Arrays.asList(EDGE_CASES));
+
+        Random random = new Random(1234);
+        for (String document : documents) {
+            assertParity(document);
+            for (int i = 0; i < 300; i++) {
+                StringBuilder mutated = new StringBuilder(document);
+                int mutations = 1 + random.nextInt(3);
+                for (int m = 0; m < mutations; m++) {
+                    int pos = mutated.length() == 0 ? 0 : random.nextInt(mutated.length());
+                    switch (random.nextInt(3)) {
+                        case 0:
+                            if (mutated.length() > 0) mutated.deleteCharAt(pos);
+                            break;
+                        case 1:
+                            mutated.insert(pos, MUTATION_TOKENS[random.nextInt(MUTATION_TOKENS.length)]);
+                            break;
+                        default:
+                            int end = Math.min(mutated.length(), pos + random.nextInt(40));
+                            mutated.insert(end, mutated.substring(pos, end));
+                    }
+                }
+                assertParity(mutated.toString());
+            }
+        }
+    }
+}
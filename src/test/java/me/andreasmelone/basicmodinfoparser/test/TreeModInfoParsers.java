@@ -0,0 +1,246 @@
+package me.andreasmelone.basicmodinfoparser.test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import me.andreasmelone.basicmodinfoparser.platform.BasicModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.Platform;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.Dependency;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.ProvidedMod;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.StandardDependency;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.FabricVersionRange;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.fabric.LooseSemanticVersion;
+import me.andreasmelone.basicmodinfoparser.platform.dependency.forge.MavenVersion;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.FabricModInfo;
+import me.andreasmelone.basicmodinfoparser.platform.modinfo.StandardBasicModInfo;
+import me.andreasmelone.basicmodinfoparser.util.ParserUtils;
+import org.tomlj.Toml;
+import org.tomlj.TomlArray;
+import org.tomlj.TomlParseResult;
+import org.tomlj.TomlTable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.GSON;
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.getValidString;
+import static me.andreasmelone.basicmodinfoparser.util.ParserUtils.parseLegacyForgeDependency;
+
+/**
+ * The tree based parsers the streaming ones in JsonModInfoParsers and the mods.toml parser replaced,
+ * kept to compare their results.
+ */
+final class TreeModInfoParsers {
+    static BasicModInfo[] parseForgelike(String fileData, Platform platform) {
+        TomlParseResult result = Toml.parse(fileData);
+        TomlArray modsArray = result.getArray("mods");
+        if (modsArray == null || modsArray.isEmpty()) return StandardBasicModInfo.emptyArray();
+
+        List<StandardBasicModInfo> parsedInfos = new ArrayList<>();
+        for (int index = 0; index < modsArray.size(); index++) {
+            TomlTable modInfo = modsArray.getTable(index);
+            if (modInfo.isEmpty()) continue;
+
+            String modId = modInfo.getString("modId");
+            String name = modInfo.getString("displayName");
+            String description = modInfo.getString("description");
+            String version = modInfo.getString("version");
+            String logoFile = modInfo.getString("logoFile");
+
+            List<Dependency> dependencies = new ArrayList<>();
+            TomlArray dependenciesArray = result.getArray("dependencies." + modId);
+
+            if (dependenciesArray != null && !dependenciesArray.isEmpty()) {
+                for (int i = 0; i < dependenciesArray.size(); i++) {
+                    TomlTable dependencyTable = dependenciesArray.getTable(i);
+                    if (dependencyTable != null && !dependencyTable.isEmpty()) {
+                        dependencies.add(ParserUtils.parseForgeDependency(dependencyTable));
+                    }
+                }
+            }
+
+            Optional<MavenVersion> mavenVersion = MavenVersion.parse(version);
+            parsedInfos.add(new StandardBasicModInfo(
+                    modId, name, mavenVersion.orElse(null), description,
+                    dependencies, logoFile, platform
+            ));
+        }
+        return parsedInfos.toArray(new BasicModInfo[0]);
+    }
+
+    static BasicModInfo[] parseLegacyForge(String fileData, Platform platform) {
+        JsonArray topArray = GSON.fromJson(fileData, JsonArray.class);
+        if (topArray == null || topArray.size() == 0) {
+            return StandardBasicModInfo.emptyArray();
+        }
+
+        List<BasicModInfo> parsedInfos = new ArrayList<>();
+        for (JsonElement topArrayElement : topArray) {
+            if (!topArrayElement.isJsonObject()) continue;
+            JsonObject modObject = topArrayElement.getAsJsonObject();
+            List<Dependency> dependencyList = new ArrayList<>();
+            if (modObject.has("dependencies") && modObject.get("dependencies").isJsonArray()) {
+                JsonArray dependenciesArray = modObject.getAsJsonArray("dependencies");
+                for (JsonElement element : dependenciesArray) {
+                    if (!element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+                        continue;
+                    }
+                    parseLegacyForgeDependency(element.getAsString()).ifPresent(dependencyList::add);
+                }
+            }
+            parsedInfos.add(ParserUtils.createForgeModInfoFromJsonObject(modObject,
+                    "modid", "name", "version", "description", "logoFile",
+                    dependencyList, platform
+            ));
+        }
+
+        return parsedInfos.toArray(new BasicModInfo[0]);
+    }
+
+    static BasicModInfo[] parseFabric(String fileData, Platform platform) {
+        JsonElement root = GSON.fromJson(fileData, JsonElement.class);
+        if (root == null || (!root.isJsonArray() && !root.isJsonObject())) {
+            return StandardBasicModInfo.emptyArray();
+        }
+        JsonArray jsonArray = root.isJsonArray() ? root.getAsJsonArray() : new JsonArray();
+        if (root.isJsonObject()) {
+            jsonArray.add(root.getAsJsonObject());
+        }
+
+        List<BasicModInfo> parsedInfos = new ArrayList<>();
+        for (JsonElement jsonArrayElement : jsonArray) {
+            if (!jsonArrayElement.isJsonObject()) continue;
+            JsonObject jsonObject = jsonArrayElement.getAsJsonObject();
+
+            Optional<LooseSemanticVersion> version = LooseSemanticVersion.parse(getValidString(jsonObject, "version"));
+
+            List<Dependency> dependencyList = new ArrayList<>();
+            ParserUtils.parseFabricDependencies(dependencyList, jsonObject, "depends", true);
+            ParserUtils.parseFabricDependencies(dependencyList, jsonObject, "recommends", false);
+            List<Dependency> breaksList = new ArrayList<>();
+            ParserUtils.parseFabricDependencies(breaksList, jsonObject, "breaks", true);
+            List<ProvidedMod<LooseSemanticVersion>> provided = new ArrayList<>();
+            if (jsonObject.has("provides") && jsonObject.get("provides").isJsonArray()) {
+                for (JsonElement dependency : jsonObject.getAsJsonArray("provides")) {
+                    if (!dependency.isJsonPrimitive() || !dependency.getAsJsonPrimitive().isString()) continue;
+                    provided.add(new ProvidedMod<>(dependency.getAsString(), version.orElse(null)));
+                }
+            }
+
+            parsedInfos.add(ParserUtils.createFabricModInfoFromJsonObject(jsonObject,
+                    "id", "name", version.orElse(null), "description", "icon",
+                    dependencyList, breaksList, provided, platform));
+        }
+
+        return parsedInfos.toArray(new BasicModInfo[0]);
+    }
+
+    static BasicModInfo[] parseQuilt(String fileData, Platform platform) {
+        JsonObject jsonObj = GSON.fromJson(fileData, JsonObject.class);
+        if (jsonObj == null) return StandardBasicModInfo.emptyArray();
+
+        if (!jsonObj.has("quilt_loader") || !jsonObj.get("quilt_loader").isJsonObject())
+            return StandardBasicModInfo.emptyArray();
+        JsonObject quiltLoader = jsonObj.getAsJsonObject("quilt_loader");
+        String modId = getValidString(quiltLoader, "id");
+        String version = getValidString(quiltLoader, "version");
+
+        String name = null;
+        String description = null;
+        String iconPath = null;
+        if (quiltLoader.has("metadata") && quiltLoader.get("metadata").isJsonObject()) {
+            JsonObject metadata = quiltLoader.getAsJsonObject("metadata");
+            name = getValidString(metadata, "name");
+            description = getValidString(metadata, "description");
+            iconPath = getValidString(metadata, "icon");
+        }
+
+        List<Dependency> dependencies = new ArrayList<>();
+        if (quiltLoader.has("depends") && quiltLoader.get("depends").isJsonArray()) {
+            for (JsonElement dependency : quiltLoader.getAsJsonArray("depends")) {
+                if (!dependency.isJsonObject()) continue;
+                JsonObject dependencyObject = dependency.getAsJsonObject();
+                String dependencyId = getValidString(dependencyObject, "id");
+                boolean isMandatory = true;
+                if (dependencyObject.has("optional")
+                        && dependencyObject.get("optional").isJsonPrimitive()
+                        && dependencyObject.get("optional").getAsJsonPrimitive().isString()) {
+                    isMandatory = !dependencyObject.get("optional").getAsBoolean();
+                }
+                String[] versions = new String[]{"*"};
+
+                if (dependencyObject.has("versions")) {
+                    JsonElement dependencyVersion = dependencyObject.get("versions");
+                    if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
+                        versions[0] = dependencyVersion.getAsString();
+                    } else if (dependencyVersion.isJsonArray()) {
+                        versions = StreamSupport.stream(dependencyVersion.getAsJsonArray().spliterator(), false)
+                                .filter((el) -> el.isJsonPrimitive() && el.getAsJsonPrimitive().isString())
+                                .map(JsonElement::getAsString)
+                                .toArray(String[]::new);
+                    }
+                }
+
+                Optional<FabricVersionRange> fabricVersionRange = FabricVersionRange.parse(versions);
+                dependencies.add(new StandardDependency<>(dependencyId, isMandatory, fabricVersionRange.orElse(null)));
+            }
+        }
+
+        List<Dependency> breaks = new ArrayList<>();
+        if (quiltLoader.has("breaks") && quiltLoader.get("breaks").isJsonArray()) {
+            for (JsonElement dependency : quiltLoader.getAsJsonArray("breaks")) {
+                if (!dependency.isJsonObject()) continue;
+                JsonObject dependencyObject = dependency.getAsJsonObject();
+                String dependencyId = getValidString(dependencyObject, "id");
+                boolean isMandatory = true;
+                String[] versions = new String[]{"*"};
+
+                if (dependencyObject.has("versions")) {
+                    JsonElement dependencyVersion = dependencyObject.get("versions");
+                    if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
+                        versions[0] = dependencyVersion.getAsString();
+                    } else if (dependencyVersion.isJsonArray()) {
+                        versions = StreamSupport.stream(dependencyVersion.getAsJsonArray().spliterator(), false)
+                                .filter((el) -> el.isJsonPrimitive() && el.getAsJsonPrimitive().isString())
+                                .map(JsonElement::getAsString)
+                                .toArray(String[]::new);
+                    }
+                }
+
+                Optional<FabricVersionRange> fabricVersionRange = FabricVersionRange.parse(versions);
+                breaks.add(new StandardDependency<>(dependencyId, isMandatory, fabricVersionRange.orElse(null)));
+            }
+        }
+
+        List<ProvidedMod<LooseSemanticVersion>> provides = new ArrayList<>();
+        if (quiltLoader.has("provides") && quiltLoader.get("provides").isJsonArray()) {
+            for (JsonElement dependency : quiltLoader.getAsJsonArray("provides")) {
+                if (!dependency.isJsonObject()) continue;
+                JsonObject dependencyObject = dependency.getAsJsonObject();
+                String dependencyId = getValidString(dependencyObject, "id");
+                String providedVersion = version;
+
+                if (dependencyObject.has("versions")) {
+                    JsonElement dependencyVersion = dependencyObject.get("versions");
+                    if (dependencyVersion.isJsonPrimitive() && dependencyVersion.getAsJsonPrimitive().isString()) {
+                        providedVersion = dependencyVersion.getAsString();
+                    }
+                }
+
+                Optional<LooseSemanticVersion> semVer = LooseSemanticVersion.parse(providedVersion);
+                provides.add(new ProvidedMod<>(dependencyId, semVer.orElse(null)));
+            }
+        }
+
+        Optional<LooseSemanticVersion> semanticVersion = LooseSemanticVersion.parse(version, false);
+        return new BasicModInfo[]{
+                new FabricModInfo(modId, name,
+                        semanticVersion.orElse(null),
+                        description, dependencies, iconPath, platform,
+                        breaks, provides
+                )
+        };
+    }
+}